@@ -0,0 +1,117 @@
+package com.pucmm.trafficManagementSystem.controller;
+
+import com.pucmm.trafficManagementSystem.simulation.PositionBuffer;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.function.Supplier;
+
+/**
+ * Dibuja la simulación en un solo {@link Canvas}. La capa estática (calles, líneas,
+ * señales) se rasteriza una vez por tamaño con {@link #cacheBackground}; en cada cuadro se
+ * copia esa imagen y encima se pintan vehículos y semáforos, sin crear ni mover nodos. Las
+ * posiciones salen del cuadro que la simulación publica por tick ({@link PositionBuffer}).
+ */
+final class CanvasRenderer {
+    static final Color NORMAL_COLOR = Color.web("#3498db");
+    static final Color EMERGENCY_COLOR = Color.web("#e74c3c");
+
+    private final Canvas canvas = new Canvas();
+    private final GraphicsContext gc = canvas.getGraphicsContext2D();
+    private WritableImage background;
+
+    // Copia local del cuadro que se está pintando; se reutiliza entre cuadros.
+    private double[] xs = new double[256];
+    private double[] ys = new double[256];
+    private boolean[] emergency = new boolean[256];
+    private int count;
+
+    CanvasRenderer(Pane pane) {
+        pane.getChildren().add(canvas);
+    }
+
+    /** Rasteriza la capa estática al tamaño del área; la capa no necesita estar en la escena. */
+    void cacheBackground(Node layer, double width, double height) {
+        canvas.setWidth(width);
+        canvas.setHeight(height);
+        if (width == 0 || height == 0) {
+            background = null;
+            return;
+        }
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setViewport(new Rectangle2D(0, 0, width, height));
+        parameters.setFill(Color.TRANSPARENT);
+        background = layer.snapshot(parameters, null);
+    }
+
+    void beginFrame() {
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        if (background != null)
+            gc.drawImage(background, 0, 0);
+    }
+
+    /**
+     * Copia el último cuadro de posiciones y lo pinta agrupado por color. Si el cuadro se
+     * reescribió mientras se copiaba, se vuelve a tomar el más reciente.
+     */
+    void drawVehicles(Supplier<PositionBuffer.Frame> positions, double radius) {
+        PositionBuffer.Frame frame;
+        long tick;
+        do {
+            frame = positions.get();
+            tick = frame.getTick();
+            count = frame.size();
+            if (count > xs.length) {
+                xs = new double[count * 2];
+                ys = new double[count * 2];
+                emergency = new boolean[count * 2];
+            }
+            for (int i = 0; i < count; i++) {
+                xs[i] = frame.getX(i);
+                ys[i] = frame.getY(i);
+                emergency[i] = frame.isEmergency(i);
+            }
+        } while (!frame.isIntact(tick));
+
+        double diameter = radius * 2;
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(1);
+        gc.setFill(NORMAL_COLOR);
+        for (int i = 0; i < count; i++) {
+            if (!emergency[i])
+                drawVehicle(xs[i] - radius, ys[i] - radius, diameter);
+        }
+        gc.setFill(EMERGENCY_COLOR);
+        for (int i = 0; i < count; i++) {
+            if (emergency[i])
+                drawVehicle(xs[i] - radius, ys[i] - radius, diameter);
+        }
+    }
+
+    private void drawVehicle(double x, double y, double diameter) {
+        gc.fillOval(x, y, diameter, diameter);
+        gc.strokeOval(x, y, diameter, diameter);
+    }
+
+    /** Mismo dibujo que el semáforo de nodos: poste negro con luz roja arriba y verde abajo. */
+    void drawTrafficLight(double x, double y, boolean green) {
+        gc.setFill(Color.BLACK);
+        gc.fillRoundRect(x, y - 20, 14, 40, 5, 5);
+        gc.setFill(green ? Color.DARKRED : Color.RED);
+        gc.fillOval(x + 1, y - 16, 12, 12);
+        gc.setFill(green ? Color.LIME : Color.DARKGREEN);
+        gc.fillOval(x + 1, y + 4, 12, 12);
+    }
+
+    void clear() {
+        background = null;
+        count = 0;
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+    }
+}
@@ -0,0 +1,79 @@
+package com.pucmm.trafficManagementSystem.controller;
+
+import com.pucmm.trafficManagementSystem.simulation.SimulationClock;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.util.StringConverter;
+import org.kordamp.ikonli.fontawesome5.FontAwesomeSolid;
+import org.kordamp.ikonli.javafx.FontIcon;
+
+import java.util.Locale;
+
+/**
+ * Enlaza los controles de velocidad, pausa y paso a paso de una vista con el
+ * {@link SimulationClock} de su simulación. Con el reloj manual (modo determinista) quedan
+ * deshabilitados.
+ */
+final class ClockControls {
+    private static final double[] SPEEDS = { 0.1, 0.25, 0.5, 1, 2, 4, 8, 16, Double.POSITIVE_INFINITY };
+
+    private final SimulationClock clock;
+    private final Button pauseButton;
+    private final Button stepButton;
+
+    ClockControls(SimulationClock clock, ComboBox<Double> speedComboBox, Button pauseButton, Button stepButton) {
+        this.clock = clock;
+        this.pauseButton = pauseButton;
+        this.stepButton = stepButton;
+        for (double speed : SPEEDS) {
+            // Con un hilo por vehículo no hay velocidad máxima (ver SimulationClock).
+            if (speed != Double.POSITIVE_INFINITY || clock.isLockstep())
+                speedComboBox.getItems().add(speed);
+        }
+        if (!speedComboBox.getItems().contains(clock.getSpeed()))
+            speedComboBox.getItems().add(clock.getSpeed());
+        speedComboBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Double speed) {
+                if (speed == null)
+                    return "";
+                return speed == Double.POSITIVE_INFINITY ? "Máxima" : String.format(Locale.ROOT, "×%s", format(speed));
+            }
+
+            @Override
+            public Double fromString(String text) {
+                return null;
+            }
+        });
+        speedComboBox.setValue(clock.getSpeed());
+        speedComboBox.valueProperty().addListener((obs, o, speed) -> {
+            if (speed != null)
+                clock.setSpeed(speed);
+        });
+        stepButton.setGraphic(new FontIcon(FontAwesomeSolid.STEP_FORWARD));
+        pauseButton.setOnAction(event -> togglePause());
+        stepButton.setOnAction(event -> clock.step());
+        boolean manual = clock.isManual();
+        speedComboBox.setDisable(manual);
+        pauseButton.setDisable(manual);
+        refresh();
+    }
+
+    private void togglePause() {
+        if (clock.isPaused())
+            clock.resume();
+        else
+            clock.pause();
+        refresh();
+    }
+
+    private void refresh() {
+        boolean paused = clock.isPaused();
+        pauseButton.setGraphic(new FontIcon(paused ? FontAwesomeSolid.PLAY : FontAwesomeSolid.PAUSE));
+        stepButton.setDisable(!paused || clock.isManual());
+    }
+
+    private static String format(double speed) {
+        return speed == Math.rint(speed) ? String.valueOf((long) speed) : String.valueOf(speed);
+    }
+}
@@ -0,0 +1,320 @@
+package com.pucmm.trafficManagementSystem.controller;
+
+import com.pucmm.trafficManagementSystem.App;
+import com.pucmm.trafficManagementSystem.demand.DemandGenerator;
+import com.pucmm.trafficManagementSystem.demand.DemandProfile;
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.geometry.HighwayGeometry;
+import com.pucmm.trafficManagementSystem.model.TrafficLightController;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.simulation.BatchSpawner;
+import com.pucmm.trafficManagementSystem.simulation.HighwaySimulation;
+import com.pucmm.trafficManagementSystem.simulation.SpawnRandom;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ComboBox;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Rectangle;
+import org.kordamp.ikonli.fontawesome5.FontAwesomeSolid;
+import org.kordamp.ikonli.javafx.FontIcon;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class HighwayController {
+    @FXML
+    private Pane simulationPane;
+    @FXML
+    private ComboBox<VehicleType> typeComboBox;
+    @FXML
+    private ComboBox<Direction> originComboBox;
+    @FXML
+    private ComboBox<Direction> actionComboBox;
+    @FXML
+    private ComboBox<Integer> intersectionComboBox;
+    @FXML
+    private ComboBox<Double> speedComboBox;
+    @FXML
+    private Button addVehicleButton, addMultipleButton, backButton, pauseButton, stepButton;
+    @FXML
+    private Label laneLabel, intersectionLabel;
+
+    private final HighwaySimulation simulation = new HighwaySimulation(0, 0);
+    // Perfil de -Dtraffic.demand; con él, el botón de lote inicia la demanda.
+    private final DemandProfile demandProfile = DemandProfile.fromSystemProperty();
+    private DemandGenerator demand;
+    private final Map<Vehicle, Circle> vehicleMap = new HashMap<>();
+    private final Group highwayGroup = new Group();
+    private final Group trafficLightsGroup = new Group();
+    private AnimationTimer animationTimer;
+    private final double laneHeight = simulation.getLaneHeight();
+    private final double intersectionWidth = simulation.getIntersectionWidth();
+
+    private final HighwayTopology topology = simulation.getTopology();
+    private final TrafficLightController trafficLightController = simulation.getTrafficLightController();
+    private final RenderMode renderMode = RenderMode.fromSystemProperty();
+    private CanvasRenderer canvasRenderer;
+    // Posición de cada semáforo por id, calculada al redibujar la autopista.
+    private final double[] lightX = new double[topology.getLightCount() + 1];
+    private final double[] lightY = new double[topology.getLightCount() + 1];
+
+    @FXML
+    public void initialize() {
+        if (renderMode == RenderMode.CANVAS)
+            canvasRenderer = new CanvasRenderer(simulationPane);
+        else
+            simulationPane.getChildren().addAll(highwayGroup, trafficLightsGroup);
+        typeComboBox.getItems().setAll(VehicleType.values());
+        originComboBox.getItems().setAll(Direction.WEST, Direction.EAST);
+        actionComboBox.getItems().setAll(Direction.STRAIGHT, Direction.LEFT, Direction.RIGHT, Direction.U_TURN);
+        typeComboBox.getSelectionModel().selectFirst();
+        originComboBox.getSelectionModel().selectFirst();
+        actionComboBox.getSelectionModel().selectFirst();
+        backButton.setGraphic(new FontIcon(FontAwesomeSolid.ARROW_LEFT));
+        new ClockControls(simulation.getClock(), speedComboBox, pauseButton, stepButton);
+        actionComboBox.getSelectionModel().selectedItemProperty()
+                .addListener((obs, o, newAction) -> updateIntersectionSelectorVisibility(newAction));
+        originComboBox.getSelectionModel().selectedItemProperty()
+                .addListener((obs, o, newOrigin) -> updateAvailableIntersections(newOrigin));
+        updateAvailableIntersections(originComboBox.getValue());
+        updateIntersectionSelectorVisibility(actionComboBox.getValue());
+        simulationPane.widthProperty().addListener((obs, o, n) -> redrawHighway());
+        simulationPane.heightProperty().addListener((obs, o, n) -> redrawHighway());
+        startAnimationLoop();
+    }
+
+    private void updateIntersectionSelectorVisibility(Direction action) {
+        boolean isTurn = action == Direction.LEFT || action == Direction.RIGHT || action == Direction.U_TURN;
+        intersectionLabel.setVisible(isTurn);
+        intersectionLabel.setManaged(isTurn);
+        intersectionComboBox.setVisible(isTurn);
+        intersectionComboBox.setManaged(isTurn);
+    }
+
+    private void updateAvailableIntersections(Direction origin) {
+        Integer previouslySelected = intersectionComboBox.getValue();
+        intersectionComboBox.getItems().clear();
+        intersectionComboBox.getItems().setAll(topology.getTurnIntersections(origin));
+        if (previouslySelected != null && intersectionComboBox.getItems().contains(previouslySelected)) {
+            intersectionComboBox.setValue(previouslySelected);
+        } else {
+            intersectionComboBox.getSelectionModel().selectFirst();
+        }
+    }
+
+    private void redrawHighway() {
+        highwayGroup.getChildren().clear();
+        trafficLightsGroup.getChildren().clear();
+
+        double width = simulationPane.getWidth();
+        double height = simulationPane.getHeight();
+        simulation.resize(width, height);
+        if (width == 0 || height == 0) {
+            if (canvasRenderer != null)
+                canvasRenderer.clear();
+            return;
+        }
+
+        HighwayGeometry geometry = simulation.getGeometry();
+        double totalHighwayHeight = laneHeight * 6;
+        double highwayY = geometry.getHighwayY();
+
+        Rectangle highwayBackground = new Rectangle(0, highwayY, width, totalHighwayHeight);
+        highwayBackground.setFill(Color.GRAY);
+        highwayGroup.getChildren().add(highwayBackground);
+
+        for (int i = 1; i <= topology.getIntersectionCount(); i++) {
+            double centerX = geometry.getIntersectionCenterX(i);
+            Rectangle vStreet = new Rectangle(centerX - intersectionWidth / 2, 0, intersectionWidth, height);
+            vStreet.setFill(Color.GRAY);
+            highwayGroup.getChildren().add(vStreet);
+        }
+
+        for (int i = 1; i < 6; i++) {
+            if (i == 3)
+                continue;
+            Line laneLine = new Line(0, highwayY + i * laneHeight, width, highwayY + i * laneHeight);
+            laneLine.setStroke(Color.WHITE);
+            laneLine.getStrokeDashArray().addAll(25d, 20d);
+            highwayGroup.getChildren().add(laneLine);
+        }
+
+        double wallY = highwayY + 3 * laneHeight;
+        double lastX = 0;
+        for (int i = 1; i <= topology.getIntersectionCount(); i++) {
+            double centerX = geometry.getIntersectionCenterX(i);
+            double gapStart = centerX - intersectionWidth / 2;
+            Rectangle wallSegment = new Rectangle(lastX, wallY - 5, gapStart - lastX, 10);
+            wallSegment.setFill(Color.DARKSLATEGRAY);
+            highwayGroup.getChildren().add(wallSegment);
+            lastX = centerX + intersectionWidth / 2;
+        }
+        Rectangle finalWallSegment = new Rectangle(lastX, wallY - 5, width - lastX, 10);
+        finalWallSegment.setFill(Color.DARKSLATEGRAY);
+        highwayGroup.getChildren().add(finalWallSegment);
+
+        // Vía superior: semáforos del tráfico que viene del este; vía inferior: del oeste.
+        for (int id = 1; id <= topology.getLightCount(); id++) {
+            double centerX = geometry.getIntersectionCenterX(topology.getLightIntersection(id));
+            if (topology.getLightOrigin(id) == Direction.EAST) {
+                lightX[id] = centerX + intersectionWidth / 2 + 15;
+                lightY[id] = highwayY + laneHeight * 1.5;
+            } else {
+                lightX[id] = centerX - intersectionWidth / 2 - 25;
+                lightY[id] = highwayY + laneHeight * 4.5;
+            }
+        }
+
+        if (canvasRenderer != null) {
+            canvasRenderer.cacheBackground(highwayGroup, width, height);
+            return;
+        }
+        for (int id = 1; id <= topology.getLightCount(); id++)
+            trafficLightsGroup.getChildren().add(createTrafficLight(id, lightX[id], lightY[id]));
+        highwayGroup.toBack();
+    }
+    
+    private Node createTrafficLight(int id, double x, double y) {
+        Group lightGroup = new Group();
+        lightGroup.setId(String.valueOf(id)); // ID del grupo para referencia
+
+        Rectangle post = new Rectangle(x, y - 20, 14, 40);
+        post.setFill(Color.BLACK);
+        post.setArcWidth(5);
+        post.setArcHeight(5);
+
+        Circle red = new Circle(x + 7, y - 10, 6, Color.DARKRED);
+        red.setId("red");
+        Circle green = new Circle(x + 7, y + 10, 6, Color.DARKGREEN);
+        green.setId("green");
+        
+        lightGroup.getChildren().addAll(post, red, green);
+        return lightGroup;
+    }
+
+    private void updateTrafficLights() {
+        for (Node node : trafficLightsGroup.getChildren()) {
+            if (node instanceof Group) {
+                Group lightGroup = (Group) node;
+                int id = Integer.parseInt(lightGroup.getId());
+                Circle red = (Circle) lightGroup.lookup("#red");
+                Circle green = (Circle) lightGroup.lookup("#green");
+                
+                if (red != null && green != null) {
+                    if (trafficLightController.isGreen(id)) {
+                        green.setFill(Color.LIME);
+                        red.setFill(Color.DARKRED);
+                    } else {
+                        green.setFill(Color.DARKGREEN);
+                        red.setFill(Color.RED);
+                    }
+                }
+            }
+        }
+    }
+
+    @FXML
+    private void addVehicle() {
+        disableButtonsTemporarily();
+        VehicleType type = typeComboBox.getValue();
+        Direction origin = originComboBox.getValue();
+        Direction action = actionComboBox.getValue();
+        Direction lane = HighwaySimulation.laneFor(action);
+        Integer intersectionId = intersectionComboBox.isVisible() ? intersectionComboBox.getValue() : null;
+        simulation.spawnVehicle(type, origin, lane, action, intersectionId);
+    }
+
+    @FXML
+    private void addMultipleVehicles() {
+        disableButtonsTemporarily();
+        final int numVehicles = Integer.getInteger("traffic.batch.size", 15);
+        final long spawnIntervalMillis = Long.getLong("traffic.batch.intervalMillis", 1000L);
+        final Random random = SpawnRandom.fromSystemProperty();
+        if (demandProfile != null) {
+            // Un nuevo clic reinicia el perfil en lugar de sumar otra demanda.
+            if (demand != null)
+                demand.stop();
+            demand = simulation.startDemand(demandProfile, random);
+            return;
+        }
+        BatchSpawner.start(simulation.getClock(), numVehicles, spawnIntervalMillis,
+                () -> simulation.queueRandomVehicle(random));
+    }
+
+    private void startAnimationLoop() {
+        animationTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (canvasRenderer != null) {
+                    drawCanvasFrame();
+                    return;
+                }
+                updateTrafficLights();
+                
+                for (Vehicle vehicle : simulation.getVehicles()) {
+                    if (!vehicle.isFinished() && !vehicleMap.containsKey(vehicle)) {
+                        Circle vehicleCircle = new Circle(10,
+                                vehicle.getType() == VehicleType.EMERGENCY ? Color.web("#e74c3c") : Color.web("#3498db"));
+                        vehicleCircle.setStroke(Color.BLACK);
+                        vehicleMap.put(vehicle, vehicleCircle);
+                        simulationPane.getChildren().add(vehicleCircle);
+                    }
+                }
+
+                Iterator<Map.Entry<Vehicle, Circle>> iterator = vehicleMap.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Vehicle, Circle> entry = iterator.next();
+                    if (entry.getKey().isFinished()) {
+                        simulationPane.getChildren().remove(entry.getValue());
+                        iterator.remove();
+                    } else {
+                        entry.getValue().relocate(entry.getKey().getX() - 10, entry.getKey().getY() - 10);
+                    }
+                }
+            }
+        };
+        animationTimer.start();
+    }
+
+    private void drawCanvasFrame() {
+        canvasRenderer.beginFrame();
+        for (int id = 1; id <= topology.getLightCount(); id++)
+            canvasRenderer.drawTrafficLight(lightX[id], lightY[id], trafficLightController.isGreen(id));
+        canvasRenderer.drawVehicles(simulation::getPositions, 10);
+    }
+
+    private void disableButtonsTemporarily() {
+        addVehicleButton.setDisable(true);
+        addMultipleButton.setDisable(true);
+        // Un segundo simulado: sigue la velocidad del reloj y no corre en pausa.
+        simulation.getClock().schedule(1000, () -> Platform.runLater(() -> {
+            addVehicleButton.setDisable(false);
+            addMultipleButton.setDisable(false);
+        }));
+    }
+
+    @FXML
+    private void goBackToMenu() {
+        if (animationTimer != null)
+            animationTimer.stop();
+        simulation.shutdown();
+        vehicleMap.clear();
+        simulationPane.getChildren().clear();
+        try {
+            App.setRoot("MenuView");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
\ No newline at end of file
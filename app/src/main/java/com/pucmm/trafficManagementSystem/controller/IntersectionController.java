@@ -0,0 +1,258 @@
+package com.pucmm.trafficManagementSystem.controller;
+
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.simulation.BatchSpawner;
+import com.pucmm.trafficManagementSystem.simulation.IntersectionSimulation;
+import com.pucmm.trafficManagementSystem.simulation.SpawnRandom;
+import com.pucmm.trafficManagementSystem.App;
+import com.pucmm.trafficManagementSystem.demand.DemandGenerator;
+import com.pucmm.trafficManagementSystem.demand.DemandProfile;
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.kordamp.ikonli.fontawesome5.FontAwesomeSolid;
+import org.kordamp.ikonli.javafx.FontIcon;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.fxml.FXML;
+import javafx.scene.Group;
+import javafx.scene.control.ComboBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Line;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Rotate;
+import java.util.Random;
+import javafx.scene.control.Button;
+
+public class IntersectionController {
+    @FXML
+    private Pane simulationPane;
+    @FXML
+    private ComboBox<VehicleType> typeComboBox;
+    @FXML
+    private ComboBox<Direction> originComboBox;
+    @FXML
+    private ComboBox<Direction> destinationComboBox;
+    @FXML
+    private Button addVehicleButton;
+    @FXML
+    private Button addMultipleButton;
+    @FXML
+    private Button backButton;
+    @FXML
+    private ComboBox<Double> speedComboBox;
+    @FXML
+    private Button pauseButton;
+    @FXML
+    private Button stepButton;
+
+    private final IntersectionSimulation simulation = new IntersectionSimulation(0, 0);
+    // Perfil de -Dtraffic.demand; con él, el botón de lote inicia la demanda.
+    private final DemandProfile demandProfile = DemandProfile.fromSystemProperty();
+    private DemandGenerator demand;
+    private final Map<Vehicle, Circle> vehicleMap = new HashMap<>();
+    private final Group streetGroup = new Group();
+    private final RenderMode renderMode = RenderMode.fromSystemProperty();
+    private CanvasRenderer canvasRenderer;
+
+    private AnimationTimer animationTimer;
+
+    @FXML
+    private void goBackToMenu() {
+        if (animationTimer != null) {
+            animationTimer.stop();
+            System.out.println("AnimationTimer detenido.");
+        }
+        System.out.println("Deteniendo " + simulation.getVehicles().size() + " hilos de vehículos...");
+        simulation.shutdown();
+        vehicleMap.clear();
+        simulationPane.getChildren().clear();
+        System.out.println("Simulación limpiada.");
+
+        try {
+            App.setRoot("MenuView");
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    @FXML
+    public void initialize() {
+        if (renderMode == RenderMode.CANVAS)
+            canvasRenderer = new CanvasRenderer(simulationPane);
+        else
+            simulationPane.getChildren().add(streetGroup);
+
+        typeComboBox.getItems().setAll(VehicleType.values());
+        originComboBox.getItems().setAll(Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST);
+        destinationComboBox.getItems().setAll(Direction.STRAIGHT, Direction.RIGHT, Direction.LEFT, Direction.U_TURN);
+        typeComboBox.getSelectionModel().selectFirst();
+        originComboBox.getSelectionModel().selectFirst();
+        destinationComboBox.getSelectionModel().selectFirst();
+        FontIcon backIcon = new FontIcon(FontAwesomeSolid.ARROW_LEFT);
+        backButton.setGraphic(backIcon);
+        new ClockControls(simulation.getClock(), speedComboBox, pauseButton, stepButton);
+
+        simulationPane.widthProperty().addListener((obs, oldVal, newVal) -> redrawStreet());
+        simulationPane.heightProperty().addListener((obs, oldVal, newVal) -> redrawStreet());
+
+        startAnimationLoop();
+    }
+
+    private void redrawStreet() {
+        streetGroup.getChildren().clear();
+
+        double width = simulationPane.getWidth();
+        double height = simulationPane.getHeight();
+        simulation.resize(width, height);
+        if (width == 0 || height == 0) {
+            if (canvasRenderer != null)
+                canvasRenderer.clear();
+            return;
+        }
+
+        double streetWidth = Math.min(width, height) / 4.0;
+
+        Rectangle hStreet = new Rectangle(0, height / 2 - streetWidth / 2, width, streetWidth);
+        Rectangle vStreet = new Rectangle(width / 2 - streetWidth / 2, 0, streetWidth, height);
+        hStreet.setFill(Color.GRAY);
+        vStreet.setFill(Color.GRAY);
+        hStreet.setStroke(Color.DARKGRAY);
+        vStreet.setStroke(Color.DARKGRAY);
+        streetGroup.getChildren().addAll(hStreet, vStreet);
+
+        Line hLine = new Line(0, height / 2, width, height / 2);
+        hLine.setStroke(Color.YELLOW);
+        hLine.getStrokeDashArray().addAll(25d, 20d);
+
+        Line vLine = new Line(width / 2, 0, width / 2, height);
+        vLine.setStroke(Color.YELLOW);
+        vLine.getStrokeDashArray().addAll(25d, 20d);
+        streetGroup.getChildren().addAll(hLine, vLine);
+
+        streetGroup.getChildren()
+                .add(createStopSign(width / 2 + streetWidth / 2 + 45, height / 2 - streetWidth / 2 - 45, -90)); // East
+        streetGroup.getChildren()
+                .add(createStopSign(width / 2 - streetWidth / 2 - 45, height / 2 + streetWidth / 2 + 45, 90)); // West
+        streetGroup.getChildren()
+                .add(createStopSign(width / 2 - streetWidth / 2 - 45, height / 2 - streetWidth / 2 - 45, 180)); // North
+        streetGroup.getChildren()
+                .add(createStopSign(width / 2 + streetWidth / 2 + 45, height / 2 + streetWidth / 2 + 45, 0)); // South
+
+        if (canvasRenderer != null)
+            canvasRenderer.cacheBackground(streetGroup, width, height);
+    }
+
+    private Group createStopSign(double x, double y, double angle) {
+        double scale = 0.5;
+        Polygon octagon = new Polygon(
+                20 * scale, 0, 40 * scale, 0, 60 * scale, 20 * scale, 60 * scale, 40 * scale,
+                40 * scale, 60 * scale, 20 * scale, 60 * scale, 0, 40 * scale, 0, 20 * scale);
+        octagon.setFill(Color.RED);
+        octagon.setStroke(Color.WHITE);
+        octagon.setStrokeWidth(2);
+
+        Text text = new Text("STOP");
+        text.setFont(Font.font("Arial BOLD", 16 * scale));
+        text.setFill(Color.WHITE);
+        text.setX(10 * scale);
+        text.setY(37 * scale);
+
+        Rectangle pole = new Rectangle();
+        pole.setX(28 * scale);
+        pole.setY(60 * scale);
+        pole.setWidth(4 * scale);
+        pole.setHeight(40 * scale);
+        pole.setFill(Color.LIGHTGRAY);
+
+        Group sign = new Group(octagon, text, pole);
+        sign.relocate(x - 30 * scale, y - 30 * scale);
+        sign.getTransforms().add(new Rotate(angle, 30 * scale, 30 * scale));
+        return sign;
+    }
+
+    @FXML
+    private void addVehicle() {
+        disableButtonsTemporarily();
+        simulation.spawnVehicle(
+                typeComboBox.getValue(),
+                originComboBox.getValue(),
+                destinationComboBox.getValue());
+    }
+
+    @FXML
+    private void addMultipleVehicles() {
+        disableButtonsTemporarily();
+        System.out.println("Iniciando adición de lote de vehículos...");
+        final int numberOfVehiclesToAdd = Integer.getInteger("traffic.batch.size", 15); // El número de vehículos a generar
+        final long spawnIntervalMillis = Long.getLong("traffic.batch.intervalMillis", 1000L);
+        final Random random = SpawnRandom.fromSystemProperty();
+        if (demandProfile != null) {
+            // Un nuevo clic reinicia el perfil en lugar de sumar otra demanda.
+            if (demand != null)
+                demand.stop();
+            demand = simulation.startDemand(demandProfile, random);
+            return;
+        }
+
+        BatchSpawner.start(simulation.getClock(), numberOfVehiclesToAdd, spawnIntervalMillis,
+                () -> simulation.spawnRandomVehicle(random) != null);
+    }
+
+    private void startAnimationLoop() {
+        this.animationTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (canvasRenderer != null) {
+                    canvasRenderer.beginFrame();
+                    canvasRenderer.drawVehicles(simulation::getPositions, 8);
+                    return;
+                }
+                for (Vehicle vehicle : simulation.getVehicles()) {
+                    if (!vehicle.isFinished() && !vehicleMap.containsKey(vehicle)) {
+                        Circle vehicleCircle = new Circle(8,
+                                vehicle.getType() == VehicleType.EMERGENCY ? Color.web("#e74c3c") : Color.web("#3498db"));
+                        vehicleCircle.setStroke(Color.BLACK);
+                        vehicleMap.put(vehicle, vehicleCircle);
+                        simulationPane.getChildren().add(vehicleCircle);
+                        vehicleCircle.toFront();
+                    }
+                }
+
+                Iterator<Map.Entry<Vehicle, Circle>> iterator = vehicleMap.entrySet().iterator();
+                while (iterator.hasNext()) {
+                    Map.Entry<Vehicle, Circle> entry = iterator.next();
+                    if (entry.getKey().isFinished()) {
+                        simulationPane.getChildren().remove(entry.getValue());
+                        iterator.remove();
+                    } else {
+                        entry.getValue().relocate(entry.getKey().getX() - 8, entry.getKey().getY() - 8);
+                    }
+                }
+            }
+        };
+        this.animationTimer.start();
+    }
+
+    private void disableButtonsTemporarily() {
+        addVehicleButton.setDisable(true);
+        addMultipleButton.setDisable(true);
+
+        // Un segundo simulado: sigue la velocidad del reloj y no corre en pausa.
+        simulation.getClock().schedule(1000, () -> Platform.runLater(() -> {
+            addVehicleButton.setDisable(false);
+            addMultipleButton.setDisable(false);
+        }));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.pucmm.trafficManagementSystem.controller;
+
+/**
+ * Formas de dibujar la simulación. Se elige con la propiedad de sistema
+ * {@code traffic.render} (por ejemplo {@code -Dtraffic.render=NODES}).
+ */
+public enum RenderMode {
+    /** Un nodo {@code Circle} por vehículo dentro del grafo de escena. */
+    NODES,
+    /** Todos los vehículos y semáforos en un único {@code Canvas} por cuadro. */
+    CANVAS;
+
+    public static RenderMode fromSystemProperty() {
+        String value = System.getProperty("traffic.render");
+        if (value == null || value.isBlank())
+            return CANVAS;
+        return valueOf(value.trim().toUpperCase());
+    }
+}
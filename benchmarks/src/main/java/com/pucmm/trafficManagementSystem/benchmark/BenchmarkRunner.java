@@ -0,0 +1,25 @@
+package com.pucmm.trafficManagementSystem.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ejecuta los benchmarks con 1, 4, 16 y 64 hilos en contención. Acepta las mismas
+ * opciones que el lanzador de JMH; si se indica -t solo se usa ese número de hilos.
+ *
+ * Uso: java -jar benchmarks/target/benchmarks.jar [patrón] [opciones de JMH]
+ */
+public class BenchmarkRunner {
+    private static final int[] THREAD_COUNTS = { 1, 4, 16, 64 };
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions options = new CommandLineOptions(args);
+        int[] threadCounts = options.getThreads().hasValue() ? new int[] { options.getThreads().get() } : THREAD_COUNTS;
+        for (int threads : threadCounts) {
+            new Runner(new OptionsBuilder().parent(options).threads(threads).build()).run();
+        }
+    }
+}
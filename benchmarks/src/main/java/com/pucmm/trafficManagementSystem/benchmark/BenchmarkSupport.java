@@ -0,0 +1,26 @@
+package com.pucmm.trafficManagementSystem.benchmark;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.model.HighwayIntersection;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.simulation.HighwaySimulation;
+
+final class BenchmarkSupport {
+    static final Direction[] HIGHWAY_ORIGINS = { Direction.WEST, Direction.EAST };
+    static final Direction[] HIGHWAY_LANES = { Direction.LANE_1, Direction.LANE_2, Direction.LANE_3 };
+    static final Direction[] INTERSECTION_ORIGINS = { Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST };
+
+    private BenchmarkSupport() {
+    }
+
+    /** Vehículo de autopista con slot en la simulación, sin enviarlo al ejecutor. */
+    static Vehicle highwayVehicle(HighwaySimulation simulation, HighwayIntersection target, Direction origin,
+            Direction lane, double x) {
+        Vehicle vehicle = new Vehicle(VehicleType.NORMAL, origin, Direction.STRAIGHT, target);
+        vehicle.setSimulation(simulation);
+        vehicle.setLane(lane);
+        vehicle.setPosition(x, 0);
+        return vehicle;
+    }
+}
@@ -0,0 +1,55 @@
+package com.pucmm.trafficManagementSystem.benchmark;
+
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.simulation.ExecutionMode;
+import com.pucmm.trafficManagementSystem.simulation.HighwaySimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda del vehículo líder con {@code vehicles} vehículos repartidos al azar por los
+ * seis carriles de una autopista larga. Los vehículos no avanzan; el índice de carriles
+ * se sigue reconstruyendo en cada tick como en una simulación real.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FindLeaderBenchmark {
+    private static final double HIGHWAY_WIDTH = 200_000;
+
+    @Param({ "100", "1000", "10000" })
+    public int vehicles;
+
+    private HighwaySimulation simulation;
+    private Vehicle[] followers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        simulation = new HighwaySimulation(HIGHWAY_WIDTH, 1000, ExecutionMode.TICK_SCHEDULER);
+        Random random = new Random(42);
+        followers = new Vehicle[vehicles];
+        for (int i = 0; i < vehicles; i++) {
+            followers[i] = BenchmarkSupport.highwayVehicle(simulation, null,
+                    BenchmarkSupport.HIGHWAY_ORIGINS[random.nextInt(2)],
+                    BenchmarkSupport.HIGHWAY_LANES[random.nextInt(3)], random.nextDouble() * HIGHWAY_WIDTH);
+        }
+        // Espera a que el índice incluya a todos los vehículos.
+        Thread.sleep(10 * Vehicle.TICK_MILLIS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simulation.shutdown();
+    }
+
+    @Benchmark
+    public Vehicle findLeaderFor() {
+        return simulation.findLeaderFor(followers[ThreadLocalRandom.current().nextInt(followers.length)]);
+    }
+}
@@ -0,0 +1,110 @@
+package com.pucmm.trafficManagementSystem.benchmark;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.model.HighwayIntersection;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.simulation.ExecutionMode;
+import com.pucmm.trafficManagementSystem.simulation.HighwaySimulation;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Intersección de autopista con {@code queueDepth} vehículos por carril y sentido.
+ * Las operaciones que modifican la cola se miden como ciclos que la dejan igual:
+ * {@code addToQueue} encola y sale.
+ *
+ * En esa intersección nadie sale nunca de la cola, así que un vehículo que llega no
+ * llegaría a cruzar. El ciclo de cruce ({@code crossingCycle}) usa otra intersección
+ * compartida, vacía: cada hilo toma un carril y sentido por turno y su vehículo encola,
+ * espera a que le toque, cruza y sale. Los hilos de un mismo carril se ordenan en su cola
+ * y los de sentidos opuestos se turnan en la admisión, como en la simulación.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HighwayIntersectionBenchmark {
+
+    @Param({ "8", "64" })
+    public int queueDepth;
+
+    HighwaySimulation simulation;
+    HighwayIntersection intersection;
+    HighwayIntersection crossing;
+    final AtomicInteger lanesTaken = new AtomicInteger();
+    private Vehicle[] queued;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // La simulación solo aporta el almacén de estado de los vehículos.
+        simulation = new HighwaySimulation(1640, 1000, ExecutionMode.TICK_SCHEDULER);
+        intersection = new HighwayIntersection(2);
+        crossing = new HighwayIntersection(3);
+        queued = new Vehicle[queueDepth * 6];
+        int i = 0;
+        for (int n = 0; n < queueDepth; n++) {
+            for (Direction origin : BenchmarkSupport.HIGHWAY_ORIGINS) {
+                for (Direction lane : BenchmarkSupport.HIGHWAY_LANES) {
+                    queued[i] = BenchmarkSupport.highwayVehicle(simulation, intersection, origin, lane, 0);
+                    intersection.addToQueue(queued[i++]);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simulation.shutdown();
+    }
+
+    @State(Scope.Thread)
+    public static class ArrivingVehicle {
+        Vehicle vehicle;
+
+        @Setup(Level.Trial)
+        public void setUp(HighwayIntersectionBenchmark benchmark) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            Direction origin = BenchmarkSupport.HIGHWAY_ORIGINS[random.nextInt(2)];
+            Direction lane = BenchmarkSupport.HIGHWAY_LANES[random.nextInt(3)];
+            vehicle = BenchmarkSupport.highwayVehicle(benchmark.simulation, benchmark.intersection, origin, lane, 0);
+        }
+    }
+
+    @Benchmark
+    public void addToQueue(ArrivingVehicle arriving) {
+        intersection.addToQueue(arriving.vehicle);
+        intersection.leaveIntersection(arriving.vehicle);
+    }
+
+    @Benchmark
+    public boolean isMyTurn() {
+        return intersection.isMyTurn(queued[ThreadLocalRandom.current().nextInt(queued.length)]);
+    }
+
+    @State(Scope.Thread)
+    public static class SharedLane {
+        Vehicle vehicle;
+
+        @Setup(Level.Trial)
+        public void setUp(HighwayIntersectionBenchmark benchmark) {
+            int slot = benchmark.lanesTaken.getAndIncrement();
+            Direction origin = BenchmarkSupport.HIGHWAY_ORIGINS[slot % 2];
+            Direction lane = BenchmarkSupport.HIGHWAY_LANES[slot / 2 % 3];
+            vehicle = BenchmarkSupport.highwayVehicle(benchmark.simulation, benchmark.crossing, origin, lane, 0);
+        }
+    }
+
+    @Benchmark
+    public void crossingCycle(SharedLane lane) {
+        Vehicle vehicle = lane.vehicle;
+        crossing.addToQueue(vehicle);
+        while (!(crossing.isMyTurn(vehicle) && crossing.startCrossing(vehicle)))
+            Thread.yield();
+        crossing.leaveIntersection(vehicle);
+    }
+}
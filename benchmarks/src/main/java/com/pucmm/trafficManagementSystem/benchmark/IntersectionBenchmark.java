@@ -0,0 +1,83 @@
+package com.pucmm.trafficManagementSystem.benchmark;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.model.Intersection;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Intersección simple con {@code queueDepth} vehículos esperando por cada acceso.
+ * {@code startCrossing} se mide dentro del ciclo completo (encolar, cruzar, salir)
+ * para que la cola conserve su tamaño entre invocaciones. {@code overtake} saca a un
+ * vehículo cualquiera del medio de las colas y lo vuelve a encolar al final.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntersectionBenchmark {
+
+    @Param({ "8", "64", "1024" })
+    public int queueDepth;
+
+    Intersection intersection;
+    private Vehicle[] queued;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        intersection = new Intersection();
+        Direction[] origins = BenchmarkSupport.INTERSECTION_ORIGINS;
+        queued = new Vehicle[queueDepth * origins.length];
+        for (int i = 0; i < queued.length; i++) {
+            queued[i] = new Vehicle(VehicleType.NORMAL, origins[i % origins.length], Direction.STRAIGHT, intersection);
+            intersection.addToQueue(queued[i]);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class CrossingVehicle {
+        Vehicle vehicle;
+
+        @Setup(Level.Trial)
+        public void setUp(IntersectionBenchmark benchmark) {
+            Direction[] origins = BenchmarkSupport.INTERSECTION_ORIGINS;
+            Direction origin = origins[ThreadLocalRandom.current().nextInt(origins.length)];
+            vehicle = new Vehicle(VehicleType.NORMAL, origin, Direction.STRAIGHT, benchmark.intersection);
+        }
+    }
+
+    private Vehicle randomQueued() {
+        return queued[ThreadLocalRandom.current().nextInt(queued.length)];
+    }
+
+    @Benchmark
+    public boolean isMyTurn() {
+        return intersection.isMyTurn(randomQueued());
+    }
+
+    @Benchmark
+    public int getPositionInQueue() {
+        return intersection.getPositionInQueue(randomQueued());
+    }
+
+    @Benchmark
+    public void startCrossing(CrossingVehicle crossing) {
+        intersection.addToQueue(crossing.vehicle);
+        intersection.startCrossing(crossing.vehicle);
+        intersection.leaveIntersection(crossing.vehicle);
+    }
+
+    @Benchmark
+    public void overtake() {
+        Vehicle vehicle = randomQueued();
+        intersection.startCrossing(vehicle);
+        intersection.leaveIntersection(vehicle);
+        intersection.addToQueue(vehicle);
+    }
+}
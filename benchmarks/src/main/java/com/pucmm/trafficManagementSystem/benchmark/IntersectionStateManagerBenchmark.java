@@ -0,0 +1,45 @@
+package com.pucmm.trafficManagementSystem.benchmark;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.model.HighwayIntersection;
+import com.pucmm.trafficManagementSystem.model.IntersectionStateManager;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta de tráfico opuesto con {@code occupancy} vehículos rectos en la zona, todos
+ * del mismo sentido que el vehículo que gira: el peor caso, donde se recorre toda la zona.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntersectionStateManagerBenchmark {
+    private static final int INTERSECTION_ID = 2;
+
+    @Param({ "4", "64" })
+    public int occupancy;
+
+    private IntersectionStateManager stateManager;
+    private Vehicle turningVehicle;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stateManager = new IntersectionStateManager(4);
+        for (int i = 0; i < occupancy; i++) {
+            Vehicle straight = new Vehicle(VehicleType.NORMAL, Direction.WEST, Direction.STRAIGHT, (HighwayIntersection) null);
+            stateManager.vehicleEntersStraightZone(INTERSECTION_ID, straight);
+        }
+        turningVehicle = new Vehicle(VehicleType.NORMAL, Direction.WEST, Direction.LEFT, new HighwayIntersection(INTERSECTION_ID));
+    }
+
+    @Benchmark
+    public boolean isOpposingTrafficCrossing() {
+        return stateManager.isOpposingTrafficCrossing(INTERSECTION_ID, turningVehicle);
+    }
+}
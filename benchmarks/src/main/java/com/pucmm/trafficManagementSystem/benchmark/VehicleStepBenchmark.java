@@ -0,0 +1,78 @@
+package com.pucmm.trafficManagementSystem.benchmark;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.simulation.ExecutionMode;
+import com.pucmm.trafficManagementSystem.simulation.HighwaySimulation;
+import com.pucmm.trafficManagementSystem.simulation.TickScheduler;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un tick de {@code vehicles} vehículos de autopista en marcha: búsqueda del líder,
+ * distancia de seguridad y avance hacia el próximo punto de la ruta. El corredor es largo
+ * y sin semáforos para que ningún vehículo termine ni se estacione durante la medición; el
+ * índice de carriles se arma una vez al inicio.
+ *
+ * Con el perfilador de memoria, {@code gc.alloc.rate.norm} debe dar 0 B por tick:
+ * java -jar benchmarks/target/benchmarks.jar VehicleStepBenchmark -t 1 -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class VehicleStepBenchmark {
+    private static final double HIGHWAY_WIDTH = 100_000_000;
+
+    @Param({ "100", "1000", "10000" })
+    public int vehicles;
+
+    private HighwaySimulation simulation;
+    private Vehicle[] fleet;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Properties corridor = new Properties();
+        corridor.setProperty("intersections", "1");
+        corridor.setProperty("intersection.1.position", "1");
+        corridor.setProperty("intersection.1.offset", "-60");
+        simulation = new HighwaySimulation(HighwayTopology.fromProperties(corridor), HIGHWAY_WIDTH, 1000,
+                ExecutionMode.DETERMINISTIC);
+        Random random = new Random(42);
+        fleet = new Vehicle[vehicles];
+        // Unos 20 px por vehículo: parte de la flota va pegada a su líder y espera.
+        double spread = vehicles * 20.0;
+        for (int i = 0; i < vehicles; i++) {
+            fleet[i] = BenchmarkSupport.highwayVehicle(simulation, null,
+                    BenchmarkSupport.HIGHWAY_ORIGINS[random.nextInt(2)],
+                    BenchmarkSupport.HIGHWAY_LANES[random.nextInt(3)], 0);
+            fleet[i].setTrafficLightController(simulation.getTrafficLightController());
+            double startY = simulation.getPath(fleet[i]).get(0).getY();
+            double offset = 1000 + random.nextDouble() * spread;
+            double x = fleet[i].getOrigin() == Direction.WEST ? offset : HIGHWAY_WIDTH - offset;
+            fleet[i].setPosition(x, startY);
+        }
+        ((TickScheduler) simulation.getExecutor()).advance();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        simulation.shutdown();
+    }
+
+    @Benchmark
+    public int tick() {
+        int active = 0;
+        for (Vehicle vehicle : fleet) {
+            if (vehicle.step())
+                active++;
+        }
+        return active;
+    }
+}
@@ -0,0 +1,136 @@
+package com.pucmm.trafficManagementSystem.analytics;
+
+import com.pucmm.trafficManagementSystem.simulation.TrajectoryRecorder;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Segmentos de una corrida grabada por {@link TrajectoryRecorder}, mapeados en solo lectura,
+ * con la ubicación de cada bloque en arreglos primitivos. Recorrerlo solo lee la cabecera de
+ * cada bloque (12 bytes) y salta las columnas, así que indexar varios GB toma milisegundos.
+ */
+final class TrajectoryIndex {
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final String scenario;
+    private final HighwayTopology topology;
+    private long bytes;
+
+    // Indexados por número de bloque, en orden de tick.
+    private int[] blockSegment = new int[1024];
+    private int[] blockOffset = new int[1024];
+    private long[] blockTick = new long[1024];
+    private int blocks;
+
+    TrajectoryIndex(Path runDirectory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(runDirectory, "segment-*.trj")) {
+            stream.forEach(files::add);
+        }
+        if (files.isEmpty())
+            throw new IOException("No hay segmentos de trayectoria en " + runDirectory);
+        Collections.sort(files);
+
+        String scenario = null;
+        String topologyText = "";
+        for (Path file : files) {
+            ByteBuffer segment;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            if (segment.getInt(0) != TrajectoryRecorder.MAGIC || segment.getShort(4) != TrajectoryRecorder.VERSION)
+                throw new IOException("Formato de segmento no soportado: " + file);
+            int headerBytes = segment.getInt(8);
+            long used = segment.getLong(16);
+            if (scenario == null) {
+                int scenarioLength = segment.getInt(24);
+                scenario = text(segment, 28, scenarioLength);
+                topologyText = text(segment, 32 + scenarioLength, segment.getInt(28 + scenarioLength));
+            }
+            int index = segments.size();
+            segments.add(segment);
+            bytes += used;
+            for (long offset = headerBytes; offset < used; ) {
+                int count = segment.getInt((int) offset + Long.BYTES);
+                add(index, (int) offset, segment.getLong((int) offset));
+                offset += TrajectoryRecorder.BLOCK_HEADER + (long) count * TrajectoryRecorder.BYTES_PER_VEHICLE;
+            }
+        }
+        this.scenario = scenario;
+        if (topologyText.isEmpty()) {
+            this.topology = null;
+        } else {
+            Properties properties = new Properties();
+            properties.load(new StringReader(topologyText));
+            this.topology = HighwayTopology.fromProperties(properties);
+        }
+    }
+
+    private void add(int segment, int offset, long tick) {
+        if (blocks == blockTick.length) {
+            blockSegment = Arrays.copyOf(blockSegment, blocks * 2);
+            blockOffset = Arrays.copyOf(blockOffset, blocks * 2);
+            blockTick = Arrays.copyOf(blockTick, blocks * 2);
+        }
+        blockSegment[blocks] = segment;
+        blockOffset[blocks] = offset;
+        blockTick[blocks] = tick;
+        blocks++;
+    }
+
+    private static String text(ByteBuffer segment, int offset, int length) {
+        byte[] data = new byte[length];
+        ByteBuffer view = segment.duplicate();
+        view.position(offset);
+        view.get(data);
+        return new String(data, StandardCharsets.UTF_8);
+    }
+
+    int getBlockCount() {
+        return blocks;
+    }
+
+    long getTick(int block) {
+        return blockTick[block];
+    }
+
+    /** Vista propia del segmento del bloque; cada hilo usa la suya. */
+    ByteBuffer buffer(int block) {
+        return segments.get(blockSegment[block]).duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    int getOffset(int block) {
+        return blockOffset[block];
+    }
+
+    int getSegmentCount() {
+        return segments.size();
+    }
+
+    long getBytes() {
+        return bytes;
+    }
+
+    String getScenario() {
+        return scenario;
+    }
+
+    /** Topología del corredor grabado, o null en la intersección simple. */
+    HighwayTopology getTopology() {
+        return topology;
+    }
+}
@@ -0,0 +1,140 @@
+package com.pucmm.trafficManagementSystem.analytics;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Estadísticas de viaje de una corrida grabada con {@code -Dtraffic.trajectory}: tiempo de
+ * viaje, demora y paradas por origen, por acción y por intersección de giro, y la serie de
+ * vehículos que pasan cada semáforo.
+ *
+ * Los bloques se reparten en tramos contiguos que se procesan en paralelo sobre los
+ * segmentos mapeados; cada tramo acumula en arreglos primitivos ({@link TripChunk}) y los
+ * tramos se combinan en orden al reducir. No se crea un objeto por vehículo ni por tick.
+ *
+ * Uso:
+ * <pre>
+ * TripAnalytics &lt;directorio-de-corrida&gt; [--bucket=segundos] [--parallelism=hilos]
+ * </pre>
+ * La demora es el tiempo de viaje menos el que tomaría recorrer la misma distancia a
+ * velocidad normal. Los vehículos que siguen en la vía en el último tick grabado se cuentan
+ * aparte y no entran en las estadísticas.
+ */
+public class TripAnalytics {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final double[] PERCENTILES = {0.5, 0.95};
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length == 0) {
+            System.err.println("Uso: TripAnalytics <directorio-de-corrida> [--bucket=60] [--parallelism=N]");
+            System.exit(2);
+        }
+        Path directory = Paths.get(args[0]);
+        long bucketSeconds = 60;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].startsWith("--bucket="))
+                bucketSeconds = Long.parseLong(args[i].substring("--bucket=".length()));
+            else if (args[i].startsWith("--parallelism="))
+                parallelism = Integer.parseInt(args[i].substring("--parallelism=".length()));
+            else
+                throw new IllegalArgumentException("Opción desconocida: " + args[i]);
+        }
+
+        long start = System.nanoTime();
+        TrajectoryIndex index = new TrajectoryIndex(directory);
+        if (index.getBlockCount() == 0) {
+            System.out.println("La corrida no tiene ticks grabados.");
+            return;
+        }
+        long bucketTicks = Math.max(1, bucketSeconds * 1000 / Vehicle.TICK_MILLIS);
+        TripChunk result = analyze(index, bucketTicks, parallelism);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long ticks = index.getTick(index.getBlockCount() - 1) - index.getTick(0) + 1;
+        System.out.printf("Corrida %s (%s): %d ticks grabados de %d, %d segmentos, %.1f MB.%n", directory,
+                index.getScenario(), index.getBlockCount(), ticks, index.getSegmentCount(), index.getBytes() / 1e6);
+        System.out.printf("Analizada en %.0f ms (%.0f MB/s, %d hilos); %d vehículos seguían en la vía al final.%n",
+                seconds * 1000, index.getBytes() / 1e6 / seconds, parallelism, result.inProgress);
+
+        printGroups("Por origen", result.byOrigin, 0);
+        printGroups("Por acción", result.byAction, 0);
+        HighwayTopology topology = index.getTopology();
+        if (topology != null) {
+            printGroups("Por intersección de giro", result.byIntersection, 1);
+            printStops(result, topology);
+            printThroughput(result, topology, bucketSeconds, (int) ((ticks + bucketTicks - 1) / bucketTicks));
+        }
+    }
+
+    /** Procesa la corrida en tramos paralelos y devuelve el resultado combinado y cerrado. */
+    static TripChunk analyze(TrajectoryIndex index, long bucketTicks, int parallelism)
+            throws InterruptedException, ExecutionException {
+        int blocks = index.getBlockCount();
+        long firstTick = index.getTick(0);
+        int buckets = (int) ((index.getTick(blocks - 1) - firstTick) / bucketTicks) + 1;
+        HighwayTopology topology = index.getTopology();
+        // Varios tramos por hilo para repartir la carga aunque la densidad de vehículos varíe.
+        int chunks = Math.min(blocks, parallelism * 4);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(c -> new TripChunk(topology, firstTick, bucketTicks, buckets)
+                            .process(index, (int) ((long) blocks * c / chunks), (int) ((long) blocks * (c + 1) / chunks)))
+                    .reduce(TripChunk::merge)
+                    .orElseThrow()
+                    .finishAll()).get();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void printGroups(String title, TripStats[] groups, int first) {
+        System.out.printf("%n%s:%n", title);
+        System.out.printf("  %-12s %8s %10s %8s %8s %10s %8s%n", "", "viajes", "viaje (s)", "p50", "p95", "demora (s)",
+                "paradas");
+        double tickSeconds = Vehicle.TICK_MILLIS / 1000.0;
+        for (int i = first; i < groups.length; i++) {
+            TripStats stats = groups[i];
+            if (stats.getTrips() == 0)
+                continue;
+            String name = first == 0 ? DIRECTIONS[i].name() : "#" + i;
+            System.out.printf("  %-12s %8d %10.1f %8d %8d %10.1f %8.2f%n", name, stats.getTrips(),
+                    stats.getMeanTravelTicks() * tickSeconds, stats.getTravelSecondsPercentile(PERCENTILES[0]),
+                    stats.getTravelSecondsPercentile(PERCENTILES[1]), stats.getMeanDelayTicks() * tickSeconds,
+                    stats.getMeanStops());
+        }
+    }
+
+    private static void printStops(TripChunk result, HighwayTopology topology) {
+        System.out.printf("%nParadas antes de cada intersección:%n");
+        double tickSeconds = Vehicle.TICK_MILLIS / 1000.0;
+        for (int i = 1; i <= topology.getIntersectionCount(); i++) {
+            long stops = result.intersectionStops[i];
+            System.out.printf("  #%-4d %8d paradas, %10.1f s detenidos (%.1f s por parada)%n", i, stops,
+                    result.intersectionStoppedTicks[i] * tickSeconds,
+                    stops == 0 ? 0 : result.intersectionStoppedTicks[i] * tickSeconds / stops);
+        }
+    }
+
+    private static void printThroughput(TripChunk result, HighwayTopology topology, long bucketSeconds, int buckets) {
+        System.out.printf("%nVehículos por semáforo cada %d s:%n", bucketSeconds);
+        int stride = result.throughput.length / (topology.getLightCount() + 1);
+        for (int light = 1; light <= topology.getLightCount(); light++) {
+            StringBuilder line = new StringBuilder(String.format("  %3d (#%d %s)", light,
+                    topology.getLightIntersection(light), topology.getLightOrigin(light)));
+            for (int b = 0; b < buckets; b++)
+                line.append(' ').append(result.throughput[light * stride + b]);
+            System.out.println(line);
+        }
+    }
+}
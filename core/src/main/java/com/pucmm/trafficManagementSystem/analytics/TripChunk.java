@@ -0,0 +1,411 @@
+package com.pucmm.trafficManagementSystem.analytics;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.simulation.PositionBuffer;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Resultado parcial de un tramo contiguo de bloques, combinable con el del tramo siguiente.
+ *
+ * Guarda, por vehículo visto en el tramo, columnas primitivas con lo necesario para unirlo
+ * con su parte del tramo anterior (primer tick, distancia, rachas detenidas en los bordes...).
+ * Al combinar A con B, los vehículos de A que no siguen en B terminaron su viaje y se vuelcan
+ * en los acumuladores de grupo; el resultado conserva los vehículos de B y los que cruzan el
+ * borde izquierdo de A, así que la memoria no crece con la duración de la corrida.
+ *
+ * Un vehículo está quieto en un tick si su posición es idéntica a la del tick anterior; una
+ * parada es una racha de al menos {@link #MIN_STOP_TICKS} ticks quieto, para no contar los
+ * ticks sueltos en que un vehículo no alcanzó a avanzar. Las rachas que tocan un borde del
+ * tramo (la inicial y la final) se completan al combinar. Para saber si el primer tick del
+ * tramo está quieto se lee antes el último bloque del tramo previo.
+ *
+ * Las observaciones, las rachas y los ticks detenidos se cuentan en ticks, no en bloques: si
+ * el grabador perdió ticks entre dos bloques, el intervalo pesa {@code tick - lastTick} y se
+ * toma entero como quieto o en marcha según la posición al final. Así la racha mínima y el
+ * tiempo detenido no dependen de cuántos ticks se alcanzaron a grabar.
+ */
+final class TripChunk {
+    /** Medio segundo simulado. */
+    static final int MIN_STOP_TICKS = (int) (500 / Vehicle.TICK_MILLIS);
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    // El tick no se conoce todavía: el vehículo solo apareció en el bloque previo.
+    private static final long UNSEEN = -1;
+
+    private final HighwayTopology topology;
+    private final long firstRunTick;
+    private final long bucketTicks;
+    private final int buckets;
+
+    // Vehículos del tramo: id -> fila.
+    private final IdIndex rows = new IdIndex();
+    private int[] ids = new int[256];
+    // El vehículo ya estaba en el bloque previo al tramo: su viaje empezó antes.
+    private boolean[] carried = new boolean[256];
+    private long[] firstTick = new long[256];
+    private long[] lastTick = new long[256];
+    // Ticks observados (desde la posición previa) y rachas quietas al principio y al final de ellos;
+    // si la inicial abarca todas las observaciones, ambas son la misma racha.
+    private int[] observed = new int[256];
+    private int[] leadStill = new int[256];
+    private int[] trailStill = new int[256];
+    private int[] leadIntersection = new int[256];
+    private int[] trailIntersection = new int[256];
+    // Paradas completas dentro de las observaciones, sin contar las de los bordes.
+    private int[] stops = new int[256];
+    private int[] stoppedTicks = new int[256];
+    private double[] distance = new double[256];
+    private double[] lastX = new double[256];
+    private double[] lastY = new double[256];
+    private int[] lastLights = new int[256];
+    private byte[] origin = new byte[256];
+    private byte[] action = new byte[256];
+    private int[] target = new int[256];
+    private int size;
+
+    // Acumuladores de grupo.
+    final TripStats[] byOrigin = stats(DIRECTIONS.length);
+    final TripStats[] byAction = stats(DIRECTIONS.length);
+    final TripStats[] byIntersection;
+    // Paradas y ticks detenidos atribuidos a la intersección del próximo semáforo.
+    final long[] intersectionStops;
+    final long[] intersectionStoppedTicks;
+    // [semáforo * buckets + casillero]: vehículos que pasaron el semáforo.
+    final long[] throughput;
+    long lastRunTick;
+    long inProgress;
+
+    TripChunk(HighwayTopology topology, long firstRunTick, long bucketTicks, int buckets) {
+        this.topology = topology;
+        this.firstRunTick = firstRunTick;
+        this.bucketTicks = bucketTicks;
+        this.buckets = buckets;
+        int intersections = topology == null ? 0 : topology.getIntersectionCount();
+        byIntersection = stats(intersections + 1);
+        intersectionStops = new long[intersections + 1];
+        intersectionStoppedTicks = new long[intersections + 1];
+        throughput = new long[(topology == null ? 1 : topology.getLightCount() + 1) * buckets];
+    }
+
+    /** Procesa los bloques {@code [from, to)}; el bloque {@code from - 1} solo aporta posiciones previas. */
+    TripChunk process(TrajectoryIndex index, int from, int to) {
+        if (from > 0)
+            read(index, from - 1, true);
+        for (int block = from; block < to; block++)
+            read(index, block, false);
+        return this;
+    }
+
+    private void read(TrajectoryIndex index, int block, boolean priming) {
+        ByteBuffer data = index.buffer(block);
+        int base = index.getOffset(block);
+        long tick = data.getLong(base);
+        int n = data.getInt(base + Long.BYTES);
+        int columns = base + Long.BYTES + Integer.BYTES;
+        int xs = columns + 4 * n;
+        int ys = xs + 8 * n;
+        int lights = ys + 8 * n + 4 * n;
+        int targets = lights + 4 * n;
+        int origins = targets + 4 * n;
+        int actions = origins + 2 * n;
+        if (!priming)
+            lastRunTick = tick;
+
+        for (int i = 0; i < n; i++) {
+            int id = data.getInt(columns + 4 * i);
+            double x = data.getDouble(xs + 8 * i);
+            double y = data.getDouble(ys + 8 * i);
+            int passed = data.getInt(lights + 4 * i);
+            int row = rows.get(id);
+            if (row < 0) {
+                row = addRow(id, data.get(origins + i), data.get(actions + i), data.getInt(targets + 4 * i));
+                carried[row] = priming;
+            } else if (!priming) {
+                observe(row, (int) (tick - lastTick[row]), x == lastX[row] && y == lastY[row], passed);
+                distance[row] += Math.hypot(x - lastX[row], y - lastY[row]);
+                for (int s = lastLights[row]; s < passed; s++)
+                    countPass(origin[row], s, tick);
+            }
+            if (!priming && firstTick[row] == UNSEEN)
+                firstTick[row] = tick;
+            lastX[row] = x;
+            lastY[row] = y;
+            lastLights[row] = passed;
+            lastTick[row] = tick;
+        }
+    }
+
+    // Suma los {@code ticks} transcurridos desde el bloque anterior del vehículo.
+    private void observe(int row, int ticks, boolean still, int lightsPassed) {
+        boolean allStill = leadStill[row] == observed[row];
+        observed[row] += ticks;
+        if (still) {
+            // Quieto no se pasan semáforos: la intersección es la misma en toda la racha.
+            int intersection = approachIntersection(origin[row], lightsPassed);
+            if (allStill) {
+                leadStill[row] += ticks;
+                leadIntersection[row] = intersection;
+            }
+            trailStill[row] += ticks;
+            trailIntersection[row] = intersection;
+        } else {
+            if (!allStill && trailStill[row] >= MIN_STOP_TICKS)
+                countStop(row, trailStill[row], trailIntersection[row], this);
+            trailStill[row] = 0;
+        }
+    }
+
+    // Suma la parada a la fila de este tramo y a los totales por intersección de {@code totals}.
+    private void countStop(int row, int still, int intersection, TripChunk totals) {
+        stops[row]++;
+        stoppedTicks[row] += still;
+        totals.intersectionStops[intersection]++;
+        totals.intersectionStoppedTicks[intersection] += still;
+    }
+
+    private int addRow(int id, byte originCode, byte actionCode, int targetIntersection) {
+        if (size == ids.length)
+            grow();
+        int row = size++;
+        rows.put(id, row);
+        ids[row] = id;
+        firstTick[row] = UNSEEN;
+        origin[row] = originCode;
+        action[row] = actionCode;
+        target[row] = targetIntersection;
+        return row;
+    }
+
+    // Intersección del próximo semáforo en la ruta del origen, o 0 si ya no quedan.
+    private int approachIntersection(byte originCode, int lightsPassed) {
+        if (topology == null || originCode == PositionBuffer.Frame.NO_DIRECTION)
+            return 0;
+        Direction from = DIRECTIONS[originCode];
+        if (lightsPassed >= topology.getSequenceLength(from))
+            return 0;
+        return topology.getLightIntersection(topology.getSequenceLight(from, lightsPassed));
+    }
+
+    private void countPass(byte originCode, int sequenceIndex, long tick) {
+        if (topology == null || originCode == PositionBuffer.Frame.NO_DIRECTION)
+            return;
+        Direction from = DIRECTIONS[originCode];
+        if (sequenceIndex >= topology.getSequenceLength(from))
+            return;
+        int light = topology.getSequenceLight(from, sequenceIndex);
+        int bucket = (int) Math.min(buckets - 1, (tick - firstRunTick) / bucketTicks);
+        throughput[light * buckets + bucket]++;
+    }
+
+    /**
+     * Combina este tramo con el siguiente y devuelve el resultado (el objeto {@code next},
+     * modificado). Asociativa: el orden de los tramos se respeta, no el de las combinaciones.
+     */
+    TripChunk merge(TripChunk next) {
+        for (int row = 0; row < size; row++) {
+            if (firstTick[row] == UNSEEN)
+                continue;
+            int later = next.rows.get(ids[row]);
+            if (later < 0 || next.firstTick[later] == UNSEEN) {
+                // Terminó en este tramo; si empezó antes, espera a combinarse con el anterior.
+                if (carried[row])
+                    next.adopt(this, row, later);
+                else
+                    finish(next, row);
+                continue;
+            }
+            join(row, next, later);
+        }
+        for (int i = 0; i < byOrigin.length; i++) {
+            next.byOrigin[i].merge(byOrigin[i]);
+            next.byAction[i].merge(byAction[i]);
+        }
+        for (int i = 0; i < byIntersection.length; i++) {
+            next.byIntersection[i].merge(byIntersection[i]);
+            next.intersectionStops[i] += intersectionStops[i];
+            next.intersectionStoppedTicks[i] += intersectionStoppedTicks[i];
+        }
+        for (int i = 0; i < throughput.length; i++)
+            next.throughput[i] += throughput[i];
+        next.inProgress += inProgress;
+        return next;
+    }
+
+    // Antepone la fila de este tramo a la misma fila del siguiente.
+    private void join(int row, TripChunk next, int later) {
+        boolean allStill = leadStill[row] == observed[row];
+        boolean laterAllStill = next.leadStill[later] == next.observed[later];
+        if (!allStill && !laterAllStill) {
+            // La racha final de este tramo y la inicial del siguiente son una sola, interior.
+            int still = trailStill[row] + next.leadStill[later];
+            if (still >= MIN_STOP_TICKS)
+                next.countStop(later, still,
+                        next.leadStill[later] > 0 ? next.leadIntersection[later] : trailIntersection[row], next);
+            next.leadStill[later] = leadStill[row];
+            next.leadIntersection[later] = leadIntersection[row];
+        } else if (allStill && !laterAllStill) {
+            if (next.leadStill[later] == 0)
+                next.leadIntersection[later] = leadIntersection[row];
+            next.leadStill[later] += observed[row];
+        } else if (!allStill) {
+            // El siguiente estuvo quieto entero: alarga la racha final de este.
+            if (next.observed[later] == 0)
+                next.trailIntersection[later] = trailIntersection[row];
+            next.trailStill[later] += trailStill[row];
+            next.leadStill[later] = leadStill[row];
+            next.leadIntersection[later] = leadIntersection[row];
+        } else {
+            int still = observed[row] + next.observed[later];
+            if (next.observed[later] == 0) {
+                next.leadIntersection[later] = leadIntersection[row];
+                next.trailIntersection[later] = leadIntersection[row];
+            }
+            next.leadStill[later] = still;
+            next.trailStill[later] = still;
+        }
+        next.observed[later] += observed[row];
+        next.carried[later] = carried[row];
+        next.firstTick[later] = firstTick[row];
+        next.stops[later] += stops[row];
+        next.stoppedTicks[later] += stoppedTicks[row];
+        next.distance[later] += distance[row];
+    }
+
+    // Copia la fila de otro tramo en la fila dada, o en una nueva si es -1.
+    private void adopt(TripChunk from, int source, int row) {
+        if (row < 0)
+            row = addRow(from.ids[source], from.origin[source], from.action[source], from.target[source]);
+        carried[row] = true;
+        firstTick[row] = from.firstTick[source];
+        lastTick[row] = from.lastTick[source];
+        observed[row] = from.observed[source];
+        leadStill[row] = from.leadStill[source];
+        trailStill[row] = from.trailStill[source];
+        leadIntersection[row] = from.leadIntersection[source];
+        trailIntersection[row] = from.trailIntersection[source];
+        stops[row] = from.stops[source];
+        stoppedTicks[row] = from.stoppedTicks[source];
+        distance[row] = from.distance[source];
+    }
+
+    /**
+     * Cierra el último tramo. Los vehículos que siguen en el último tick grabado quedan en
+     * curso: sus paradas cuentan por intersección pero no entran en las estadísticas de viaje.
+     */
+    TripChunk finishAll() {
+        for (int row = 0; row < size; row++) {
+            if (firstTick[row] == UNSEEN)
+                continue;
+            if (lastTick[row] == lastRunTick) {
+                inProgress++;
+                countEdgeStops(this, row);
+            } else {
+                finish(this, row);
+            }
+        }
+        size = 0;
+        return this;
+    }
+
+    // Las rachas de los bordes ya no se extienden; la inicial es la espera al entrar a la vía.
+    private void countEdgeStops(TripChunk into, int row) {
+        if (leadStill[row] >= MIN_STOP_TICKS)
+            countStop(row, leadStill[row], leadIntersection[row], into);
+        if (leadStill[row] != observed[row] && trailStill[row] >= MIN_STOP_TICKS)
+            countStop(row, trailStill[row], trailIntersection[row], into);
+    }
+
+    // Vuelca el viaje completo de la fila en los acumuladores de destino.
+    private void finish(TripChunk into, int row) {
+        countEdgeStops(into, row);
+        long travel = lastTick[row] - firstTick[row] + 1;
+        double delay = Math.max(0, travel - distance[row] / Vehicle.NORMAL_SPEED);
+        long tickMillis = Vehicle.TICK_MILLIS;
+        if (origin[row] != PositionBuffer.Frame.NO_DIRECTION)
+            into.byOrigin[origin[row]].add(travel, delay, stops[row], stoppedTicks[row], tickMillis);
+        if (action[row] != PositionBuffer.Frame.NO_DIRECTION)
+            into.byAction[action[row]].add(travel, delay, stops[row], stoppedTicks[row], tickMillis);
+        if (target[row] > 0 && target[row] < into.byIntersection.length)
+            into.byIntersection[target[row]].add(travel, delay, stops[row], stoppedTicks[row], tickMillis);
+    }
+
+    private void grow() {
+        int capacity = size * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        carried = Arrays.copyOf(carried, capacity);
+        firstTick = Arrays.copyOf(firstTick, capacity);
+        lastTick = Arrays.copyOf(lastTick, capacity);
+        observed = Arrays.copyOf(observed, capacity);
+        leadStill = Arrays.copyOf(leadStill, capacity);
+        trailStill = Arrays.copyOf(trailStill, capacity);
+        leadIntersection = Arrays.copyOf(leadIntersection, capacity);
+        trailIntersection = Arrays.copyOf(trailIntersection, capacity);
+        stops = Arrays.copyOf(stops, capacity);
+        stoppedTicks = Arrays.copyOf(stoppedTicks, capacity);
+        distance = Arrays.copyOf(distance, capacity);
+        lastX = Arrays.copyOf(lastX, capacity);
+        lastY = Arrays.copyOf(lastY, capacity);
+        lastLights = Arrays.copyOf(lastLights, capacity);
+        origin = Arrays.copyOf(origin, capacity);
+        action = Arrays.copyOf(action, capacity);
+        target = Arrays.copyOf(target, capacity);
+    }
+
+    private static TripStats[] stats(int count) {
+        TripStats[] stats = new TripStats[count];
+        for (int i = 0; i < count; i++)
+            stats[i] = new TripStats();
+        return stats;
+    }
+
+    /** Tabla id -> fila con direccionamiento abierto; los ids de vehículo son positivos. */
+    private static final class IdIndex {
+        private int[] keys = new int[512];
+        private int[] values = new int[512];
+        private int count;
+
+        int get(int id) {
+            int mask = keys.length - 1;
+            for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+                if (keys[i] == id)
+                    return values[i];
+                if (keys[i] == 0)
+                    return -1;
+            }
+        }
+
+        void put(int id, int value) {
+            if ((count + 1) * 2 > keys.length)
+                rehash(keys.length * 2);
+            int mask = keys.length - 1;
+            int i = mix(id) & mask;
+            while (keys[i] != 0 && keys[i] != id)
+                i = (i + 1) & mask;
+            if (keys[i] == 0)
+                count++;
+            keys[i] = id;
+            values[i] = value;
+        }
+
+        private void rehash(int capacity) {
+            int[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new int[capacity];
+            values = new int[capacity];
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0)
+                    put(oldKeys[i], oldValues[i]);
+            }
+        }
+
+        private static int mix(int id) {
+            int h = id * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
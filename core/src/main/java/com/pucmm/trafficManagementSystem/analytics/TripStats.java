@@ -0,0 +1,82 @@
+package com.pucmm.trafficManagementSystem.analytics;
+
+/**
+ * Acumulador combinable de los viajes de un grupo (un origen, una acción o una intersección):
+ * solo contadores primitivos y un histograma del tiempo de viaje por segundos.
+ */
+final class TripStats {
+    // Viajes de más de una hora caen en el último casillero.
+    private static final int HISTOGRAM_SECONDS = 3600;
+
+    private long trips;
+    private long travelTicks;
+    private long maxTravelTicks;
+    private double delayTicks;
+    private long stops;
+    private long maxStops;
+    private long stoppedTicks;
+    private final long[] travelSeconds = new long[HISTOGRAM_SECONDS + 1];
+
+    void add(long travel, double delay, int tripStops, int stopped, long tickMillis) {
+        trips++;
+        travelTicks += travel;
+        maxTravelTicks = Math.max(maxTravelTicks, travel);
+        delayTicks += delay;
+        stops += tripStops;
+        maxStops = Math.max(maxStops, tripStops);
+        stoppedTicks += stopped;
+        travelSeconds[(int) Math.min(HISTOGRAM_SECONDS, travel * tickMillis / 1000)]++;
+    }
+
+    void merge(TripStats other) {
+        trips += other.trips;
+        travelTicks += other.travelTicks;
+        maxTravelTicks = Math.max(maxTravelTicks, other.maxTravelTicks);
+        delayTicks += other.delayTicks;
+        stops += other.stops;
+        maxStops = Math.max(maxStops, other.maxStops);
+        stoppedTicks += other.stoppedTicks;
+        for (int i = 0; i < travelSeconds.length; i++)
+            travelSeconds[i] += other.travelSeconds[i];
+    }
+
+    long getTrips() {
+        return trips;
+    }
+
+    double getMeanTravelTicks() {
+        return trips == 0 ? 0 : (double) travelTicks / trips;
+    }
+
+    long getMaxTravelTicks() {
+        return maxTravelTicks;
+    }
+
+    double getMeanDelayTicks() {
+        return trips == 0 ? 0 : delayTicks / trips;
+    }
+
+    double getMeanStops() {
+        return trips == 0 ? 0 : (double) stops / trips;
+    }
+
+    long getMaxStops() {
+        return maxStops;
+    }
+
+    double getMeanStoppedTicks() {
+        return trips == 0 ? 0 : (double) stoppedTicks / trips;
+    }
+
+    /** Segundo entero por debajo del cual queda la fracción {@code p} de los viajes. */
+    long getTravelSecondsPercentile(double p) {
+        long rank = (long) Math.ceil(p * trips);
+        long seen = 0;
+        for (int i = 0; i < travelSeconds.length; i++) {
+            seen += travelSeconds[i];
+            if (seen >= rank && seen > 0)
+                return i + 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,178 @@
+package com.pucmm.trafficManagementSystem.demand;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Ejecuta un {@link DemandProfile} como oyente de tick: en cada tick avanza su reloj simulado
+ * {@link Vehicle#TICK_MILLIS} y crea las llegadas que vencieron, sin hilos propios ni esperas.
+ * Como sigue el tiempo simulado, también funciona en el modo determinista.
+ *
+ * Cada origen lleva la intensidad acumulada que falta para su próxima llegada. En cada tick
+ * se le resta tasa por duración del tick y, al agotarse, llega un vehículo y se sortea la
+ * siguiente: exponencial de media 1 en el modo Poisson (así la tasa puede variar en el
+ * tiempo sin rechazar muestras) o exactamente 1 en el modo uniforme.
+ */
+public final class DemandGenerator implements Runnable {
+    private static final double TICK_SECONDS = Vehicle.TICK_MILLIS / 1000.0;
+
+    /** Crea el vehículo en la simulación; devuelve false si no tiene ruta. */
+    @FunctionalInterface
+    public interface Spawner {
+        boolean spawn(VehicleType type, Direction origin, Direction action, int intersectionId);
+    }
+
+    private final DemandProfile profile;
+    private final Random random;
+    private final Spawner spawner;
+    private final Direction[] origins;
+    private final RateSchedule[] rates;
+    private final double[][] actionCumulative;
+    // Por origen: ids de las intersecciones de giro y pesos acumulados; vacíos si no hay giros.
+    private final int[][] targets;
+    private final double[][] targetCumulative;
+    private final double[] remaining;
+    private final boolean targeted;
+
+    // Solo los escribe el hilo de ticks.
+    private volatile long ticks;
+    private volatile boolean finished;
+    private volatile long generated;
+    private volatile long rejected;
+    private volatile long emergencies;
+
+    /**
+     * @param turnIntersections intersecciones donde puede girar cada origen de la autopista,
+     *                          o null en la intersección simple, donde no hay destino.
+     */
+    public DemandGenerator(DemandProfile profile, Random random, List<Direction> origins,
+            Function<Direction, List<Integer>> turnIntersections, Spawner spawner) {
+        this.profile = profile;
+        this.random = random;
+        this.spawner = spawner;
+        this.origins = origins.toArray(new Direction[0]);
+        this.targeted = turnIntersections != null;
+        int count = this.origins.length;
+        rates = new RateSchedule[count];
+        actionCumulative = new double[count][];
+        targets = new int[count][];
+        targetCumulative = new double[count][];
+        remaining = new double[count];
+        for (int o = 0; o < count; o++) {
+            Direction origin = this.origins[o];
+            rates[o] = profile.getRate(origin);
+            actionCumulative[o] = cumulative(profile.getActionWeights(origin));
+            List<Integer> turns = targeted ? turnIntersections.apply(origin) : List.of();
+            double[] weights = profile.getTargetWeights(origin);
+            targets[o] = turns.stream()
+                    .mapToInt(Integer::intValue)
+                    .filter(id -> weights == null || (id < weights.length && weights[id] > 0))
+                    .toArray();
+            double[] targetWeights = new double[targets[o].length];
+            for (int i = 0; i < targetWeights.length; i++)
+                targetWeights[i] = weights == null ? 1 : weights[targets[o][i]];
+            targetCumulative[o] = cumulative(targetWeights);
+            remaining[o] = nextGap();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (finished)
+            return;
+        double now = ticks * TICK_SECONDS;
+        ticks++;
+        double duration = profile.getDurationSeconds();
+        if (duration > 0 && now >= duration) {
+            finished = true;
+            return;
+        }
+        for (int o = 0; o < origins.length; o++) {
+            if (rates[o] == null)
+                continue;
+            remaining[o] -= rates[o].perSecond(now) * TICK_SECONDS;
+            while (remaining[o] <= 0) {
+                arrive(o);
+                remaining[o] += nextGap();
+            }
+        }
+    }
+
+    private void arrive(int o) {
+        Direction action = DemandProfile.ACTIONS[pick(actionCumulative[o])];
+        int intersectionId = 0;
+        if (targeted && action != Direction.STRAIGHT) {
+            // Sin intersecciones de giro para este origen, todos siguen derecho.
+            if (targets[o].length == 0)
+                action = Direction.STRAIGHT;
+            else
+                intersectionId = targets[o][pick(targetCumulative[o])];
+        }
+        boolean emergency = profile.getEmergencyShare() > 0 && random.nextDouble() < profile.getEmergencyShare();
+        VehicleType type = emergency ? VehicleType.EMERGENCY : VehicleType.NORMAL;
+        generated++;
+        if (!spawner.spawn(type, origins[o], action, intersectionId))
+            rejected++;
+        else if (emergency)
+            emergencies++;
+    }
+
+    private double nextGap() {
+        if (profile.getArrivals() == DemandProfile.Arrivals.UNIFORM)
+            return 1;
+        return -Math.log(1 - random.nextDouble());
+    }
+
+    private int pick(double[] cumulative) {
+        double value = random.nextDouble() * cumulative[cumulative.length - 1];
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (value < cumulative[i])
+                return i;
+        }
+        return cumulative.length - 1;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double sum = 0;
+        for (int i = 0; i < weights.length; i++) {
+            sum += weights[i];
+            cumulative[i] = sum;
+        }
+        return cumulative;
+    }
+
+    /** Deja de generar llegadas; los vehículos ya creados siguen su curso. */
+    public void stop() {
+        finished = true;
+    }
+
+    /** True cuando se cumplió la duración del perfil o se llamó a {@link #stop()}. */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /** Segundos simulados desde que empezó la demanda. */
+    public double getElapsedSeconds() {
+        return ticks * TICK_SECONDS;
+    }
+
+    /** Llegadas sorteadas, incluidas las rechazadas. */
+    public long getGenerated() {
+        return generated;
+    }
+
+    /** Llegadas que la simulación no pudo crear por falta de ruta. */
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getEmergencies() {
+        return emergencies;
+    }
+}
@@ -0,0 +1,220 @@
+package com.pucmm.trafficManagementSystem.demand;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Demanda de tráfico cargada desde un archivo de propiedades: tasa de llegadas por origen
+ * (fija o variable en el tiempo), reparto de acciones, reparto de intersecciones de giro y
+ * proporción de emergencias. La ejecuta un {@link DemandGenerator}.
+ *
+ * Formato:
+ * <pre>
+ * arrivals=POISSON            POISSON (llegadas aleatorias) o UNIFORM (intervalos iguales)
+ * duration.seconds=600        segundos simulados de demanda; 0 = sin fin
+ * rate=120                    vehículos por minuto de cada origen sin tasa propia
+ * rate.WEST=0:60,300:1200,600:60   tasa variable, pares segundo:tasa; lineal entre puntos
+ * actions=STRAIGHT:4,LEFT:2,RIGHT:2,U_TURN:1   pesos de las acciones (por defecto iguales)
+ * actions.EAST=STRAIGHT:1     pesos propios de un origen
+ * targets.WEST=1:1,2:3        pesos de las intersecciones de giro (por defecto iguales)
+ * emergency.share=0.001       fracción de vehículos de emergencia
+ * </pre>
+ * Un origen sin {@code rate.<ORIGEN>} ni {@code rate} no genera llegadas.
+ */
+public final class DemandProfile {
+    static final Direction[] ACTIONS = { Direction.STRAIGHT, Direction.LEFT, Direction.RIGHT, Direction.U_TURN };
+
+    /** Cómo se distribuyen las llegadas de un origen en el tiempo. */
+    public enum Arrivals {
+        POISSON,
+        UNIFORM
+    }
+
+    private final Arrivals arrivals;
+    private final double durationSeconds;
+    private final double emergencyShare;
+    private final RateSchedule defaultRate;
+    private final Map<Direction, RateSchedule> rates;
+    private final double[] defaultActionWeights;
+    private final Map<Direction, double[]> actionWeights;
+    // [intersección]: peso; null = todas las de giro por igual.
+    private final Map<Direction, double[]> targetWeights;
+
+    private DemandProfile(Arrivals arrivals, double durationSeconds, double emergencyShare, RateSchedule defaultRate,
+            Map<Direction, RateSchedule> rates, double[] defaultActionWeights, Map<Direction, double[]> actionWeights,
+            Map<Direction, double[]> targetWeights) {
+        this.arrivals = arrivals;
+        this.durationSeconds = durationSeconds;
+        this.emergencyShare = emergencyShare;
+        this.defaultRate = defaultRate;
+        this.rates = rates;
+        this.defaultActionWeights = defaultActionWeights;
+        this.actionWeights = actionWeights;
+        this.targetWeights = targetWeights;
+    }
+
+    /** Perfil de {@code -Dtraffic.demand}, o null si no se indica (se usan los lotes de siempre). */
+    public static DemandProfile fromSystemProperty() {
+        String file = System.getProperty("traffic.demand");
+        return file == null || file.isBlank() ? null : load(Paths.get(file));
+    }
+
+    public static DemandProfile load(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return fromProperties(properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el perfil de demanda " + file, e);
+        }
+    }
+
+    public static DemandProfile fromProperties(Properties properties) {
+        Arrivals arrivals = Arrivals.valueOf(properties.getProperty("arrivals", "POISSON").trim().toUpperCase());
+        double duration = Double.parseDouble(properties.getProperty("duration.seconds", "0").trim());
+        double emergencyShare = Double.parseDouble(properties.getProperty("emergency.share", "0").trim());
+        if (duration < 0)
+            throw new IllegalArgumentException("duration.seconds no puede ser negativo");
+        if (emergencyShare < 0 || emergencyShare > 1)
+            throw new IllegalArgumentException("emergency.share debe estar entre 0 y 1");
+
+        String rate = properties.getProperty("rate");
+        RateSchedule defaultRate = rate == null ? null : RateSchedule.parse("rate", rate);
+        String actions = properties.getProperty("actions");
+        double[] defaultActions = actions == null ? uniformActions() : actionWeights("actions", actions);
+
+        Map<Direction, RateSchedule> rates = new EnumMap<>(Direction.class);
+        Map<Direction, double[]> actionWeights = new EnumMap<>(Direction.class);
+        Map<Direction, double[]> targetWeights = new EnumMap<>(Direction.class);
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            if (key.startsWith("rate."))
+                rates.put(origin(key, "rate."), RateSchedule.parse(key, value));
+            else if (key.startsWith("actions."))
+                actionWeights.put(origin(key, "actions."), actionWeights(key, value));
+            else if (key.startsWith("targets."))
+                targetWeights.put(origin(key, "targets."), targetWeights(key, value));
+        }
+        return new DemandProfile(arrivals, duration, emergencyShare, defaultRate, rates, defaultActions, actionWeights,
+                targetWeights);
+    }
+
+    /** El mismo perfil con otra duración en segundos simulados (0 = sin fin). */
+    public DemandProfile withDuration(double durationSeconds) {
+        if (durationSeconds < 0)
+            throw new IllegalArgumentException("La duración no puede ser negativa");
+        return new DemandProfile(arrivals, durationSeconds, emergencyShare, defaultRate, rates, defaultActionWeights,
+                actionWeights, targetWeights);
+    }
+
+    /** El mismo perfil con otra proporción de emergencias. */
+    public DemandProfile withEmergencyShare(double emergencyShare) {
+        if (emergencyShare < 0 || emergencyShare > 1)
+            throw new IllegalArgumentException("La proporción de emergencias debe estar entre 0 y 1");
+        return new DemandProfile(arrivals, durationSeconds, emergencyShare, defaultRate, rates, defaultActionWeights,
+                actionWeights, targetWeights);
+    }
+
+    public Arrivals getArrivals() {
+        return arrivals;
+    }
+
+    /** Segundos simulados de demanda, o 0 si no termina. */
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public double getEmergencyShare() {
+        return emergencyShare;
+    }
+
+    /** Tasa del origen, o null si no genera llegadas. */
+    RateSchedule getRate(Direction origin) {
+        RateSchedule schedule = rates.get(origin);
+        return schedule != null ? schedule : defaultRate;
+    }
+
+    /** Pesos de {@link #ACTIONS} para el origen. */
+    double[] getActionWeights(Direction origin) {
+        double[] weights = actionWeights.get(origin);
+        return weights != null ? weights : defaultActionWeights;
+    }
+
+    /** Pesos por id de intersección, o null para repartir por igual entre las de giro. */
+    double[] getTargetWeights(Direction origin) {
+        return targetWeights.get(origin);
+    }
+
+    private static Direction origin(String key, String prefix) {
+        Direction origin = Direction.valueOf(key.substring(prefix.length()).trim().toUpperCase());
+        if (origin.ordinal() > Direction.WEST.ordinal())
+            throw new IllegalArgumentException("Origen inválido en " + key + ": " + origin);
+        return origin;
+    }
+
+    private static double[] uniformActions() {
+        double[] weights = new double[ACTIONS.length];
+        Arrays.fill(weights, 1);
+        return weights;
+    }
+
+    private static double[] actionWeights(String key, String value) {
+        double[] weights = new double[ACTIONS.length];
+        for (String pair : pairs(key, value)) {
+            String[] parts = pair.split(":");
+            Direction action = Direction.valueOf(parts[0].trim().toUpperCase());
+            int index = Arrays.asList(ACTIONS).indexOf(action);
+            if (index < 0)
+                throw new IllegalArgumentException("Acción inválida en " + key + ": " + action);
+            weights[index] = weight(key, parts[1]);
+        }
+        return checked(key, weights);
+    }
+
+    private static double[] targetWeights(String key, String value) {
+        double[] weights = new double[0];
+        for (String pair : pairs(key, value)) {
+            String[] parts = pair.split(":");
+            int intersection = Integer.parseInt(parts[0].trim());
+            if (intersection < 1)
+                throw new IllegalArgumentException("Intersección inválida en " + key + ": " + intersection);
+            if (intersection >= weights.length)
+                weights = Arrays.copyOf(weights, intersection + 1);
+            weights[intersection] = weight(key, parts[1]);
+        }
+        return checked(key, weights);
+    }
+
+    static String[] pairs(String key, String value) {
+        String[] pairs = value.split(",");
+        for (String pair : pairs) {
+            if (pair.split(":").length != 2)
+                throw new IllegalArgumentException("Se esperaba clave:valor en " + key + ": " + pair.trim());
+        }
+        return pairs;
+    }
+
+    private static double weight(String key, String value) {
+        double weight = Double.parseDouble(value.trim());
+        if (weight < 0)
+            throw new IllegalArgumentException("Peso negativo en " + key);
+        return weight;
+    }
+
+    private static double[] checked(String key, double[] weights) {
+        if (Arrays.stream(weights).sum() <= 0)
+            throw new IllegalArgumentException("Todos los pesos de " + key + " son cero");
+        return weights;
+    }
+}
@@ -0,0 +1,58 @@
+package com.pucmm.trafficManagementSystem.demand;
+
+import java.util.Arrays;
+
+/**
+ * Tasa de llegadas en vehículos por minuto a lo largo del tiempo simulado: lineal entre los
+ * puntos dados y constante antes del primero y después del último.
+ */
+final class RateSchedule {
+    private final double[] seconds;
+    private final double[] perMinute;
+
+    private RateSchedule(double[] seconds, double[] perMinute) {
+        this.seconds = seconds;
+        this.perMinute = perMinute;
+    }
+
+    /** {@code 120} para una tasa fija, o {@code segundo:tasa,segundo:tasa...} en orden. */
+    static RateSchedule parse(String key, String value) {
+        if (!value.contains(":")) {
+            double rate = rate(key, value);
+            return new RateSchedule(new double[] { 0 }, new double[] { rate });
+        }
+        String[] pairs = DemandProfile.pairs(key, value);
+        double[] seconds = new double[pairs.length];
+        double[] perMinute = new double[pairs.length];
+        for (int i = 0; i < pairs.length; i++) {
+            String[] parts = pairs[i].split(":");
+            seconds[i] = Double.parseDouble(parts[0].trim());
+            perMinute[i] = rate(key, parts[1]);
+            if (i > 0 && seconds[i] <= seconds[i - 1])
+                throw new IllegalArgumentException("Los puntos de " + key + " deben ir en orden creciente");
+        }
+        return new RateSchedule(seconds, perMinute);
+    }
+
+    private static double rate(String key, String value) {
+        double rate = Double.parseDouble(value.trim());
+        if (rate < 0)
+            throw new IllegalArgumentException("Tasa negativa en " + key);
+        return rate;
+    }
+
+    /** Vehículos por segundo en el instante {@code t}. */
+    double perSecond(double t) {
+        int last = seconds.length - 1;
+        if (t <= seconds[0])
+            return perMinute[0] / 60;
+        if (t >= seconds[last])
+            return perMinute[last] / 60;
+        int i = Arrays.binarySearch(seconds, t);
+        if (i >= 0)
+            return perMinute[i] / 60;
+        int next = -i - 1;
+        double fraction = (t - seconds[next - 1]) / (seconds[next] - seconds[next - 1]);
+        return (perMinute[next - 1] + fraction * (perMinute[next] - perMinute[next - 1])) / 60;
+    }
+}
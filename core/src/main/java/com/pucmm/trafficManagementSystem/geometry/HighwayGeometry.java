@@ -0,0 +1,259 @@
+package com.pucmm.trafficManagementSystem.geometry;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Geometría inmutable de la autopista para una topología y un tamaño de área dados. Se
+ * calcula una vez por diseño y se publica entera al redimensionar; los vehículos la leen
+ * sin tocar el estado de la interfaz. Todas las rutas (origen, acción, carril,
+ * intersección) quedan precalculadas en una tabla indexada por {@link #routeIndex}.
+ */
+public final class HighwayGeometry {
+    private static final Direction[] ORIGINS = { Direction.EAST, Direction.WEST };
+    private static final Direction[] ACTIONS = { Direction.STRAIGHT, Direction.LEFT, Direction.RIGHT,
+            Direction.U_TURN, Direction.U_TURN_CONTINUATION };
+    private static final Direction[] LANES = { Direction.LANE_1, Direction.LANE_2, Direction.LANE_3 };
+
+    private final HighwayTopology topology;
+    private final int intersections;
+    private final double width;
+    private final double height;
+    private final double laneHeight;
+    private final double intersectionWidth;
+    private final double highwayY;
+    // Indexado por id de intersección; los ids crecen de oeste a este, así que está ordenado.
+    private final double[] centerX;
+    // [lightId][carril], con el origen propio de cada semáforo.
+    private final Point[][] stopLines;
+    private final List<List<Point>> routes;
+
+    public HighwayGeometry(HighwayTopology topology, double width, double height) {
+        this.topology = topology;
+        this.intersections = topology.getIntersectionCount();
+        this.width = width;
+        this.height = height;
+        this.laneHeight = topology.getLaneHeight();
+        this.intersectionWidth = topology.getIntersectionWidth();
+        this.highwayY = (height - (laneHeight * 6)) / 2;
+
+        centerX = new double[intersections + 1];
+        for (int id = 1; id <= intersections; id++) {
+            centerX[id] = topology.getIntersectionCenterX(id, width);
+        }
+
+        stopLines = new Point[topology.getLightCount() + 1][LANES.length];
+        for (int lightId = 1; lightId <= topology.getLightCount(); lightId++) {
+            Direction origin = topology.getLightOrigin(lightId);
+            for (Direction lane : LANES) {
+                stopLines[lightId][laneIndex(lane)] = new Point(
+                        stopLineX(topology.getLightIntersection(lightId), origin), getLaneY(origin, lane));
+            }
+        }
+
+        List<Point>[] table = newRouteTable(ORIGINS.length * ACTIONS.length * LANES.length * (intersections + 1));
+        if (!isEmpty()) {
+            for (Direction origin : ORIGINS) {
+                for (Direction action : ACTIONS) {
+                    for (Direction lane : LANES) {
+                        for (int id = 0; id <= intersections; id++) {
+                            table[routeIndex(origin, action, lane, id)] = computePath(origin, action, lane, id);
+                        }
+                    }
+                }
+            }
+        }
+        this.routes = Collections.unmodifiableList(Arrays.asList(table));
+    }
+
+    /**
+     * Índice de la ruta en la tabla, o -1 si la combinación no existe. Las rutas rectas no
+     * dependen de la intersección; los giros sin intersección destino no tienen ruta.
+     */
+    public int routeIndex(Direction origin, Direction action, Direction lane, int intersectionId) {
+        int o = originIndex(origin);
+        int a = actionIndex(action);
+        int l = laneIndex(lane);
+        if (o < 0 || a < 0 || l < 0 || intersectionId < 0 || intersectionId > intersections)
+            return -1;
+        return ((o * ACTIONS.length + a) * LANES.length + l) * (intersections + 1) + intersectionId;
+    }
+
+    /** Ruta precalculada; lista vacía si el índice no es válido o el área no tiene tamaño. */
+    public List<Point> getPath(int routeIndex) {
+        return routeIndex < 0 ? List.of() : routes.get(routeIndex);
+    }
+
+    public List<Point> getPath(Direction origin, Direction action, Direction lane, int intersectionId) {
+        return getPath(routeIndex(origin, action, lane, intersectionId));
+    }
+
+    /** Línea de detención del semáforo en el carril dado. */
+    public Point getStopLine(int lightId, Direction lane) {
+        return stopLines[lightId][laneIndex(lane)];
+    }
+
+    public double getIntersectionCenterX(int id) {
+        return id >= 1 && id <= intersections ? centerX[id] : 0;
+    }
+
+    /** Intersección cuya calle contiene a {@code x}, o -1. Búsqueda binaria sobre los centros. */
+    public int intersectionAt(double x) {
+        int low = 1;
+        int high = intersections;
+        double half = intersectionWidth / 2;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (x <= centerX[mid] - half)
+                high = mid - 1;
+            else if (x >= centerX[mid] + half)
+                low = mid + 1;
+            else
+                return mid;
+        }
+        return -1;
+    }
+
+    /** Cantidad de semáforos de la ruta del origen que ya quedaron atrás en la posición {@code x}. */
+    public int lightsPassed(Direction origin, double x) {
+        // La secuencia de cada sentido está ordenada por avance; se busca el primer semáforo por delante.
+        int low = 0;
+        int high = topology.getSequenceLength(origin);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            double center = centerX[topology.getLightIntersection(topology.getSequenceLight(origin, mid))];
+            boolean passed = origin == Direction.WEST ? x >= center : x <= center;
+            if (passed)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    public HighwayTopology getTopology() {
+        return topology;
+    }
+
+    public double getLaneY(Direction origin, Direction lane) {
+        double laneOffset = 0.5;
+        if (lane == Direction.LANE_2)
+            laneOffset = 1.5;
+        if (lane == Direction.LANE_3)
+            laneOffset = 2.5;
+        return origin == Direction.EAST ? highwayY + (3 - laneOffset) * laneHeight
+                : highwayY + (3 * laneHeight) + (laneOffset * laneHeight);
+    }
+
+    public boolean isEmpty() {
+        return width == 0 || height == 0;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    public double getHighwayY() {
+        return highwayY;
+    }
+
+    public double getLaneHeight() {
+        return laneHeight;
+    }
+
+    public double getIntersectionWidth() {
+        return intersectionWidth;
+    }
+
+    // Se detiene antes de la calle que cruza: a 50 px del borde por el que entra.
+    private double stopLineX(int intersectionId, Direction origin) {
+        double xPos = intersectionId < 1 ? 0
+                : centerX[intersectionId] + (origin == Direction.WEST ? -intersectionWidth / 2 : intersectionWidth / 2);
+        return xPos - (origin == Direction.WEST ? 50 : -50);
+    }
+
+    private List<Point> computePath(Direction origin, Direction action, Direction lane, int intersectionId) {
+        double startY = getLaneY(origin, lane);
+
+        // La continuación de un giro en U arranca donde terminó el giro; su punto inicial no
+        // se usa, así que comparte la ruta recta del mismo carril.
+        if (action == Direction.STRAIGHT || action == Direction.U_TURN_CONTINUATION) {
+            Point start = new Point(origin == Direction.WEST ? -50 : width + 50, startY);
+            Point end = new Point(origin == Direction.WEST ? width + 50 : -50, startY);
+            return List.of(start, end);
+        }
+
+        if (intersectionId == 0)
+            return List.of();
+
+        double intersectionCenterX = centerX[intersectionId];
+        // Sin semáforo en la intersección destino, la línea queda junto al borde de entrada.
+        int lightId = topology.getLightAt(intersectionId, origin);
+        double stopX = stopLineX(lightId < 0 ? 0 : intersectionId, origin);
+        List<Point> path = new ArrayList<>();
+
+        if (origin == Direction.WEST) {
+            path.add(new Point(-50, startY));
+            path.add(new Point(stopX, startY));
+            path.add(new Point(intersectionCenterX, startY));
+
+            switch (action) {
+                case RIGHT: path.add(new Point(intersectionCenterX, height + 50)); break;
+                case LEFT: path.add(new Point(intersectionCenterX, -50)); break;
+                case U_TURN:
+                    path.add(new Point(intersectionCenterX, getLaneY(Direction.EAST, Direction.LANE_2)));
+                    path.add(new Point(intersectionCenterX - 30, getLaneY(Direction.EAST, Direction.LANE_2))); // Punto final del giro
+                    break;
+                default: break;
+            }
+        } else {
+            path.add(new Point(width + 50, startY));
+            path.add(new Point(stopX, startY));
+            path.add(new Point(intersectionCenterX, startY));
+
+            switch (action) {
+                case RIGHT: path.add(new Point(intersectionCenterX, -50)); break;
+                case LEFT: path.add(new Point(intersectionCenterX, height + 50)); break;
+                case U_TURN:
+                    path.add(new Point(intersectionCenterX, getLaneY(Direction.WEST, Direction.LANE_2)));
+                    path.add(new Point(intersectionCenterX + 30, getLaneY(Direction.WEST, Direction.LANE_2))); // Punto final del giro
+                    break;
+                default: break;
+            }
+        }
+        return Collections.unmodifiableList(path);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Point>[] newRouteTable(int routes) {
+        List<Point>[] table = new List[routes];
+        Arrays.fill(table, List.of());
+        return table;
+    }
+
+    private static int originIndex(Direction origin) {
+        return origin == Direction.EAST ? 0 : origin == Direction.WEST ? 1 : -1;
+    }
+
+    private static int actionIndex(Direction action) {
+        for (int i = 0; i < ACTIONS.length; i++) {
+            if (ACTIONS[i] == action)
+                return i;
+        }
+        return -1;
+    }
+
+    private static int laneIndex(Direction lane) {
+        int index = lane.ordinal() - Direction.LANE_1.ordinal();
+        return index >= 0 && index < LANES.length ? index : -1;
+    }
+}
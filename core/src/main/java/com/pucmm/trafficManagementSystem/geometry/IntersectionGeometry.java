@@ -0,0 +1,180 @@
+package com.pucmm.trafficManagementSystem.geometry;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Geometría inmutable de la intersección simple para un tamaño de área dado. Las rutas de
+ * cada (origen, destino) se calculan una vez al crearla; la simulación publica una nueva
+ * al redimensionar y los vehículos solo consultan la tabla.
+ */
+public final class IntersectionGeometry {
+    private static final Direction[] ORIGINS = { Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST };
+    private static final Direction[] DESTINATIONS = { Direction.STRAIGHT, Direction.LEFT, Direction.RIGHT,
+            Direction.U_TURN };
+    // Ruta de una combinación sin sentido; se conserva el punto en el origen que devolvía antes.
+    private static final List<Point> NO_ROUTE = List.of(new Point(0, 0));
+
+    private final double width;
+    private final double height;
+    private final List<List<Point>> routes;
+
+    public IntersectionGeometry(double width, double height) {
+        this.width = width;
+        this.height = height;
+
+        @SuppressWarnings("unchecked")
+        List<Point>[] table = new List[ORIGINS.length * DESTINATIONS.length];
+        for (int o = 0; o < ORIGINS.length; o++) {
+            for (int d = 0; d < DESTINATIONS.length; d++) {
+                table[o * DESTINATIONS.length + d] = isEmpty() ? List.of() : computePath(ORIGINS[o], DESTINATIONS[d]);
+            }
+        }
+        this.routes = Collections.unmodifiableList(Arrays.asList(table));
+    }
+
+    /** Ruta precalculada; lista vacía si el área no tiene tamaño. */
+    public List<Point> getPath(Direction origin, Direction destination) {
+        if (isEmpty())
+            return List.of();
+        int o = indexOf(ORIGINS, origin);
+        int d = indexOf(DESTINATIONS, destination);
+        return o < 0 || d < 0 ? NO_ROUTE : routes.get(o * DESTINATIONS.length + d);
+    }
+
+    public boolean isEmpty() {
+        return width == 0 || height == 0;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public double getHeight() {
+        return height;
+    }
+
+    private List<Point> computePath(Direction origin, Direction destination) {
+        double streetW = Math.min(width, height) / 4.0;
+        final double STOP_GAP = 20.0;
+        // Viniendo del NORTE: carril izquierdo de la pantalla (su derecha)
+        double N_IN_X = width / 2 - streetW / 4;
+        double N_OUT_X = width / 2 + streetW / 4;
+        // Viniendo del SUR: carril derecho de la pantalla (su derecha)
+        double S_IN_X = width / 2 + streetW / 4;
+        double S_OUT_X = width / 2 - streetW / 4;
+        // Viniendo del ESTE: carril superior de la pantalla (su derecha)
+        double E_IN_Y = height / 2 - streetW / 4;
+        double E_OUT_Y = height / 2 + streetW / 4;
+        // Viniendo del OESTE: carril inferior de la pantalla (su derecha)
+        double W_IN_Y = height / 2 + streetW / 4;
+        double W_OUT_Y = height / 2 - streetW / 4;
+
+        Point stopN = new Point(N_IN_X, height / 2 - streetW / 2 - STOP_GAP);
+        Point stopS = new Point(S_IN_X, height / 2 + streetW / 2 + STOP_GAP);
+        Point stopE = new Point(width / 2 + streetW / 2 + STOP_GAP, E_IN_Y);
+        Point stopW = new Point(width / 2 - streetW / 2 - STOP_GAP, W_IN_Y);
+
+        Point exitN = new Point(N_OUT_X, -50);
+        Point exitS = new Point(S_OUT_X, height + 50);
+        Point exitE = new Point(width + 50, E_OUT_Y);
+        Point exitW = new Point(-50, W_OUT_Y);
+        if (destination == Direction.U_TURN) {
+            switch (origin) {
+                case NORTH:
+                    return List.of(new Point(N_IN_X, -50), stopN, new Point(N_OUT_X, stopN.getY() + STOP_GAP),
+                            exitN);
+                case SOUTH:
+                    return List.of(new Point(S_IN_X, height + 50), stopS,
+                            new Point(S_OUT_X, stopS.getY() - STOP_GAP), exitS);
+                case EAST:
+                    return List.of(new Point(width + 50, E_IN_Y), stopE,
+                            new Point(stopE.getX() - STOP_GAP, E_OUT_Y), exitE);
+                case WEST:
+                    return List.of(new Point(-50, W_IN_Y), stopW, new Point(stopW.getX() + STOP_GAP, W_OUT_Y),
+                            exitW);
+                default:
+                    break;
+            }
+        }
+
+        switch (origin) {
+            case NORTH:
+                Point startN = new Point(N_IN_X, -50);
+                Point enterN = new Point(N_IN_X, stopN.getY() + STOP_GAP);
+                switch (destination) {
+                    case STRAIGHT:
+                        return List.of(startN, stopN, new Point(N_IN_X, stopS.getY()), exitS);
+                    case RIGHT:
+                        return List.of(startN, stopN, enterN, new Point(stopW.getX(), W_OUT_Y), exitW);
+                    case LEFT:
+                        return List.of(startN, stopN, new Point(N_IN_X, E_OUT_Y), new Point(stopE.getX(), E_OUT_Y),
+                                exitE);
+                    default:
+                        break;
+                }
+                break;
+            case SOUTH:
+                Point startS = new Point(S_IN_X, height + 50);
+                Point enterS = new Point(S_IN_X, stopS.getY() - STOP_GAP);
+                switch (destination) {
+                    case STRAIGHT:
+                        return List.of(startS, stopS, new Point(S_IN_X, stopN.getY()), exitN);
+                    case RIGHT:
+                        return List.of(startS, stopS, enterS, new Point(stopE.getX(), E_OUT_Y), exitE);
+                    case LEFT:
+                        return List.of(startS, stopS, new Point(S_IN_X, W_OUT_Y), new Point(stopW.getX(), W_OUT_Y),
+                                exitW);
+                    default:
+                        break;
+                }
+                break;
+            case EAST:
+                Point startE = new Point(width + 50, E_IN_Y);
+                Point enterE = new Point(stopE.getX() - STOP_GAP, E_IN_Y);
+                switch (destination) {
+                    case STRAIGHT:
+                        return List.of(startE, stopE, new Point(stopW.getX(), E_IN_Y), exitW);
+                    case RIGHT:
+                        return List.of(startE, stopE, new Point(N_OUT_X, E_IN_Y), new Point(N_OUT_X, stopN.getY()),
+                                exitN);
+                    case LEFT:
+
+                        return List.of(startE, stopE, enterE, new Point(S_OUT_X, stopS.getY()), exitS);
+                    default:
+                        break;
+                }
+                break;
+            case WEST:
+                Point startW = new Point(-50, W_IN_Y);
+                Point enterW = new Point(stopW.getX() + STOP_GAP, W_IN_Y);
+                switch (destination) {
+                    case STRAIGHT:
+                        return List.of(startW, stopW, new Point(stopE.getX(), W_IN_Y), exitE);
+                    case RIGHT:
+                        return List.of(startW, stopW, new Point(S_OUT_X, W_IN_Y), new Point(S_OUT_X, stopS.getY()),
+                                exitS);
+                    case LEFT:
+
+                        return List.of(startW, stopW, enterW, new Point(N_OUT_X, stopN.getY()), exitN);
+                    default:
+                        break;
+                }
+                break;
+            default:
+                break;
+        }
+        return NO_ROUTE;
+    }
+
+    private static int indexOf(Direction[] values, Direction value) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == value)
+                return i;
+        }
+        return -1;
+    }
+}
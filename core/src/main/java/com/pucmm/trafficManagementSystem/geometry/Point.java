@@ -0,0 +1,33 @@
+package com.pucmm.trafficManagementSystem.geometry;
+
+/**
+ * Punto inmutable del plano de simulación (equivalente a Point2D sin depender de JavaFX).
+ */
+public final class Point {
+    private final double x;
+    private final double y;
+
+    public Point(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double distance(double x, double y) {
+        double dx = this.x - x;
+        double dy = this.y - y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    @Override
+    public String toString() {
+        return "Point[x=" + x + ", y=" + y + "]";
+    }
+}
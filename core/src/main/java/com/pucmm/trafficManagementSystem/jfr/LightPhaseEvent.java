@@ -0,0 +1,32 @@
+package com.pucmm.trafficManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.pucmm.traffic.LightPhase")
+@Label("Traffic Light Phase")
+@Category({ "Traffic", "Signals" })
+@Description("Un semáforo cambió de estado; la duración es lo que duró el estado anterior")
+@StackTrace(false)
+class LightPhaseEvent extends Event {
+    @Label("Light Id")
+    int lightId;
+
+    @Label("Intersection Id")
+    int intersectionId;
+
+    @Label("Origin")
+    String origin;
+
+    @Label("Green")
+    boolean green;
+
+    @Label("Previous Phase")
+    @Timespan(Timespan.NANOSECONDS)
+    long previousPhase;
+}
@@ -0,0 +1,26 @@
+package com.pucmm.trafficManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.pucmm.traffic.QueueTransition")
+@Label("Queue Transition")
+@Category({ "Traffic", "Admission" })
+@Description("addToQueue, startCrossing o leaveIntersection en un gestor de tráfico; "
+        + "el tiempo transcurrido es la espera en cola (al cruzar) o el tiempo de cruce (al salir)")
+@StackTrace(false)
+class QueueTransitionEvent extends TrafficEvent {
+    @Label("Intersection Id")
+    int intersectionId;
+
+    @Label("Transition")
+    String transition;
+
+    @Label("Elapsed")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
@@ -0,0 +1,29 @@
+package com.pucmm.trafficManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.pucmm.traffic.StopLineWait")
+@Label("Stop Line Wait")
+@Category({ "Traffic", "Admission" })
+@Description("Tiempo que un vehículo estuvo detenido en el tramo de aproximación de un semáforo de la autopista")
+@StackTrace(false)
+class StopLineWaitEvent extends TrafficEvent {
+    @Label("Intersection Id")
+    int intersectionId;
+
+    @Label("Light Id")
+    int lightId;
+
+    @Label("Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long wait;
+
+    @Label("Preempted")
+    @Description("Cruzó en rojo por una emergencia")
+    boolean preempted;
+}
@@ -0,0 +1,19 @@
+package com.pucmm.trafficManagementSystem.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/** Campos comunes de los eventos de tráfico: quién, dónde y en qué carril. */
+abstract class TrafficEvent extends Event {
+    @Label("Vehicle Id")
+    int vehicleId;
+
+    @Label("Vehicle Type")
+    String vehicleType;
+
+    @Label("Origin")
+    String origin;
+
+    @Label("Lane")
+    String lane;
+}
@@ -0,0 +1,86 @@
+package com.pucmm.trafficManagementSystem.jfr;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+
+/**
+ * Puntos de emisión de los eventos de Java Flight Recorder de la simulación. Cada método
+ * crea el evento y pregunta {@code shouldCommit()} antes de llenar campos; sin una grabación
+ * activa esa comprobación es una constante para el JIT y el evento ni siquiera se reserva.
+ *
+ * Para grabar: {@code -XX:StartFlightRecording=filename=traffic.jfr} o {@code jcmd <pid> JFR.start}.
+ */
+public final class TrafficEvents {
+    public static final String QUEUED = "addToQueue";
+    public static final String CROSSING = "startCrossing";
+    public static final String LEFT = "leaveIntersection";
+
+    private TrafficEvents() {
+    }
+
+    public static void vehicleSpawned(Vehicle vehicle) {
+        VehicleSpawnedEvent event = new VehicleSpawnedEvent();
+        if (!event.shouldCommit())
+            return;
+        fill(event, vehicle);
+        event.action = name(vehicle.getDestination());
+        event.commit();
+    }
+
+    public static void vehicleFinished(Vehicle vehicle, long lifetimeNanos, long stoppedNanos) {
+        VehicleFinishedEvent event = new VehicleFinishedEvent();
+        if (!event.shouldCommit())
+            return;
+        fill(event, vehicle);
+        event.lifetime = lifetimeNanos;
+        event.stopped = stoppedNanos;
+        event.commit();
+    }
+
+    /** {@code durationNanos}: espera en cola para {@link #CROSSING}, tiempo de cruce para {@link #LEFT}, 0 si no aplica. */
+    public static void queueTransition(String transition, int intersectionId, Vehicle vehicle, long durationNanos) {
+        QueueTransitionEvent event = new QueueTransitionEvent();
+        if (!event.shouldCommit())
+            return;
+        fill(event, vehicle);
+        event.intersectionId = intersectionId;
+        event.transition = transition;
+        event.elapsed = durationNanos;
+        event.commit();
+    }
+
+    public static void stopLineWait(int intersectionId, int lightId, Vehicle vehicle, long waitNanos, boolean preempted) {
+        StopLineWaitEvent event = new StopLineWaitEvent();
+        if (!event.shouldCommit())
+            return;
+        fill(event, vehicle);
+        event.intersectionId = intersectionId;
+        event.lightId = lightId;
+        event.wait = waitNanos;
+        event.preempted = preempted;
+        event.commit();
+    }
+
+    public static void lightPhase(int lightId, int intersectionId, Direction origin, boolean green, long previousPhaseNanos) {
+        LightPhaseEvent event = new LightPhaseEvent();
+        if (!event.shouldCommit())
+            return;
+        event.lightId = lightId;
+        event.intersectionId = intersectionId;
+        event.origin = name(origin);
+        event.green = green;
+        event.previousPhase = previousPhaseNanos;
+        event.commit();
+    }
+
+    private static void fill(TrafficEvent event, Vehicle vehicle) {
+        event.vehicleId = vehicle.getId();
+        event.vehicleType = name(vehicle.getType());
+        event.origin = name(vehicle.getOrigin());
+        event.lane = name(vehicle.getLane());
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
@@ -0,0 +1,23 @@
+package com.pucmm.trafficManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.pucmm.traffic.VehicleFinished")
+@Label("Vehicle Finished")
+@Category({ "Traffic", "Vehicle" })
+@Description("Un vehículo terminó su recorrido o fue detenido")
+@StackTrace(false)
+class VehicleFinishedEvent extends TrafficEvent {
+    @Label("Lifetime")
+    @Timespan(Timespan.NANOSECONDS)
+    long lifetime;
+
+    @Label("Time Stopped")
+    @Timespan(Timespan.NANOSECONDS)
+    long stopped;
+}
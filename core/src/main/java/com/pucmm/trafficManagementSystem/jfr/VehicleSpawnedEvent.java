@@ -0,0 +1,17 @@
+package com.pucmm.trafficManagementSystem.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.pucmm.traffic.VehicleSpawned")
+@Label("Vehicle Spawned")
+@Category({ "Traffic", "Vehicle" })
+@Description("Un vehículo entró a la simulación")
+@StackTrace(false)
+class VehicleSpawnedEvent extends TrafficEvent {
+    @Label("Action")
+    String action;
+}
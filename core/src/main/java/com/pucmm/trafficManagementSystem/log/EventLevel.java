@@ -0,0 +1,9 @@
+package com.pucmm.trafficManagementSystem.log;
+
+/** Nivel de un evento; se registran los de nivel igual o superior al configurado. */
+public enum EventLevel {
+    DEBUG,
+    INFO,
+    WARN,
+    OFF
+}
@@ -0,0 +1,186 @@
+package com.pucmm.trafficManagementSystem.log;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Registro de eventos estructurado y asíncrono que reemplaza las impresiones en consola de
+ * los gestores de tráfico. Registrar un evento solo escribe tres palabras en un búfer
+ * circular sin bloqueos; un hilo de fondo vuelca los registros binarios a un archivo que
+ * {@link EventLogDecoder} convierte de nuevo en las líneas legibles de antes.
+ *
+ * Configuración:
+ * <ul>
+ * <li>{@code -Dtraffic.log.level}: DEBUG (por defecto), INFO, WARN u OFF.</li>
+ * <li>{@code -Dtraffic.log.sample}: conserva 1 de cada N eventos DEBUG/INFO; los WARN siempre se conservan.</li>
+ * <li>{@code -Dtraffic.log.file}: archivo de salida (por defecto {@code traffic-events.bin}).</li>
+ * <li>{@code -Dtraffic.log.capacity}: registros del búfer circular, potencia de dos (por defecto 65536).</li>
+ * </ul>
+ */
+public final class EventLog {
+    static final int MAGIC = 0x544C4F47; // "TLOG"
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private static final int BATCH_RECORDS = 2048;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static volatile EventLevel level = parseLevel(System.getProperty("traffic.log.level", "DEBUG"));
+    private static volatile int sampleRate = Math.max(1, Integer.getInteger("traffic.log.sample", 1));
+
+    private static final class Holder {
+        static final EventLog INSTANCE = new EventLog(
+                Paths.get(System.getProperty("traffic.log.file", "traffic-events.bin")),
+                Integer.getInteger("traffic.log.capacity", 1 << 16));
+    }
+
+    private final EventRingBuffer buffer;
+    private final Path file;
+    private final Thread writer;
+    private final ByteBuffer batch = ByteBuffer.allocateDirect(BATCH_RECORDS * EventRecord.SIZE)
+            .order(ByteOrder.BIG_ENDIAN);
+    private final EventRingBuffer.Consumer batchWriter =
+            (timestamp, header, vehicle) -> EventRecord.write(batch, timestamp, header, vehicle);
+    private FileChannel channel;
+    private volatile boolean closed;
+    private volatile long written;
+
+    private EventLog(Path file, int capacity) {
+        this.file = file;
+        this.buffer = new EventRingBuffer(capacity);
+        this.writer = new Thread(this::writeLoop, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "event-log-shutdown"));
+    }
+
+    /** Indica si un evento del nivel dado se registraría; evita preparar argumentos en vano. */
+    public static boolean isEnabled(EventLevel eventLevel) {
+        return eventLevel.compareTo(level) >= 0 && level != EventLevel.OFF;
+    }
+
+    public static void record(EventType type, int intersectionId, int vehicleId, VehicleType vehicleType,
+            Direction origin, Direction lane) {
+        EventLevel eventLevel = type.getLevel();
+        if (!isEnabled(eventLevel))
+            return;
+        int rate = sampleRate;
+        if (rate > 1 && eventLevel != EventLevel.WARN && ThreadLocalRandom.current().nextInt(rate) != 0)
+            return;
+        Holder.INSTANCE.buffer.offer(System.nanoTime(), EventRecord.packHeader(type, intersectionId, vehicleId),
+                EventRecord.packVehicle(vehicleType, origin, lane));
+    }
+
+    public static void setLevel(EventLevel newLevel) {
+        level = newLevel;
+    }
+
+    public static EventLevel getLevel() {
+        return level;
+    }
+
+    public static void setSampleRate(int rate) {
+        sampleRate = Math.max(1, rate);
+    }
+
+    /** Archivo de salida; inicia el registro si aún no lo estaba. */
+    public static Path getFile() {
+        return Holder.INSTANCE.file;
+    }
+
+    /** Eventos descartados porque el búfer estaba lleno. */
+    public static long getDroppedCount() {
+        return Holder.INSTANCE.buffer.getDroppedCount();
+    }
+
+    public static long getWrittenCount() {
+        return Holder.INSTANCE.written;
+    }
+
+    /** Vuelca al archivo los eventos pendientes sin esperar al hilo escritor. */
+    public static void flush() {
+        EventLog log = Holder.INSTANCE;
+        synchronized (log) {
+            log.drainAndWrite();
+        }
+    }
+
+    private void writeLoop() {
+        while (!closed) {
+            int drained;
+            synchronized (this) {
+                drained = drainAndWrite();
+            }
+            if (drained == 0)
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+        }
+    }
+
+    // Vacía el búfer circular en el archivo por lotes. Lo ejecuta un solo hilo a la vez.
+    private int drainAndWrite() {
+        int total = 0;
+        int drained;
+        do {
+            batch.clear();
+            drained = buffer.drain(batchWriter, BATCH_RECORDS);
+            if (drained > 0) {
+                batch.flip();
+                writeBatch();
+                total += drained;
+                written += drained;
+            }
+        } while (drained == BATCH_RECORDS);
+        return total;
+    }
+
+    private void writeBatch() {
+        try {
+            if (channel == null) {
+                channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                        StandardOpenOption.TRUNCATE_EXISTING);
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putShort(FORMAT_VERSION).putShort((short) EventRecord.SIZE).flip();
+                channel.write(header);
+            }
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+        } catch (IOException e) {
+            // Sin archivo no hay registro, pero la simulación debe seguir.
+            System.err.println("No se pudo escribir el registro de eventos: " + e.getMessage());
+            closed = true;
+        }
+    }
+
+    private void close() {
+        synchronized (this) {
+            drainAndWrite();
+            closed = true;
+            try {
+                if (channel != null)
+                    channel.close();
+            } catch (IOException e) {
+                System.err.println("No se pudo cerrar el registro de eventos: " + e.getMessage());
+            }
+        }
+    }
+
+    private static EventLevel parseLevel(String value) {
+        try {
+            return EventLevel.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return EventLevel.DEBUG;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pucmm.trafficManagementSystem.log;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Convierte un archivo del registro binario en las líneas legibles que antes se
+ * imprimían en consola.
+ *
+ * Uso: EventLogDecoder [archivo=traffic-events.bin] [--timestamps] [--level=INFO]
+ */
+public class EventLogDecoder {
+
+    public static void main(String[] args) throws IOException {
+        Path file = Paths.get("traffic-events.bin");
+        boolean timestamps = false;
+        EventLevel minimum = EventLevel.DEBUG;
+        for (String arg : args) {
+            if (arg.equals("--timestamps"))
+                timestamps = true;
+            else if (arg.startsWith("--level="))
+                minimum = EventLevel.valueOf(arg.substring("--level=".length()).toUpperCase());
+            else
+                file = Paths.get(arg);
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (data.remaining() < EventLog.HEADER_SIZE || data.getInt() != EventLog.MAGIC) {
+                System.err.println("No es un registro de eventos: " + file);
+                return;
+            }
+            short version = data.getShort();
+            short recordSize = data.getShort();
+            if (version != EventLog.FORMAT_VERSION || recordSize != EventRecord.SIZE) {
+                System.err.printf("Formato no soportado: versión %d, registros de %d bytes.%n", version, recordSize);
+                return;
+            }
+
+            EventRecord record = new EventRecord();
+            long firstTimestamp = -1;
+            while (data.remaining() >= EventRecord.SIZE) {
+                if (!record.read(data) || record.getType().getLevel().compareTo(minimum) < 0)
+                    continue;
+                if (firstTimestamp < 0)
+                    firstTimestamp = record.getTimestampNanos();
+                String line = record.getType().format(record);
+                if (timestamps)
+                    System.out.printf("[%12.3f ms] %s%n", (record.getTimestampNanos() - firstTimestamp) / 1e6, line);
+                else
+                    System.out.println(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.pucmm.trafficManagementSystem.log;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Registro de tamaño fijo ({@link #SIZE} bytes) tal como se guarda en el archivo:
+ * <pre>
+ *  0  long   marca de tiempo (System.nanoTime)
+ *  8  short  tipo de evento
+ * 10  short  id de la intersección
+ * 12  int    id del vehículo
+ * 16  byte   tipo de vehículo, origen, carril (-1 si no aplica)
+ * 19  byte[5] reservado
+ * </pre>
+ */
+public final class EventRecord {
+    public static final int SIZE = 24;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+
+    private long timestampNanos;
+    private EventType type;
+    private int intersectionId;
+    private int vehicleId;
+    private byte vehicleType;
+    private byte origin;
+    private byte lane;
+
+    // Empaqueta los campos en las tres palabras de un slot del búfer circular.
+    static long packHeader(EventType type, int intersectionId, int vehicleId) {
+        return ((long) type.ordinal() << 48) | ((long) (intersectionId & 0xFFFF) << 32) | (vehicleId & 0xFFFFFFFFL);
+    }
+
+    static long packVehicle(VehicleType vehicleType, Direction origin, Direction lane) {
+        return ((long) (code(vehicleType) & 0xFF) << 16) | ((long) (code(origin) & 0xFF) << 8) | (code(lane) & 0xFF);
+    }
+
+    static void write(ByteBuffer out, long timestampNanos, long header, long vehicle) {
+        out.putLong(timestampNanos);
+        out.putShort((short) (header >>> 48));
+        out.putShort((short) (header >>> 32));
+        out.putInt((int) header);
+        out.put((byte) (vehicle >>> 16));
+        out.put((byte) (vehicle >>> 8));
+        out.put((byte) vehicle);
+        out.putInt(0); // reservado
+        out.put((byte) 0);
+    }
+
+    /** Lee el siguiente registro del búfer; devuelve false si el tipo es desconocido. */
+    boolean read(ByteBuffer in) {
+        timestampNanos = in.getLong();
+        int typeCode = in.getShort();
+        intersectionId = in.getShort();
+        vehicleId = in.getInt();
+        vehicleType = in.get();
+        origin = in.get();
+        lane = in.get();
+        in.position(in.position() + SIZE - 19);
+        type = EventType.fromCode(typeCode);
+        return type != null;
+    }
+
+    public long getTimestampNanos() {
+        return timestampNanos;
+    }
+
+    public EventType getType() {
+        return type;
+    }
+
+    public int getIntersectionId() {
+        return intersectionId;
+    }
+
+    public int getVehicleId() {
+        return vehicleId;
+    }
+
+    public VehicleType getVehicleType() {
+        return vehicleType < 0 ? null : VEHICLE_TYPES[vehicleType];
+    }
+
+    public Direction getOrigin() {
+        return origin < 0 ? null : DIRECTIONS[origin];
+    }
+
+    public Direction getLane() {
+        return lane < 0 ? null : DIRECTIONS[lane];
+    }
+
+    private static byte code(Enum<?> value) {
+        return value == null ? -1 : (byte) value.ordinal();
+    }
+}
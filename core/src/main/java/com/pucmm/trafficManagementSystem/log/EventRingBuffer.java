@@ -0,0 +1,82 @@
+package com.pucmm.trafficManagementSystem.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Búfer circular sin bloqueos con varios productores y un solo consumidor. Cada productor
+ * reserva una secuencia con CAS, escribe las tres palabras del registro y lo publica
+ * guardando la secuencia en el slot. Si el búfer está lleno el evento se descarta: la
+ * simulación nunca espera al escritor.
+ */
+final class EventRingBuffer {
+    private static final int WORDS_PER_RECORD = 3;
+
+    private final int mask;
+    private final long capacity;
+    private final long[] words;
+    private final AtomicLongArray published;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long head;
+
+    EventRingBuffer(int capacity) {
+        if (Integer.bitCount(capacity) != 1)
+            throw new IllegalArgumentException("La capacidad debe ser potencia de dos: " + capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.words = new long[capacity * WORDS_PER_RECORD];
+        this.published = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            published.set(i, -1);
+        }
+    }
+
+    boolean offer(long timestampNanos, long header, long vehicle) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head >= capacity) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & mask);
+        int base = slot * WORDS_PER_RECORD;
+        words[base] = timestampNanos;
+        words[base + 1] = header;
+        words[base + 2] = vehicle;
+        published.lazySet(slot, sequence);
+        return true;
+    }
+
+    /**
+     * Entrega al consumidor los registros publicados en orden, hasta {@code max}.
+     * Solo lo invoca el hilo escritor.
+     */
+    int drain(Consumer consumer, int max) {
+        long next = head;
+        int count = 0;
+        while (count < max) {
+            int slot = (int) (next & mask);
+            if (published.get(slot) != next)
+                break;
+            int base = slot * WORDS_PER_RECORD;
+            consumer.accept(words[base], words[base + 1], words[base + 2]);
+            next++;
+            count++;
+        }
+        if (count > 0)
+            head = next;
+        return count;
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    interface Consumer {
+        void accept(long timestampNanos, long header, long vehicle);
+    }
+}
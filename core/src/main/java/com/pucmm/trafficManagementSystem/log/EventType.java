@@ -0,0 +1,66 @@
+package com.pucmm.trafficManagementSystem.log;
+
+/**
+ * Tipos de evento del registro binario. Cada tipo sabe reconstruir la línea legible que
+ * antes se imprimía en consola; el orden de las constantes forma parte del formato del
+ * archivo, así que solo se agregan tipos nuevos al final.
+ */
+public enum EventType {
+    INTERSECTION_QUEUED(EventLevel.DEBUG),
+    INTERSECTION_CROSSING(EventLevel.INFO),
+    INTERSECTION_LEFT(EventLevel.INFO),
+    HIGHWAY_QUEUED(EventLevel.DEBUG),
+    HIGHWAY_EMERGENCY_MODE(EventLevel.WARN),
+    HIGHWAY_GREEN(EventLevel.INFO),
+    HIGHWAY_LEFT(EventLevel.INFO),
+    HIGHWAY_EMERGENCY_CLEARED(EventLevel.WARN),
+    HIGHWAY_DIRECTION_CLEAR(EventLevel.DEBUG);
+
+    private static final EventType[] VALUES = values();
+
+    private final EventLevel level;
+
+    EventType(EventLevel level) {
+        this.level = level;
+    }
+
+    public EventLevel getLevel() {
+        return level;
+    }
+
+    static EventType fromCode(int code) {
+        return code >= 0 && code < VALUES.length ? VALUES[code] : null;
+    }
+
+    /** Línea legible del evento, idéntica a la que se imprimía en consola. */
+    public String format(EventRecord record) {
+        int intersection = record.getIntersectionId();
+        int vehicle = record.getVehicleId();
+        switch (this) {
+            case INTERSECTION_QUEUED:
+                return String.format("📋 Vehículo %d (%s) añadido a la cola de %s.", vehicle, record.getVehicleType(),
+                        record.getOrigin());
+            case INTERSECTION_CROSSING:
+                return String.format("🚦 Vehículo %d empieza a cruzar.", vehicle);
+            case INTERSECTION_LEFT:
+                return String.format("✅ Vehículo %d ha salido del cruce.", vehicle);
+            case HIGHWAY_QUEUED:
+                return String.format("📋 AUTOPISTA-%d: Vehículo %d añadido a la cola %s del carril %s.", intersection,
+                        vehicle, record.getOrigin(), record.getLane());
+            case HIGHWAY_EMERGENCY_MODE:
+                return String.format("🚨 ¡MODO EMERGENCIA AUTOPISTA-%d! Carril %s tiene prioridad.", intersection,
+                        record.getOrigin());
+            case HIGHWAY_GREEN:
+                return String.format("🚦 AUTOPISTA-%d: LUZ VERDE para vehículo %d. Cruzando...", intersection, vehicle);
+            case HIGHWAY_LEFT:
+                return String.format("✅ AUTOPISTA-%d: Vehículo %d ha salido. Cediendo el paso.", intersection, vehicle);
+            case HIGHWAY_EMERGENCY_CLEARED:
+                return "✅ AUTOPISTA-" + intersection + ": Emergencia despejada. Tráfico normal.";
+            case HIGHWAY_DIRECTION_CLEAR:
+                return String.format("✅ AUTOPISTA-%d: Dirección %s completamente libre.", intersection,
+                        record.getOrigin());
+            default:
+                return name();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.pucmm.trafficManagementSystem.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Contadores e histogramas de una intersección. Los métodos de registro se llaman desde
+ * los hilos de los vehículos y solo hacen operaciones atómicas sobre memoria ya reservada;
+ * el largo de las colas se lee del gestor de tráfico únicamente cuando JMX lo consulta.
+ */
+public final class IntersectionMetrics implements IntersectionMetricsMXBean {
+    private final String[] laneNames;
+    private final IntUnaryOperator queueLength;
+    private final AtomicLong crossings = new AtomicLong();
+    private final AtomicLong preemptions = new AtomicLong();
+    private final LatencyHistogram waits = new LatencyHistogram();
+    private final LatencyHistogram crossingTimes = new LatencyHistogram();
+
+    // Última lectura de getThroughputPerSecond; solo la usa el hilo de JMX.
+    private long lastCrossings;
+    private long lastReadNanos = System.nanoTime();
+
+    /** {@code queueLength} recibe el índice del carril en {@code laneNames}. */
+    public IntersectionMetrics(String[] laneNames, IntUnaryOperator queueLength) {
+        this.laneNames = laneNames.clone();
+        this.queueLength = queueLength;
+    }
+
+    public void recordWait(long nanos) {
+        waits.record(nanos);
+    }
+
+    /** Un vehículo terminó de cruzar tras {@code nanos} dentro de la intersección. */
+    public void recordCrossing(long nanos) {
+        crossings.incrementAndGet();
+        crossingTimes.record(nanos);
+    }
+
+    /** Una emergencia cruzó delante de al menos un vehículo que esperaba. */
+    public void recordPreemption() {
+        preemptions.incrementAndGet();
+    }
+
+    public LatencyHistogram getWaits() {
+        return waits;
+    }
+
+    public LatencyHistogram getCrossingTimes() {
+        return crossingTimes;
+    }
+
+    @Override
+    public long getThroughput() {
+        return crossings.get();
+    }
+
+    @Override
+    public synchronized double getThroughputPerSecond() {
+        long now = System.nanoTime();
+        long total = crossings.get();
+        double seconds = (now - lastReadNanos) / 1e9;
+        double rate = seconds > 0 ? (total - lastCrossings) / seconds : 0;
+        lastCrossings = total;
+        lastReadNanos = now;
+        return rate;
+    }
+
+    @Override
+    public Map<String, Integer> getQueueLengths() {
+        Map<String, Integer> lengths = new LinkedHashMap<>();
+        for (int i = 0; i < laneNames.length; i++)
+            lengths.put(laneNames[i], queueLength.applyAsInt(i));
+        return lengths;
+    }
+
+    @Override
+    public long getWaitCount() {
+        return waits.getCount();
+    }
+
+    @Override
+    public double getWaitMeanMillis() {
+        return waits.getMean() / 1e6;
+    }
+
+    @Override
+    public double getWaitP50Millis() {
+        return waits.getPercentile(0.50) / 1e6;
+    }
+
+    @Override
+    public double getWaitP99Millis() {
+        return waits.getPercentile(0.99) / 1e6;
+    }
+
+    @Override
+    public double getWaitP999Millis() {
+        return waits.getPercentile(0.999) / 1e6;
+    }
+
+    @Override
+    public double getWaitMaxMillis() {
+        return waits.getMax() / 1e6;
+    }
+
+    @Override
+    public double getCrossingMeanMillis() {
+        return crossingTimes.getMean() / 1e6;
+    }
+
+    @Override
+    public double getCrossingP50Millis() {
+        return crossingTimes.getPercentile(0.50) / 1e6;
+    }
+
+    @Override
+    public double getCrossingP99Millis() {
+        return crossingTimes.getPercentile(0.99) / 1e6;
+    }
+
+    @Override
+    public double getCrossingP999Millis() {
+        return crossingTimes.getPercentile(0.999) / 1e6;
+    }
+
+    @Override
+    public long getEmergencyPreemptions() {
+        return preemptions.get();
+    }
+}
@@ -0,0 +1,39 @@
+package com.pucmm.trafficManagementSystem.metrics;
+
+import java.util.Map;
+
+/** Métricas de una intersección expuestas por JMX. Los tiempos se informan en milisegundos. */
+public interface IntersectionMetricsMXBean {
+
+    /** Vehículos que cruzaron desde que empezó la simulación. */
+    long getThroughput();
+
+    /** Cruces por segundo desde la consulta anterior. */
+    double getThroughputPerSecond();
+
+    /** Vehículos en cola por carril. */
+    Map<String, Integer> getQueueLengths();
+
+    long getWaitCount();
+
+    double getWaitMeanMillis();
+
+    double getWaitP50Millis();
+
+    double getWaitP99Millis();
+
+    double getWaitP999Millis();
+
+    double getWaitMaxMillis();
+
+    double getCrossingMeanMillis();
+
+    double getCrossingP50Millis();
+
+    double getCrossingP99Millis();
+
+    double getCrossingP999Millis();
+
+    /** Veces que una emergencia cruzó delante de al menos un vehículo que esperaba. */
+    long getEmergencyPreemptions();
+}
@@ -0,0 +1,70 @@
+package com.pucmm.trafficManagementSystem.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registra las métricas de una simulación en el servidor de MBeans de la plataforma bajo
+ * {@code com.pucmm.trafficManagementSystem:simulation=<tipo>-<n>,type=...}. Cada simulación
+ * tiene su propio número, así que varias pueden convivir en la misma JVM. Se desactiva
+ * con -Dtraffic.jmx=false.
+ */
+public final class MetricsRegistry {
+    public static final String DOMAIN = "com.pucmm.trafficManagementSystem";
+
+    private static final AtomicInteger simulationCounter = new AtomicInteger();
+
+    private final String simulation;
+    private final boolean enabled = !"false".equalsIgnoreCase(System.getProperty("traffic.jmx"));
+    private final List<ObjectName> registered = new ArrayList<>();
+
+    public MetricsRegistry(String kind) {
+        this.simulation = kind + "-" + simulationCounter.incrementAndGet();
+    }
+
+    public String getSimulation() {
+        return simulation;
+    }
+
+    public synchronized void register(String type, String name, Object mbean) {
+        if (!enabled)
+            return;
+        try {
+            String objectName = DOMAIN + ":simulation=" + simulation + ",type=" + type
+                    + (name != null ? ",name=" + ObjectName.quote(name) : "");
+            ObjectName id = new ObjectName(objectName);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                server.registerMBean(mbean, id);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(id);
+                server.registerMBean(mbean, id);
+            }
+            registered.add(id);
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudo registrar el MBean " + type + " " + name, e);
+        }
+    }
+
+    /** Retira todos los MBeans de la simulación; se llama al apagarla. */
+    public synchronized void unregisterAll() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ObjectName id : registered) {
+            try {
+                server.unregisterMBean(id);
+            } catch (InstanceNotFoundException e) {
+                // Ya se había retirado.
+            } catch (JMException e) {
+                throw new IllegalStateException("No se pudo retirar el MBean " + id, e);
+            }
+        }
+        registered.clear();
+    }
+}
@@ -0,0 +1,39 @@
+package com.pucmm.trafficManagementSystem.metrics;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/** Métricas globales: vehículos vivos, terminados y preferencias de emergencia de todas las intersecciones. */
+public final class SimulationMetrics implements SimulationMetricsMXBean {
+    private final IntSupplier liveVehicles;
+    private final List<IntersectionMetrics> intersections;
+    private final AtomicLong completed = new AtomicLong();
+
+    public SimulationMetrics(IntSupplier liveVehicles, List<IntersectionMetrics> intersections) {
+        this.liveVehicles = liveVehicles;
+        this.intersections = List.copyOf(intersections);
+    }
+
+    public void vehicleCompleted() {
+        completed.incrementAndGet();
+    }
+
+    @Override
+    public int getLiveVehicles() {
+        return liveVehicles.getAsInt();
+    }
+
+    @Override
+    public long getCompletedVehicles() {
+        return completed.get();
+    }
+
+    @Override
+    public long getEmergencyPreemptions() {
+        long total = 0;
+        for (IntersectionMetrics metrics : intersections)
+            total += metrics.getEmergencyPreemptions();
+        return total;
+    }
+}
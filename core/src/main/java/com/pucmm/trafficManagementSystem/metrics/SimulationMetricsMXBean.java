@@ -0,0 +1,11 @@
+package com.pucmm.trafficManagementSystem.metrics;
+
+/** Métricas globales de una simulación expuestas por JMX. */
+public interface SimulationMetricsMXBean {
+
+    int getLiveVehicles();
+
+    long getCompletedVehicles();
+
+    long getEmergencyPreemptions();
+}
@@ -0,0 +1,106 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plan accionado por la demanda. Cada {@link #CONTROL_TICK_MILLIS} de tiempo simulado revisa, por intersección,
+ * cuántos vehículos hay en el tramo de aproximación de cada sentido
+ * ({@link HighwayIntersection#getApproachOccupancy}) y decide:
+ * <ul>
+ * <li>mantener el verde al menos {@link #MIN_GREEN_MILLIS};</li>
+ * <li>extenderlo mientras el sentido en rojo no tenga vehículos;</li>
+ * <li>terminarlo antes si el sentido en verde se vació y el otro espera;</li>
+ * <li>cortarlo al llegar a {@code cycle.seconds} si ambos sentidos tienen demanda.</li>
+ * </ul>
+ */
+public class ActuatedController implements TrafficLightController {
+    static final long CONTROL_TICK_MILLIS = 250;
+    static final long MIN_GREEN_MILLIS = 2000;
+
+    private final HighwayTopology topology;
+    private final List<HighwayIntersection> intersections;
+    private final LightStates lights;
+    private final long maxGreenNanos;
+    // Inicio de la fase actual por semáforo primario.
+    private final long[] phaseStart;
+    private long nextControlNanos;
+
+    public ActuatedController(HighwayTopology topology, List<HighwayIntersection> intersections) {
+        this.topology = topology;
+        this.intersections = intersections;
+        this.lights = new LightStates(topology);
+        this.maxGreenNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(MIN_GREEN_MILLIS,
+                TimeUnit.SECONDS.toMillis(topology.getCycleSeconds())));
+        this.phaseStart = new long[lights.size() + 1];
+        // Igual que el plan fijo, arranca con los primarios en verde.
+        for (int id = 1; id <= lights.size(); id++) {
+            if (lights.isPrimary(id))
+                lights.setPhase(id, true);
+        }
+        nextControlNanos = TimeUnit.MILLISECONDS.toNanos(CONTROL_TICK_MILLIS);
+    }
+
+    @Override
+    public void advance(long elapsedNanos) {
+        lights.advance(elapsedNanos);
+        while (lights.now() >= nextControlNanos) {
+            control(nextControlNanos);
+            nextControlNanos += TimeUnit.MILLISECONDS.toNanos(CONTROL_TICK_MILLIS);
+        }
+    }
+
+    private void control(long now) {
+        long minGreenNanos = TimeUnit.MILLISECONDS.toNanos(MIN_GREEN_MILLIS);
+        for (int id = 1; id <= lights.size(); id++) {
+            if (!lights.isPrimary(id))
+                continue;
+            long elapsed = now - phaseStart[id];
+            if (elapsed < minGreenNanos)
+                continue;
+
+            int partner = lights.partnerOf(id);
+            int primaryDemand = occupancy(id);
+            int partnerDemand = partner != 0 ? occupancy(partner) : 0;
+            boolean primaryGreen = lights.isGreen(id);
+            int greenDemand = primaryGreen ? primaryDemand : partnerDemand;
+            int redDemand = primaryGreen ? partnerDemand : primaryDemand;
+
+            if (redDemand == 0)
+                continue;
+            if (greenDemand == 0 || elapsed >= maxGreenNanos) {
+                lights.setPhase(id, !primaryGreen);
+                phaseStart[id] = now;
+            }
+        }
+    }
+
+    private int occupancy(int lightId) {
+        HighwayIntersection intersection = intersections.get(topology.getLightIntersection(lightId) - 1);
+        return intersection.getApproachOccupancy(topology.getLightOrigin(lightId));
+    }
+
+    @Override
+    public boolean isGreen(int lightId) {
+        return lights.isGreen(lightId);
+    }
+
+    @Override
+    public void setEmergencyGreen(int lightId, boolean green) {
+        if (lights.isValid(lightId)) {
+            lights.set(lightId, green);
+        }
+    }
+
+    @Override
+    public WaiterRegistry getWaiters(int lightId) {
+        return lights.getWaiters(lightId);
+    }
+
+    @Override
+    public void shutdown() {
+        // Sin hilos propios: el plan avanza con el tick de la simulación.
+    }
+}
@@ -0,0 +1,66 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cuenta los vehículos de emergencia en espera por carril. Los contadores solo cambian al
+ * encolar, cruzar o salir; las consultas leen una máscara volátil con un bit por carril
+ * ocupado, así que saber si hay emergencia o en qué carril está cuesta una sola lectura.
+ * El carril activo es el de menor índice con emergencias.
+ */
+final class EmergencyTracker {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final int[] counts;
+    private volatile long lanesWithEmergency;
+
+    EmergencyTracker(int lanes) {
+        if (lanes > Long.SIZE)
+            throw new IllegalArgumentException("Demasiados carriles: " + lanes);
+        this.counts = new int[lanes];
+    }
+
+    /** Registra una emergencia en el carril; devuelve true si antes no había ninguna. */
+    boolean add(int lane) {
+        lock.lock();
+        try {
+            long mask = lanesWithEmergency;
+            counts[lane]++;
+            lanesWithEmergency = mask | (1L << lane);
+            return mask == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Retira una emergencia del carril; devuelve true si ya no queda ninguna. */
+    boolean remove(int lane) {
+        lock.lock();
+        try {
+            if (counts[lane] == 0)
+                return false;
+            long mask = lanesWithEmergency;
+            if (--counts[lane] == 0) {
+                mask &= ~(1L << lane);
+                lanesWithEmergency = mask;
+            }
+            return mask == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isActive() {
+        return lanesWithEmergency != 0;
+    }
+
+    /** Carril con prioridad de emergencia, o -1 si no hay ninguna. */
+    int activeLane() {
+        long mask = lanesWithEmergency;
+        return mask == 0 ? -1 : Long.numberOfTrailingZeros(mask);
+    }
+
+    /** Indica si alguno de los carriles de la máscara tiene emergencias. */
+    boolean anyIn(long laneMask) {
+        return (lanesWithEmergency & laneMask) != 0;
+    }
+}
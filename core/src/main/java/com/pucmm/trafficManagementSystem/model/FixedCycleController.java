@@ -0,0 +1,59 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plan de tiempo fijo: cada intersección cambia de fase cada {@code cycle.seconds} de tiempo
+ * simulado, haya o no vehículos.
+ */
+public class FixedCycleController implements TrafficLightController {
+    private final LightStates lights;
+    private final long cycleNanos;
+    private long nextFlipNanos;
+
+    public FixedCycleController(HighwayTopology topology) {
+        this.lights = new LightStates(topology);
+        this.cycleNanos = TimeUnit.SECONDS.toNanos(topology.getCycleSeconds());
+        advance(0);
+    }
+
+    private void flip() {
+        for (int id = 1; id <= lights.size(); id++) {
+            if (lights.isPrimary(id))
+                lights.setPhase(id, !lights.isGreen(id));
+        }
+    }
+
+    @Override
+    public void advance(long elapsedNanos) {
+        lights.advance(elapsedNanos);
+        while (lights.now() >= nextFlipNanos) {
+            flip();
+            nextFlipNanos += cycleNanos;
+        }
+    }
+
+    @Override
+    public boolean isGreen(int lightId) {
+        return lights.isGreen(lightId);
+    }
+
+    @Override
+    public void setEmergencyGreen(int lightId, boolean green) {
+        if (lights.isValid(lightId)) {
+             lights.set(lightId, green);
+        }
+    }
+
+    @Override
+    public WaiterRegistry getWaiters(int lightId) {
+        return lights.getWaiters(lightId);
+    }
+
+    @Override
+    public void shutdown() {
+        // Sin hilos propios: el plan avanza con el tick de la simulación.
+    }
+}
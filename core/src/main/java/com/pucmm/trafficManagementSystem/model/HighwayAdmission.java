@@ -0,0 +1,194 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Estado de admisión de una intersección de autopista en una sola palabra atómica, para
+ * decidir turnos sin candado. Las direcciones son 0 (este) y 1 (oeste); los carriles se
+ * numeran {@code dirección * 3 + carril}.
+ * <pre>
+ * bits  0-5   carril con un vehículo cruzando
+ * bits  6-9   orden de direcciones: dos casillas de 2 bits (0 vacía, 1 este, 2 oeste)
+ * bits 10-33  vehículos en cola del este (incluye a los que cruzan)
+ * bits 34-57  vehículos en cola del oeste
+ * bits 58-63  admisiones del turno actual mientras la otra dirección espera
+ * </pre>
+ * La dirección activa es la primera casilla. Mientras la otra espera, la activa admite
+ * a lo sumo {@link #TURN_LIMIT} vehículos; cuando sus carriles se vacían, el turno pasa a
+ * la segunda, que si no seguiría esperando mientras la activa tenga cola. Todas las
+ * transiciones se hacen con CAS sobre la palabra completa, así que comprobar que una
+ * dirección quedó libre y sacarla del orden ocurre de forma atómica frente a una llegada
+ * simultánea.
+ */
+final class HighwayAdmission {
+    static final int LANES_PER_DIRECTION = 3;
+
+    private static final int ORDER_SHIFT = 6;
+    private static final int WAITING_SHIFT = 10;
+    private static final int WAITING_BITS = 24;
+    private static final long WAITING_MASK = (1L << WAITING_BITS) - 1;
+    private static final long DIRECTION_LANES = (1L << LANES_PER_DIRECTION) - 1;
+    private static final int TURN_SHIFT = 58;
+    static final int TURN_LIMIT = 8;
+
+    private final AtomicLong state = new AtomicLong();
+    // Vehículo que ocupa cada carril; evita que una salida ajena libere el carril de otro.
+    private final AtomicReferenceArray<Vehicle> crossing = new AtomicReferenceArray<>(2 * LANES_PER_DIRECTION);
+
+    /** Cuenta la llegada y ubica la dirección: al frente si es emergencia, al final si no estaba. */
+    void enqueue(int direction, boolean emergency) {
+        long current;
+        long next;
+        do {
+            current = state.get();
+            int order = order(current);
+            int newOrder = emergency ? moveToFront(order, direction) : append(order, direction);
+            next = withOrder(current, newOrder) + (1L << waitingShift(direction));
+            // Un orden nuevo empieza el turno de cero.
+            if (newOrder != order)
+                next = withTurn(next, 0);
+        } while (!state.compareAndSet(current, next));
+    }
+
+    /**
+     * Reglas de turno sobre una sola lectura: nadie cruzando desde la dirección opuesta,
+     * su carril libre y la dirección del vehículo es la activa con turno disponible, o la
+     * que espera cuando la activa ya agotó el suyo.
+     */
+    boolean mayCross(int direction, int lane) {
+        return allows(state.get(), direction, lane);
+    }
+
+    /**
+     * Ocupa el carril para el vehículo si las reglas de {@link #mayCross} se cumplen en la
+     * misma palabra que marca el carril, así que una emergencia que cambia el orden o una
+     * admisión de la dirección opuesta entre la consulta y el cruce hacen fallar el CAS y se
+     * vuelven a evaluar. Devuelve false si no le toca; true también si ya lo ocupaba.
+     */
+    boolean admit(Vehicle vehicle, int direction, int lane) {
+        if (!crossing.compareAndSet(lane, null, vehicle))
+            return crossing.get(lane) == vehicle;
+        long current;
+        do {
+            current = state.get();
+            if (!allows(current, direction, lane)) {
+                // La reserva del carril es nuestra y nadie más pudo tomarla: se suelta sin CAS.
+                crossing.set(lane, null);
+                return false;
+            }
+        } while (!state.compareAndSet(current, admitted(current, direction, lane)));
+        return true;
+    }
+
+    private static boolean allows(long current, int direction, int lane) {
+        long opposingLanes = DIRECTION_LANES << (LANES_PER_DIRECTION * (1 - direction));
+        if ((current & opposingLanes) != 0 || (current & (1L << lane)) != 0)
+            return false;
+        int order = order(current);
+        if (head(order) == direction)
+            return second(order) < 0 || turn(current) < TURN_LIMIT;
+        return second(order) == direction && turn(current) >= TURN_LIMIT;
+    }
+
+    /** La palabra tras admitir: cuenta el turno o, si era la que esperaba, se lo cede. */
+    private static long admitted(long current, int direction, int lane) {
+        long next = current | (1L << lane);
+        int order = order(current);
+        if (head(order) != direction)
+            return withTurn(withOrder(next, of(direction, head(order))), 1);
+        return second(order) < 0 ? next : withTurn(next, turn(current) + 1);
+    }
+
+    /**
+     * Libera el carril si el vehículo lo ocupaba y descuenta su espera si estaba en cola.
+     * Devuelve true si con esto la dirección quedó libre y salió del orden.
+     */
+    boolean leave(Vehicle vehicle, int direction, int lane, boolean wasQueued) {
+        boolean wasCrossing = crossing.compareAndSet(lane, vehicle, null);
+        if (!wasCrossing && !wasQueued)
+            return false;
+
+        long current;
+        long next;
+        boolean cleared;
+        do {
+            current = state.get();
+            next = current;
+            if (wasCrossing)
+                next &= ~(1L << lane);
+            if (wasQueued && waiting(next, direction) > 0)
+                next -= 1L << waitingShift(direction);
+
+            long directionLanes = DIRECTION_LANES << (LANES_PER_DIRECTION * direction);
+            int order = order(next);
+            cleared = contains(order, direction) && waiting(next, direction) == 0
+                    && (next & directionLanes) == 0;
+            if (cleared)
+                next = withTurn(withOrder(next, remove(order, direction)), 0);
+        } while (!state.compareAndSet(current, next));
+        return cleared;
+    }
+
+    private static int waitingShift(int direction) {
+        return WAITING_SHIFT + direction * WAITING_BITS;
+    }
+
+    private static long waiting(long state, int direction) {
+        return (state >>> waitingShift(direction)) & WAITING_MASK;
+    }
+
+    private static int turn(long state) {
+        return (int) (state >>> TURN_SHIFT);
+    }
+
+    private static long withTurn(long state, int turn) {
+        return (state & ~(-1L << TURN_SHIFT)) | ((long) turn << TURN_SHIFT);
+    }
+
+    private static int order(long state) {
+        return (int) ((state >>> ORDER_SHIFT) & 0xF);
+    }
+
+    private static long withOrder(long state, int order) {
+        return (state & ~(0xFL << ORDER_SHIFT)) | ((long) order << ORDER_SHIFT);
+    }
+
+    // Casillas del orden: código 0 vacía, dirección + 1 ocupada.
+    private static int head(int order) {
+        return (order & 3) - 1;
+    }
+
+    private static int second(int order) {
+        return ((order >>> 2) & 3) - 1;
+    }
+
+    private static int of(int first, int second) {
+        return (first + 1) | ((second + 1) << 2);
+    }
+
+    private static boolean contains(int order, int direction) {
+        return head(order) == direction || second(order) == direction;
+    }
+
+    private static int append(int order, int direction) {
+        if (contains(order, direction))
+            return order;
+        return head(order) < 0 ? of(direction, -1) : of(head(order), direction);
+    }
+
+    private static int moveToFront(int order, int direction) {
+        int rest = remove(order, direction);
+        return of(direction, head(rest));
+    }
+
+    private static int remove(int order, int direction) {
+        int first = head(order);
+        int next = second(order);
+        if (first == direction)
+            return of(next, -1);
+        if (next == direction)
+            return of(first, -1);
+        return order;
+    }
+}
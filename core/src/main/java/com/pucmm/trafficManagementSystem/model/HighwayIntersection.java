@@ -0,0 +1,193 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.jfr.TrafficEvents;
+import com.pucmm.trafficManagementSystem.log.EventLog;
+import com.pucmm.trafficManagementSystem.log.EventType;
+import com.pucmm.trafficManagementSystem.metrics.IntersectionMetrics;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class HighwayIntersection implements TrafficManager {
+    private static final long LANE_1_MASK = (1L << laneIndex(Direction.WEST, Direction.LANE_1))
+            | (1L << laneIndex(Direction.EAST, Direction.LANE_1));
+
+    private final int id;
+    private final Map<Direction, Map<Direction, VehicleQueue>> waitingLanes;
+    // Carriles ocupados, orden de direcciones y vehículos en cola; se actualiza con CAS, sin candado.
+    private final HighwayAdmission admission = new HighwayAdmission();
+    // Emergencias en cola (o cruzando, que siguen en su cola hasta salir) por origen y carril.
+    private final EmergencyTracker emergencies = new EmergencyTracker(laneIndex(Direction.WEST, Direction.LANE_3) + 1);
+    private final WaiterRegistry waiters = new WaiterRegistry();
+    // Vehículos en el tramo de aproximación al semáforo, por origen y carril (detector del plan accionado).
+    private final AtomicIntegerArray approachOccupancy = new AtomicIntegerArray(2 * HighwayAdmission.LANES_PER_DIRECTION);
+    private final IntersectionMetrics metrics;
+
+    public HighwayIntersection(int id) {
+        this.id = id;
+        this.waitingLanes = new EnumMap<>(Direction.class);
+        for (Direction dir : new Direction[] { Direction.EAST, Direction.WEST }) {
+            Map<Direction, VehicleQueue> lanes = new EnumMap<>(Direction.class);
+            lanes.put(Direction.LANE_1, new VehicleQueue(VehicleQueue.Role.LANE));
+            lanes.put(Direction.LANE_2, new VehicleQueue(VehicleQueue.Role.LANE));
+            lanes.put(Direction.LANE_3, new VehicleQueue(VehicleQueue.Role.LANE));
+            waitingLanes.put(dir, lanes);
+        }
+        String[] laneNames = new String[approachOccupancy.length()];
+        for (Direction dir : new Direction[] { Direction.EAST, Direction.WEST }) {
+            for (Direction lane : new Direction[] { Direction.LANE_1, Direction.LANE_2, Direction.LANE_3 })
+                laneNames[laneIndex(dir, lane)] = dir + "/" + lane;
+        }
+        metrics = new IntersectionMetrics(laneNames, approachOccupancy::get);
+    }
+
+    @Override
+    public void addToQueue(Vehicle vehicle) {
+        // Encolar dos veces contaría dos esperas (y dos emergencias) que una sola salida no descuenta.
+        if (!waitingLanes.get(vehicle.getOrigin()).get(vehicle.getLane()).add(vehicle))
+            return;
+        log(EventType.HIGHWAY_QUEUED, vehicle);
+        vehicle.queuedAtNanos = vehicle.now();
+        TrafficEvents.queueTransition(TrafficEvents.QUEUED, id, vehicle, 0);
+
+        boolean emergency = vehicle.getType() == VehicleType.EMERGENCY;
+        if (emergency && emergencies.add(laneIndex(vehicle)))
+            log(EventType.HIGHWAY_EMERGENCY_MODE, vehicle);
+        // Una emergencia pone su dirección al frente; las demás se suman al final si no estaba.
+        admission.enqueue(directionIndex(vehicle.getOrigin()), emergency);
+        waiters.signalAll();
+    }
+
+    @Override
+    public boolean isMyTurn(Vehicle vehicle) {
+        return admission.mayCross(directionIndex(vehicle.getOrigin()), laneIndex(vehicle))
+                && waitingLanes.get(vehicle.getOrigin()).get(vehicle.getLane()).peek() == vehicle;
+    }
+
+    @Override
+    public boolean startCrossing(Vehicle vehicle) {
+        // Las reglas de turno se vuelven a comprobar dentro del CAS de admisión.
+        boolean admitted = waitingLanes.get(vehicle.getOrigin()).get(vehicle.getLane()).peek() == vehicle
+                && admission.admit(vehicle, directionIndex(vehicle.getOrigin()), laneIndex(vehicle));
+        if (admitted) {
+            log(EventType.HIGHWAY_GREEN, vehicle);
+            if (vehicle.getType() == VehicleType.EMERGENCY && jumpsOpposingQueue(vehicle))
+                metrics.recordPreemption();
+            long wait = vehicle.queuedAtNanos == 0 ? 0 : vehicle.now() - vehicle.queuedAtNanos;
+            vehicle.queuedAtNanos = 0;
+            TrafficEvents.queueTransition(TrafficEvents.CROSSING, id, vehicle, wait);
+        }
+        waiters.signalAll();
+        return admitted;
+    }
+
+    @Override
+    public void leaveIntersection(Vehicle vehicle) {
+        boolean wasQueued = waitingLanes.get(vehicle.getOrigin()).get(vehicle.getLane()).remove(vehicle);
+
+        log(EventType.HIGHWAY_LEFT, vehicle);
+        TrafficEvents.queueTransition(TrafficEvents.LEFT, id, vehicle, 0);
+
+        if (wasQueued && vehicle.getType() == VehicleType.EMERGENCY) {
+            if (emergencies.remove(laneIndex(vehicle))) {
+                log(EventType.HIGHWAY_EMERGENCY_CLEARED, vehicle);
+            }
+        }
+
+        if (admission.leave(vehicle, directionIndex(vehicle.getOrigin()), laneIndex(vehicle), wasQueued)) {
+            log(EventType.HIGHWAY_DIRECTION_CLEAR, vehicle);
+        }
+        waiters.signalAll();
+    }
+
+    /**
+     * Preempción: la emergencia cruza mientras espera algún vehículo del sentido opuesto que
+     * llegó antes que ella. Los del mismo sentido no cuentan porque cruzan a la par por sus
+     * carriles, y basta mirar la cabeza de cada cola, que es la que llegó primero.
+     */
+    private boolean jumpsOpposingQueue(Vehicle vehicle) {
+        long queuedAtNanos = vehicle.queuedAtNanos;
+        if (queuedAtNanos == 0)
+            return false;
+        Direction opposing = vehicle.getOrigin() == Direction.EAST ? Direction.WEST : Direction.EAST;
+        for (VehicleQueue queue : waitingLanes.get(opposing).values()) {
+            Vehicle head = queue.peek();
+            // Las que ya cruzan siguen en su cola, pero con queuedAtNanos en 0.
+            if (head != null && head.queuedAtNanos != 0 && head.queuedAtNanos < queuedAtNanos)
+                return true;
+        }
+        return false;
+    }
+
+    private void log(EventType type, Vehicle vehicle) {
+        EventLog.record(type, id, vehicle.getId(), vehicle.getType(), vehicle.getOrigin(), vehicle.getLane());
+    }
+
+    /** El vehículo entró al tramo de aproximación de su sentido. */
+    void enterApproach(Vehicle vehicle) {
+        approachOccupancy.incrementAndGet(laneIndex(vehicle));
+    }
+
+    /** El vehículo pasó el semáforo o dejó la simulación. */
+    void leaveApproach(Vehicle vehicle) {
+        approachOccupancy.decrementAndGet(laneIndex(vehicle));
+    }
+
+    /** Vehículos que se acercan o esperan frente al semáforo del origen dado. */
+    public int getApproachOccupancy(Direction origin) {
+        int first = laneIndex(origin, Direction.LANE_1);
+        return approachOccupancy.get(first) + approachOccupancy.get(first + 1) + approachOccupancy.get(first + 2);
+    }
+
+    /**
+     * Métricas de la intersección. En la autopista la espera se mide en el tramo de
+     * aproximación hasta pasar el semáforo y el cruce desde la línea de detención hasta
+     * salir de la calle transversal (ver {@code Vehicle}).
+     */
+    public IntersectionMetrics getMetrics() {
+        return metrics;
+    }
+
+    public boolean hasEmergencyVehicleWaiting() {
+        return emergencies.anyIn(LANE_1_MASK);
+    }
+
+    private static int laneIndex(Vehicle vehicle) {
+        return laneIndex(vehicle.getOrigin(), vehicle.getLane());
+    }
+
+    private static int laneIndex(Direction origin, Direction lane) {
+        return directionIndex(origin) * HighwayAdmission.LANES_PER_DIRECTION
+                + (lane.ordinal() - Direction.LANE_1.ordinal());
+    }
+
+    private static int directionIndex(Direction origin) {
+        return origin == Direction.WEST ? 1 : 0;
+    }
+
+    @Override
+    public int getPositionInQueue(Vehicle vehicle) {
+        return waitingLanes.get(vehicle.getOrigin()).get(vehicle.getLane()).positionOf(vehicle);
+    }
+
+    @Override
+    public boolean isEmergencyActive() {
+        return emergencies.isActive();
+    }
+
+    @Override
+    public Direction getOrigin() {
+        return null;
+    }
+
+    @Override
+    public WaiterRegistry getWaiters() {
+        return waiters;
+    }
+
+    public int getId() {
+        return id;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.jfr.TrafficEvents;
+import com.pucmm.trafficManagementSystem.log.EventLog;
+import com.pucmm.trafficManagementSystem.log.EventType;
+import com.pucmm.trafficManagementSystem.metrics.IntersectionMetrics;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.EnumMap;
+
+public class Intersection implements TrafficManager {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final Direction[] LANES = { Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST };
+
+    private final Map<Direction, VehicleQueue> waitingQueues;
+    private final VehicleQueue globalArrivalQueue = new VehicleQueue(VehicleQueue.Role.ARRIVAL);
+    private final Set<Vehicle> crossingVehicles = ConcurrentHashMap.newKeySet();
+    private final WaiterRegistry waiters = new WaiterRegistry();
+    // Un carril por dirección de origen, indexado por el ordinal de Direction.
+    private final EmergencyTracker emergencies = new EmergencyTracker(DIRECTIONS.length);
+    private final IntersectionMetrics metrics;
+
+    public Intersection() {
+        waitingQueues = new EnumMap<>(Direction.class);
+        String[] laneNames = new String[LANES.length];
+        for (int i = 0; i < LANES.length; i++) {
+            waitingQueues.put(LANES[i], new VehicleQueue(VehicleQueue.Role.LANE));
+            laneNames[i] = LANES[i].name();
+        }
+        metrics = new IntersectionMetrics(laneNames, lane -> waitingQueues.get(LANES[lane]).size());
+    }
+
+    @Override
+    public void addToQueue(Vehicle vehicle) {
+        if (!waitingQueues.get(vehicle.getOrigin()).add(vehicle))
+            return;
+        globalArrivalQueue.add(vehicle);
+        vehicle.queuedAtNanos = vehicle.now();
+        if (vehicle.getType() == VehicleType.EMERGENCY)
+            emergencies.add(vehicle.getOrigin().ordinal());
+        log(EventType.INTERSECTION_QUEUED, vehicle);
+        TrafficEvents.queueTransition(TrafficEvents.QUEUED, 0, vehicle, 0);
+        waiters.signalAll();
+    }
+
+    @Override
+    public boolean isMyTurn(Vehicle vehicle) {
+        int activeEmergencyLane = emergencies.activeLane();
+
+        // --- LÓGICA DE EMERGENCIA ---
+        if (activeEmergencyLane >= 0) {
+            Direction emergencyLane = DIRECTIONS[activeEmergencyLane];
+
+            Vehicle headOfEmergencyLane = waitingQueues.get(emergencyLane).peek();
+            if (crossingVehicles.isEmpty()) {
+                return vehicle == headOfEmergencyLane;
+            } else {
+                return false;
+            }
+        }
+
+        // --- LÓGICA FIFO NORMAL ---
+        if (!crossingVehicles.isEmpty()) {
+            return false;
+        }
+        return globalArrivalQueue.peek() == vehicle;
+    }
+
+    @Override
+    public boolean startCrossing(Vehicle vehicle) {
+        // Preempción: la emergencia cruza antes que alguien que llegó antes y sigue esperando.
+        if (vehicle.getType() == VehicleType.EMERGENCY && globalArrivalQueue.positionOf(vehicle) > 0)
+            metrics.recordPreemption();
+        globalArrivalQueue.remove(vehicle);
+        boolean wasWaiting = waitingQueues.get(vehicle.getOrigin()).remove(vehicle);
+        crossingVehicles.add(vehicle);
+        long now = vehicle.now();
+        long wait = 0;
+        if (vehicle.queuedAtNanos != 0) {
+            wait = now - vehicle.queuedAtNanos;
+            metrics.recordWait(wait);
+            vehicle.queuedAtNanos = 0;
+        }
+        vehicle.crossingAtNanos = now;
+        // Se retira después de marcarlo como cruzando para que nadie más cruce en el intervalo.
+        if (wasWaiting && vehicle.getType() == VehicleType.EMERGENCY)
+            emergencies.remove(vehicle.getOrigin().ordinal());
+        log(EventType.INTERSECTION_CROSSING, vehicle);
+        TrafficEvents.queueTransition(TrafficEvents.CROSSING, 0, vehicle, wait);
+        waiters.signalAll();
+        return true;
+    }
+
+    @Override
+    public void leaveIntersection(Vehicle vehicle) {
+        crossingVehicles.remove(vehicle);
+        long crossing = 0;
+        if (vehicle.crossingAtNanos != 0) {
+            crossing = vehicle.now() - vehicle.crossingAtNanos;
+            metrics.recordCrossing(crossing);
+            vehicle.crossingAtNanos = 0;
+        }
+        log(EventType.INTERSECTION_LEFT, vehicle);
+        TrafficEvents.queueTransition(TrafficEvents.LEFT, 0, vehicle, crossing);
+        waiters.signalAll();
+    }
+
+    private static void log(EventType type, Vehicle vehicle) {
+        EventLog.record(type, 0, vehicle.getId(), vehicle.getType(), vehicle.getOrigin(), null);
+    }
+
+    @Override
+    public int getPositionInQueue(Vehicle vehicle) {
+        return waitingQueues.get(vehicle.getOrigin()).positionOf(vehicle);
+    }
+
+    @Override
+    public boolean isEmergencyActive() {
+        return emergencies.isActive();
+    }
+
+    @Override
+    public Direction getOrigin() {
+        return null;
+    }
+
+    @Override
+    public WaiterRegistry getWaiters() {
+        return waiters;
+    }
+
+    public IntersectionMetrics getMetrics() {
+        return metrics;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+public class IntersectionStateManager {
+
+    // Indexados por id de intersección (la posición 0 no se usa).
+    private final Set<Vehicle>[] crossingStraightVehicles;
+    private final WaiterRegistry[] zoneWaiters;
+    // Vehículos en cada zona por origen ([id * 2] oeste, [id * 2 + 1] este), para consultar
+    // el tráfico opuesto sin recorrer el conjunto.
+    private final AtomicIntegerArray crossingByOrigin;
+
+    @SuppressWarnings("unchecked")
+    public IntersectionStateManager(int intersectionCount) {
+        crossingStraightVehicles = new Set[intersectionCount + 1];
+        zoneWaiters = new WaiterRegistry[intersectionCount + 1];
+        crossingByOrigin = new AtomicIntegerArray((intersectionCount + 1) * 2);
+        for (int i = 1; i <= intersectionCount; i++) {
+            crossingStraightVehicles[i] = ConcurrentHashMap.newKeySet();
+            zoneWaiters[i] = new WaiterRegistry();
+        }
+    }
+
+    public void vehicleEntersStraightZone(int intersectionId, Vehicle vehicle) {
+        if (crossingStraightVehicles[intersectionId].add(vehicle))
+            crossingByOrigin.incrementAndGet(originSlot(intersectionId, vehicle.getOrigin()));
+    }
+
+    public void vehicleExitsStraightZone(int intersectionId, Vehicle vehicle) {
+        if (crossingStraightVehicles[intersectionId].remove(vehicle)) {
+            crossingByOrigin.decrementAndGet(originSlot(intersectionId, vehicle.getOrigin()));
+            zoneWaiters[intersectionId].signalAll();
+        }
+    }
+
+    /** Registro de vehículos que esperan a que se libere la zona de cruce de la intersección. */
+    public WaiterRegistry getWaiters(int intersectionId) {
+        return zoneWaiters[intersectionId];
+    }
+
+    public boolean isOpposingTrafficCrossing(int intersectionId, Vehicle turningVehicle) {
+        Direction opposingDirection = turningVehicle.getOrigin() == Direction.WEST ? Direction.EAST : Direction.WEST;
+
+        return crossingByOrigin.get(originSlot(intersectionId, opposingDirection)) > 0;
+    }
+
+    private static int originSlot(int intersectionId, Direction origin) {
+        return intersectionId * 2 + (origin == Direction.WEST ? 0 : 1);
+    }
+}
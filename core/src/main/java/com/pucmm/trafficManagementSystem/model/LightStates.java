@@ -0,0 +1,96 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import com.pucmm.trafficManagementSystem.jfr.TrafficEvents;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Estado de los semáforos de una topología, compartido por los distintos planes de control.
+ * Una intersección tiene a lo sumo un semáforo por sentido: el de menor id es el primario y
+ * el otro muestra siempre el estado opuesto, así que una fase se fija con un solo valor.
+ */
+final class LightStates {
+    // Indexados por id de semáforo (la posición 0 no se usa).
+    private final AtomicBoolean[] green;
+    private final WaiterRegistry[] waiters;
+    // Semáforo del sentido contrario en la misma intersección, o 0.
+    private final int[] partner;
+    private final HighwayTopology topology;
+    // Inicio del estado actual en tiempo simulado, para la duración de la fase en los eventos JFR.
+    private final long[] changedAt;
+    // Tiempo simulado del plan; lo escribe solo el hilo del tick.
+    private volatile long clockNanos;
+
+    LightStates(HighwayTopology topology) {
+        int lights = topology.getLightCount();
+        green = new AtomicBoolean[lights + 1];
+        waiters = new WaiterRegistry[lights + 1];
+        partner = new int[lights + 1];
+        changedAt = new long[lights + 1];
+        this.topology = topology;
+        // Todos los semáforos empiezan en rojo.
+        for (int id = 1; id <= lights; id++) {
+            green[id] = new AtomicBoolean(false);
+            waiters[id] = new WaiterRegistry();
+            int other = topology.getLightAt(topology.getLightIntersection(id),
+                    topology.getLightOrigin(id) == Direction.EAST ? Direction.WEST : Direction.EAST);
+            partner[id] = Math.max(other, 0);
+        }
+    }
+
+    int size() {
+        return green.length - 1;
+    }
+
+    boolean isPrimary(int lightId) {
+        return partner[lightId] == 0 || lightId < partner[lightId];
+    }
+
+    /** Semáforo opuesto de la intersección, o 0 si el sentido contrario no tiene. */
+    int partnerOf(int lightId) {
+        return partner[lightId];
+    }
+
+    /** Pone el primario en el estado dado y su opuesto en el contrario. */
+    void setPhase(int primaryId, boolean primaryGreen) {
+        set(primaryId, primaryGreen);
+        if (partner[primaryId] != 0)
+            set(partner[primaryId], !primaryGreen);
+    }
+
+    // Cambia el estado y despierta a los vehículos detenidos frente al semáforo.
+    void set(int lightId, boolean isGreen) {
+        if (green[lightId].getAndSet(isGreen) != isGreen) {
+            waiters[lightId].signalAll();
+            long now = clockNanos;
+            TrafficEvents.lightPhase(lightId, topology.getLightIntersection(lightId), topology.getLightOrigin(lightId),
+                    isGreen, now - changedAt[lightId]);
+            changedAt[lightId] = now;
+        }
+    }
+
+    /** Avanza el tiempo simulado del plan. */
+    void advance(long elapsedNanos) {
+        clockNanos += elapsedNanos;
+    }
+
+    long now() {
+        return clockNanos;
+    }
+
+    boolean isGreen(int lightId) {
+        if (!isValid(lightId)) return false;
+        return green[lightId].get();
+    }
+
+    boolean isValid(int lightId) {
+        return lightId >= 1 && lightId < green.length;
+    }
+
+    WaiterRegistry getWaiters(int lightId) {
+        return waiters[lightId];
+    }
+}
@@ -0,0 +1,24 @@
+package com.pucmm.trafficManagementSystem.model;
+
+/**
+ * Plan de control de los semáforos de la autopista. Los vehículos solo consultan el estado
+ * y se estacionan en el registro del semáforo hasta que cambie.
+ */
+public interface TrafficLightController {
+
+    boolean isGreen(int lightId);
+
+    // Método para que los vehículos de emergencia fuercen el verde
+    void setEmergencyGreen(int lightId, boolean green);
+
+    /** Registro de vehículos que esperan un cambio de este semáforo. */
+    WaiterRegistry getWaiters(int lightId);
+
+    /**
+     * Avanza el reloj propio del plan en el tiempo simulado dado. La simulación lo llama en
+     * cada tick de su {@code SimulationClock}; el plan no tiene hilos propios.
+     */
+    void advance(long elapsedNanos);
+
+    void shutdown();
+}
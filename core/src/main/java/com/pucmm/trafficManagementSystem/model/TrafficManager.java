@@ -6,8 +6,10 @@ public interface TrafficManager {
     void addToQueue(Vehicle vehicle);
     void leaveIntersection(Vehicle vehicle);
     boolean isMyTurn(Vehicle vehicle);
-    void startCrossing(Vehicle vehicle);
+    /** Empieza el cruce; devuelve false si el turno se perdió después de {@link #isMyTurn}. */
+    boolean startCrossing(Vehicle vehicle);
     int getPositionInQueue(Vehicle vehicle);
     boolean isEmergencyActive();
     Direction getOrigin();
+    WaiterRegistry getWaiters();
 }
\ No newline at end of file
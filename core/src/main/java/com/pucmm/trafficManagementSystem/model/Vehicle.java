@@ -0,0 +1,733 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.geometry.Point;
+import com.pucmm.trafficManagementSystem.jfr.TrafficEvents;
+import com.pucmm.trafficManagementSystem.metrics.IntersectionMetrics;
+import com.pucmm.trafficManagementSystem.simulation.HighwaySimulation;
+import com.pucmm.trafficManagementSystem.simulation.IntersectionSimulation;
+import com.pucmm.trafficManagementSystem.simulation.SimulationClock;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Comportamiento de un vehículo. Su estado mutable (posición, velocidad, carril, avance
+ * en la ruta y banderas) vive en el {@link VehicleStateStore} de la simulación asignada,
+ * en el slot que se le reserva en {@code setSimulation}.
+ */
+public class Vehicle implements Runnable {
+    public static final long TICK_MILLIS = 16;
+    private volatile boolean running = true;
+    private static final AtomicInteger idCounter = new AtomicInteger(0);
+    /** Distancia que avanza un vehículo en un tick a velocidad normal. */
+    public static final double NORMAL_SPEED = 1.4;
+    private static final double EMERGENCY_CLEAR_SPEED = 1.4;
+    // Alcance del detector de aproximación antes de la línea de detención.
+    private static final double APPROACH_RANGE = 250.0;
+    // Separación entre vehículos en la fila de espera de la intersección simple.
+    private static final double QUEUE_SPACING = 30.0;
+    private final int id;
+    private final VehicleType type;
+    private final Direction origin;
+    private final Direction destination;
+    private final TrafficManager trafficManager;
+    private HighwaySimulation highwaySimulation;
+    private IntersectionSimulation intersectionSimulation;
+    // Reloj de la simulación asignada; las marcas de tiempo del vehículo son en tiempo simulado.
+    private SimulationClock clock;
+    private long arrivalTime;
+    private volatile boolean finished = false;
+    // Vehículo detenido esperando una señal de un WaiterRegistry; no consume pasos hasta que lo despierten.
+    private volatile boolean parked = false;
+    private volatile Thread runner;
+    private volatile WaiterRegistry followers;
+    // Registros en los que está anotado mientras está estacionado (semáforo y zona de cruce, o uno solo).
+    private volatile WaiterRegistry parkedOn;
+    private volatile WaiterRegistry parkedOnToo;
+    // Nodos de las colas de espera en las que está el vehículo (ver VehicleQueue).
+    private volatile VehicleQueue.Node laneQueueNode;
+    private volatile VehicleQueue.Node arrivalQueueNode;
+    private long stepCount;
+    // Semáforo en cuyo tramo de aproximación está contado el vehículo, o 0.
+    private int approachLight;
+    // Tiempo detenido (en rojo o detrás de otro vehículo); waitingSince es 0 mientras avanza.
+    private long waitingSince;
+    private long waitNanos;
+    // Espera acumulada al entrar al tramo de aproximación y cruce en curso en la autopista.
+    private long approachWaitBase;
+    private HighwayIntersection crossingIntersection;
+    // Marcas de tiempo del gestor de tráfico: llegada a la cola e inicio del cruce (0 si no aplica).
+    long queuedAtNanos;
+    long crossingAtNanos;
+
+    private VehicleStateStore.Page state;
+    private int slot = -1;
+    private int index;
+
+    private List<Point> path;
+
+    private TrafficLightController trafficLightController;
+    private IntersectionStateManager intersectionStateManager;
+
+    public Vehicle(VehicleType type, Direction origin, Direction destination, Intersection intersection) {
+        this.id = idCounter.incrementAndGet();
+        this.type = type;
+        this.origin = origin;
+        this.destination = destination;
+        this.trafficManager = intersection;
+    }
+
+    public Vehicle(VehicleType type, Direction origin, Direction action, HighwayIntersection targetIntersection) {
+        this.id = idCounter.incrementAndGet();
+        this.type = type;
+        this.origin = origin;
+        this.destination = action;
+        this.trafficManager = targetIntersection;
+    }
+
+    public void setTrafficLightController(TrafficLightController tlc) {
+        this.trafficLightController = tlc;
+    }
+
+    public void setIntersectionStateManager(IntersectionStateManager ism) {
+        this.intersectionStateManager = ism;
+    }
+
+    @Override
+    public void run() {
+        runner = Thread.currentThread();
+        try {
+            while (step()) {
+                if (parked)
+                    awaitWakeUp();
+                else
+                    clock.awaitStep();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finish();
+        }
+    }
+
+    /**
+     * Avanza el vehículo un paso de simulación (un tick). Devuelve false cuando el
+     * vehículo terminó su recorrido o fue detenido; en ese caso ya quedó finalizado.
+     */
+    public boolean step() {
+        if (finished)
+            return false;
+        if (parked && running)
+            return true;
+        stepCount++;
+
+        boolean active = running;
+        if (active) {
+            if (intersectionSimulation != null) {
+                active = stepSimpleIntersectionLogic();
+            } else if (highwaySimulation != null) {
+                active = stepHighwayLogic();
+            } else {
+                active = false;
+            }
+        }
+
+        if (!active)
+            finish();
+        return active;
+    }
+
+    private boolean stepSimpleIntersectionLogic() {
+        if (path == null) {
+            path = getPathFromSimulation();
+            if (path.isEmpty())
+                return false;
+            trafficManager.addToQueue(this);
+            setSegment(1);
+        }
+
+        Point target = path.get(segment());
+        double targetX = target.getX();
+        double targetY = target.getY();
+        boolean waiting = false;
+        WaiterRegistry queueWaiters = trafficManager.getWaiters();
+        long seenVersion = queueWaiters.version();
+
+        if (!hasFlag(VehicleStateStore.FLAG_CROSSING_STARTED)) {
+            if (trafficManager.isMyTurn(this) && trafficManager.startCrossing(this)) {
+                setFlag(VehicleStateStore.FLAG_CROSSING_STARTED);
+                intersectionSimulation.onVehicleAdmitted(this);
+                target = path.get(segment());
+                targetX = target.getX();
+                targetY = target.getY();
+            } else {
+                // Su lugar en la fila: la línea de detención retrasada según su puesto en la cola.
+                Point stopLine = path.get(1);
+                double offset = queueOffset();
+                targetX = stopLine.getX() + queueSignX(origin) * offset;
+                targetY = stopLine.getY() + queueSignY(origin) * offset;
+                waiting = true;
+            }
+        }
+
+        double remaining = moveTo(targetX, targetY,
+                this.type == VehicleType.EMERGENCY || trafficManager.isEmergencyActive());
+
+        // Ya en su lugar de la fila: espera a que cambie la cola en vez de consultar cada tick.
+        if (waiting && remaining < 1.5) {
+            park(queueWaiters, seenVersion);
+        }
+
+        boolean crossingStarted = hasFlag(VehicleStateStore.FLAG_CROSSING_STARTED);
+        if (remaining < 1.5) {
+            if (crossingStarted) {
+                setSegment(segment() + 1);
+            }
+        }
+
+        if (crossingStarted && !hasFlag(VehicleStateStore.FLAG_LEFT_INTERSECTION) && segment() == path.size() - 1) {
+            trafficManager.leaveIntersection(this);
+            setFlag(VehicleStateStore.FLAG_LEFT_INTERSECTION);
+        }
+
+        return segment() < path.size();
+    }
+
+    private boolean stepHighwayLogic() {
+        if (path == null) {
+            path = getPathFromSimulation();
+            if (path.isEmpty())
+                return false;
+            calculateTrafficLightPath();
+            setSegment(1);
+        }
+        updateApproach();
+
+        Vehicle leader = highwaySimulation.findLeaderFor(this);
+        if (leader != null) {
+            double safeDistance = highwaySimulation.getSafeDistance();
+            double leaderDistance = distanceTo(leader.getX(), leader.getY());
+            // Un vehículo de emergencia cercano despierta al de adelante para que le ceda el paso.
+            if (this.type == VehicleType.EMERGENCY && leaderDistance < safeDistance * 1.5) {
+                leader.wake();
+            }
+            if (leaderDistance < safeDistance) {
+                startWaiting();
+                leaveZoneWhileStopped();
+                if (this.type != VehicleType.EMERGENCY) {
+                    WaiterRegistry leaderFollowers = leader.followers();
+                    long seenVersion = leaderFollowers.version();
+                    if (leader.parked)
+                        park(leaderFollowers, seenVersion);
+                }
+                return true;
+            }
+        }
+
+        if (isApproachingTrafficLight()) {
+            int lightId = highwaySimulation.getTopology().getSequenceLight(origin, state.nextLight.get(index));
+            Point stopLine = highwaySimulation.getGeometry().getStopLine(lightId, getLane());
+            boolean stopLineIsInFront = (origin == Direction.WEST && getX() < stopLine.getX())
+                    || (origin == Direction.EAST && getX() > stopLine.getX());
+
+            if (stopLineIsInFront && distanceTo(stopLine.getX(), stopLine.getY()) > 2.0) {
+                stopWaiting();
+                moveTo(stopLine.getX(), stopLine.getY(), this.type == VehicleType.EMERGENCY);
+                updateIntersectionState();
+                return true;
+            }
+
+            boolean preempted = false;
+            if (stopLineIsInFront) {
+                WaiterRegistry lightWaiters = trafficLightController.getWaiters(lightId);
+                WaiterRegistry zoneWaiters = null;
+                if ((destination == Direction.LEFT || destination == Direction.U_TURN) && isAtFinalTurn(lightId))
+                    zoneWaiters = intersectionStateManager.getWaiters(getTargetIntersection().getId());
+                long seenLightVersion = lightWaiters.version();
+                long seenZoneVersion = zoneWaiters != null ? zoneWaiters.version() : 0;
+                boolean canGo = false;
+                if (this.type == VehicleType.EMERGENCY) {
+                    canGo = true;
+                    preempted = !trafficLightController.isGreen(lightId);
+                    if ((destination == Direction.LEFT || destination == Direction.U_TURN)
+                            && isAtFinalTurn(lightId)) {
+                        if (intersectionStateManager.isOpposingTrafficCrossing(getTargetIntersection().getId(),
+                                this)) {
+                            canGo = false;
+                        }
+                    }
+                } else {
+                    boolean isLightGreen = trafficLightController.isGreen(lightId);
+                    canGo = isLightGreen;
+                    if (!isLightGreen) {
+                        if (highwaySimulation.findEmergencyFollower(this) != null) {
+                            canGo = true;
+                            preempted = true;
+                        }
+                    }
+                    if (canGo && (destination == Direction.LEFT || destination == Direction.U_TURN)
+                            && isAtFinalTurn(lightId)) {
+                        if (intersectionStateManager.isOpposingTrafficCrossing(getTargetIntersection().getId(),
+                                this)) {
+                            canGo = false;
+                        }
+                    }
+                }
+
+                if (!canGo) {
+                    startWaiting();
+                    updateIntersectionState();
+                    // Espera el cambio de luz o que se libere la zona de cruce.
+                    park(lightWaiters, seenLightVersion, zoneWaiters, seenZoneVersion);
+                    return true;
+                }
+            }
+            passLight(lightId, preempted);
+            state.nextLight.put(index, state.nextLight.get(index) + 1);
+        }
+
+        stopWaiting();
+        Point currentTarget = path.get(segment());
+        double remaining = moveTo(currentTarget.getX(), currentTarget.getY(), this.type == VehicleType.EMERGENCY);
+
+        if (remaining < 2.0) {
+            setSegment(segment() + 1);
+        }
+
+        updateIntersectionState();
+
+        if (segment() < path.size())
+            return true;
+
+        if (running && this.destination == Direction.U_TURN) {
+            highwaySimulation.spawnStraightVehicleFromUTurn(this);
+        }
+        return false;
+    }
+
+    private void finish() {
+        if (finished)
+            return;
+        // Los que esperan detrás de este no deben quedar estacionados sobre un vehículo que ya no avanza.
+        unpark();
+
+        if (highwaySimulation != null) {
+            stopWaiting();
+            endCrossing(now());
+            if (approachLight != 0) {
+                approachIntersection(approachLight).leaveApproach(this);
+                approachLight = 0;
+            }
+            if (intersectionStateManager != null) {
+                int lastKnownIntersectionId = state.lastIntersection.get(index);
+                if (lastKnownIntersectionId != -1) {
+                    intersectionStateManager.vehicleExitsStraightZone(lastKnownIntersectionId, this);
+                }
+            }
+            if (trafficManager != null)
+                trafficManager.leaveIntersection(this);
+            this.finished = true;
+            highwaySimulation.onVehicleFinished(this);
+        } else {
+            this.finished = true;
+            if (intersectionSimulation != null)
+                intersectionSimulation.onVehicleFinished(this);
+        }
+    }
+
+    private void park(WaiterRegistry registry, long seenVersion) {
+        park(registry, seenVersion, null, 0);
+    }
+
+    // Se estaciona en uno o dos registros; si alguno cambió desde la versión leída, no se estaciona.
+    private void park(WaiterRegistry registry, long seenVersion, WaiterRegistry other, long otherSeenVersion) {
+        parkedOn = registry;
+        parkedOnToo = other;
+        parked = true;
+        boolean unchanged = registry.await(this, seenVersion);
+        if (other != null && !other.await(this, otherSeenVersion))
+            unchanged = false;
+        if (!unchanged)
+            unpark();
+    }
+
+    /**
+     * Único camino para dejar de estar estacionado: se borra de los registros en los que
+     * seguía anotado y avisa a los que esperan detrás. Un seguidor que vio {@code parked}
+     * en true antes de este cambio ve subir la versión y no se queda dormido.
+     */
+    private void unpark() {
+        parked = false;
+        WaiterRegistry registry = parkedOn;
+        if (registry != null) {
+            parkedOn = null;
+            registry.cancel(this);
+        }
+        registry = parkedOnToo;
+        if (registry != null) {
+            parkedOnToo = null;
+            registry.cancel(this);
+        }
+        registry = followers;
+        if (registry != null)
+            registry.signalAll();
+    }
+
+    VehicleQueue.Node getQueueNode(VehicleQueue.Role role) {
+        return role == VehicleQueue.Role.LANE ? laneQueueNode : arrivalQueueNode;
+    }
+
+    void setQueueNode(VehicleQueue.Role role, VehicleQueue.Node node) {
+        if (role == VehicleQueue.Role.LANE)
+            laneQueueNode = node;
+        else
+            arrivalQueueNode = node;
+    }
+
+    /** Reanuda a un vehículo estacionado; sin efecto si no lo está. */
+    void wake() {
+        if (!parked)
+            return;
+        unpark();
+        Thread thread = runner;
+        if (thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    // Se crea solo cuando algún vehículo queda detenido detrás de este.
+    private WaiterRegistry followers() {
+        WaiterRegistry registry = followers;
+        if (registry == null) {
+            synchronized (this) {
+                registry = followers;
+                if (registry == null)
+                    followers = registry = new WaiterRegistry();
+            }
+        }
+        return registry;
+    }
+
+    private void awaitWakeUp() throws InterruptedException {
+        while (parked && running) {
+            LockSupport.park(this);
+            if (Thread.interrupted())
+                throw new InterruptedException();
+        }
+    }
+
+    // Detector de aproximación: el vehículo cuenta en la demanda del próximo semáforo mientras
+    // esté a menos de APPROACH_RANGE de su línea de detención y deja de contar al pasarlo.
+    private void updateApproach() {
+        int lightId = 0;
+        if (isApproachingTrafficLight()) {
+            int next = highwaySimulation.getTopology().getSequenceLight(origin, state.nextLight.get(index));
+            Point stopLine = highwaySimulation.getGeometry().getStopLine(next, getLane());
+            double ahead = origin == Direction.WEST ? stopLine.getX() - getX() : getX() - stopLine.getX();
+            if (ahead >= 0 && ahead <= APPROACH_RANGE)
+                lightId = next;
+        }
+        if (lightId == approachLight)
+            return;
+        if (approachLight != 0)
+            approachIntersection(approachLight).leaveApproach(this);
+        if (lightId != 0) {
+            approachIntersection(lightId).enterApproach(this);
+            approachWaitBase = currentWaitNanos();
+        }
+        approachLight = lightId;
+    }
+
+    // Pasa la línea de detención: registra la espera en el tramo de aproximación y empieza el cruce.
+    private void passLight(int lightId, boolean preempted) {
+        HighwayIntersection intersection = approachIntersection(lightId);
+        IntersectionMetrics metrics = intersection.getMetrics();
+        long now = now();
+        long wait = approachLight == lightId ? currentWaitNanos() - approachWaitBase : 0;
+        metrics.recordWait(wait);
+        TrafficEvents.stopLineWait(intersection.getId(), lightId, this, wait, preempted);
+        highwaySimulation.onVehicleAdmitted(this, lightId);
+        // Preempción solo si la emergencia pasa en rojo delante de alguien detenido en la línea;
+        // el vehículo que le abre paso cruza en rojo pero no cuenta.
+        if (preempted && type == VehicleType.EMERGENCY
+                && trafficLightController.getWaiters(lightId).getWaiterCount() > 0)
+            metrics.recordPreemption();
+        endCrossing(now);
+        crossingIntersection = intersection;
+        crossingAtNanos = now;
+    }
+
+    private void endCrossing(long now) {
+        if (crossingIntersection != null) {
+            crossingIntersection.getMetrics().recordCrossing(now - crossingAtNanos);
+            crossingIntersection = null;
+            crossingAtNanos = 0;
+        }
+    }
+
+    private long currentWaitNanos() {
+        return waitingSince == 0 ? waitNanos : waitNanos + now() - waitingSince;
+    }
+
+    private HighwayIntersection approachIntersection(int lightId) {
+        return highwaySimulation.getIntersection(highwaySimulation.getTopology().getLightIntersection(lightId));
+    }
+
+    private void startWaiting() {
+        if (waitingSince == 0)
+            waitingSince = now();
+    }
+
+    private void stopWaiting() {
+        if (waitingSince != 0) {
+            waitNanos += now() - waitingSince;
+            waitingSince = 0;
+        }
+    }
+
+    /** Tiempo total que el vehículo pasó detenido en la autopista. */
+    public long getWaitNanos() {
+        return waitNanos;
+    }
+
+    private boolean isAtFinalTurn(int lightId) {
+        if (getTargetIntersection() == null)
+            return false;
+        return highwaySimulation.getTopology().getLightIntersection(lightId) == getTargetIntersection().getId();
+    }
+
+    private void updateIntersectionState() {
+        int currentIntersectionId = getMyCurrentIntersectionId();
+        int lastKnownIntersectionId = state.lastIntersection.get(index);
+
+        if (lastKnownIntersectionId != -1 && lastKnownIntersectionId != currentIntersectionId) {
+            intersectionStateManager.vehicleExitsStraightZone(lastKnownIntersectionId, this);
+            if (crossingIntersection != null && crossingIntersection.getId() == lastKnownIntersectionId)
+                endCrossing(now());
+        }
+
+        if (currentIntersectionId != -1) {
+            intersectionStateManager.vehicleEntersStraightZone(currentIntersectionId, this);
+        }
+
+        state.lastIntersection.put(index, currentIntersectionId);
+    }
+
+    /**
+     * Detenido detrás de otro vehículo no cruza: sale de la zona de la intersección en la que
+     * quedó parado y vuelve a entrar cuando avance. Si contara, una fila de un sentido que se
+     * extiende hasta la calle de una intersección frenaría los giros a la izquierda del otro
+     * sentido allí, y la fila de esos giros puede a su vez llegar hasta una calle que frena
+     * los del primero: la vía se traba aunque nadie esté cruzando.
+     */
+    private void leaveZoneWhileStopped() {
+        int lastKnownIntersectionId = state.lastIntersection.get(index);
+        if (lastKnownIntersectionId != -1) {
+            intersectionStateManager.vehicleExitsStraightZone(lastKnownIntersectionId, this);
+            state.lastIntersection.put(index, -1);
+        }
+    }
+
+    private int getMyCurrentIntersectionId() {
+        return highwaySimulation.getGeometry().intersectionAt(getX());
+    }
+
+    private boolean isApproachingTrafficLight() {
+        return state.nextLight.get(index) < state.lightEnd.get(index);
+    }
+
+    // Los semáforos por cruzar siempre forman un tramo contiguo de la secuencia del sentido,
+    // así que basta con guardar el rango [nextLight, lightEnd).
+    private void calculateTrafficLightPath() {
+        HighwayTopology topology = highwaySimulation.getTopology();
+        int first = 0;
+        int end;
+        if (destination == Direction.STRAIGHT || destination == Direction.U_TURN_CONTINUATION) {
+            // Los que siguen recto recorren el resto de la secuencia desde su posición.
+            first = highwaySimulation.getGeometry().lightsPassed(origin, getX());
+            end = topology.getSequenceLength(origin);
+        } else {
+            // Los que giran se detienen en los semáforos hasta su intersección, incluido el de ella.
+            int finalIntersectionId = (getTargetIntersection() != null) ? getTargetIntersection().getId() : 0;
+            end = topology.getLightsThrough(finalIntersectionId, origin);
+        }
+        state.nextLight.put(index, first);
+        state.lightEnd.put(index, Math.max(first, end));
+    }
+
+    private List<Point> getPathFromSimulation() {
+        if (highwaySimulation != null) {
+            return highwaySimulation.getPath(this);
+        } else if (intersectionSimulation != null) {
+            return intersectionSimulation.getGeometry().getPath(origin, destination);
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Avanza hacia el punto a la velocidad actual y devuelve la distancia que queda. La
+     * dirección es el vector al objetivo normalizado con la misma raíz que mide la distancia,
+     * sin trigonometría ni objetos intermedios: el paso no reserva memoria.
+     */
+    private double moveTo(double targetX, double targetY, boolean emergency) {
+        double currentSpeed = emergency ? EMERGENCY_CLEAR_SPEED : state.speed.get(index);
+        double x = getX();
+        double y = getY();
+        double dx = targetX - x;
+        double dy = targetY - y;
+        double distance = Math.sqrt(dx * dx + dy * dy);
+
+        if (distance < currentSpeed) {
+            setPosition(targetX, targetY);
+            return 0;
+        }
+        double scale = currentSpeed / distance;
+        setPosition(x + dx * scale, y + dy * scale);
+        return distance - currentSpeed;
+    }
+
+    private double queueOffset() {
+        return trafficManager == null ? 0 : trafficManager.getPositionInQueue(this) * QUEUE_SPACING;
+    }
+
+    // Sentido en que crece la fila detrás de la línea de detención, por origen.
+    private static int queueSignX(Direction origin) {
+        return origin == Direction.EAST ? 1 : origin == Direction.WEST ? -1 : 0;
+    }
+
+    private static int queueSignY(Direction origin) {
+        return origin == Direction.SOUTH ? 1 : origin == Direction.NORTH ? -1 : 0;
+    }
+
+    public double distanceTo(Point target) {
+        return distanceTo(target.getX(), target.getY());
+    }
+
+    private double distanceTo(double x, double y) {
+        double dx = x - getX();
+        double dy = y - getY();
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public void setSimulation(IntersectionSimulation simulation) {
+        this.intersectionSimulation = simulation;
+        attach(simulation.getStateStore(), simulation.getClock());
+    }
+
+    public void setSimulation(HighwaySimulation simulation) {
+        this.highwaySimulation = simulation;
+        attach(simulation.getStateStore(), simulation.getClock());
+    }
+
+    private void attach(VehicleStateStore store, SimulationClock clock) {
+        this.clock = clock;
+        this.slot = store.allocate(this);
+        this.state = store.page(slot);
+        this.index = slot & VehicleStateStore.PAGE_MASK;
+        this.arrivalTime = now();
+        state.speed.put(index, NORMAL_SPEED);
+    }
+
+    private int segment() {
+        return state.segment.get(index);
+    }
+
+    private void setSegment(int segment) {
+        state.segment.put(index, segment);
+    }
+
+    private boolean hasFlag(byte flag) {
+        return (state.flags.get(index) & flag) != 0;
+    }
+
+    private void setFlag(byte flag) {
+        state.flags.put(index, (byte) (state.flags.get(index) | flag));
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    /** Slot del vehículo en el almacén de estado de su simulación, o -1 si no tiene simulación. */
+    public int getSlot() {
+        return slot;
+    }
+
+    public double getX() {
+        return state.x.get(index);
+    }
+
+    public double getY() {
+        return state.y.get(index);
+    }
+
+    public void setPosition(double x, double y) {
+        state.x.put(index, x);
+        state.y.put(index, y);
+    }
+
+    /** Instante simulado ({@link SimulationClock#nanos()}) en que el vehículo entró a su simulación. */
+    public long getArrivalTime() {
+        return arrivalTime;
+    }
+
+    /**
+     * Tiempo simulado de la simulación del vehículo. Sin simulación (pruebas de rendimiento de
+     * un gestor aislado) se usa el reloj de pared.
+     */
+    long now() {
+        SimulationClock current = clock;
+        return current == null ? System.nanoTime() : current.nanos();
+    }
+
+    /** Número de pasos de simulación ejecutados por este vehículo. */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public VehicleType getType() {
+        return type;
+    }
+
+    public Direction getOrigin() {
+        return origin;
+    }
+
+    public Direction getDestination() {
+        return destination;
+    }
+
+    public void stop() {
+        this.running = false;
+        Thread thread = runner;
+        if (thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    public boolean isParked() {
+        return parked;
+    }
+
+    public void setLane(Direction lane) {
+        state.lane.put(index, VehicleStateStore.code(lane));
+    }
+
+    public Direction getLane() {
+        return VehicleStateStore.direction(state.lane.get(index));
+    }
+
+    public HighwayIntersection getTargetIntersection() {
+        if (trafficManager instanceof HighwayIntersection) {
+            return (HighwayIntersection) trafficManager;
+        }
+        return null;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cola FIFO intrusiva de vehículos. Cada vehículo guarda su propio nodo para cada
+ * {@link Role}, así que quitar un vehículo conocido no recorre la cola. Cada nodo lleva
+ * un número de turno fijo; la posición en la cola es la diferencia con el turno de la
+ * cabeza menos los turnos ya retirados entre ambos, que se cuentan en un árbol de Fenwick.
+ *
+ * Las modificaciones se serializan con un {@code ReentrantLock} de la cola (un monitor
+ * fijaría al hilo virtual que espera a su portador) y cuestan O(log n), también quitar un
+ * vehículo del medio (una emergencia que adelanta). Las lecturas ({@link #peek},
+ * {@link #positionOf}, {@link #isEmpty}) no bloquean; mientras no haya huecos entre la
+ * cabeza y la cola, la posición no consulta el árbol.
+ */
+final class VehicleQueue {
+    private static final int MIN_CAPACITY = 16;
+
+    /** Papel de la cola; indica qué nodo del vehículo usa. Un vehículo puede estar en una cola de cada papel. */
+    enum Role {
+        LANE,
+        ARRIVAL
+    }
+
+    static final class Node {
+        final VehicleQueue owner;
+        final Vehicle vehicle;
+        final long ticket;
+        Node prev;
+        Node next;
+
+        private Node(VehicleQueue owner, Vehicle vehicle, long ticket) {
+            this.owner = owner;
+            this.vehicle = vehicle;
+            this.ticket = ticket;
+        }
+    }
+
+    /** Turnos retirados a partir de {@code base}, en un árbol de Fenwick de tamaño potencia de dos. */
+    private static final class Removed {
+        final long base;
+        final int[] tree;
+
+        Removed(long base, int capacity) {
+            this.base = base;
+            this.tree = new int[capacity + 1];
+        }
+
+        int capacity() {
+            return tree.length - 1;
+        }
+
+        void mark(long ticket) {
+            for (int i = (int) (ticket - base) + 1; i < tree.length; i += i & -i)
+                tree[i]++;
+        }
+
+        /** Turnos retirados en [base, ticket); fuera de rango se recorta. */
+        int before(long ticket) {
+            long offset = Math.min(Math.max(0, ticket - base), capacity());
+            int count = 0;
+            for (int i = (int) offset; i > 0; i -= i & -i)
+                count += tree[i];
+            return count;
+        }
+    }
+
+    private final Role role;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Node head;
+    private Node tail;
+    private volatile int size;
+    /** Turnos retirados entre la cabeza y la cola. */
+    private volatile int gaps;
+    private long nextTicket;
+    private volatile Removed removed = new Removed(0, MIN_CAPACITY);
+
+    VehicleQueue(Role role) {
+        this.role = role;
+    }
+
+    /** Encola al vehículo al final; devuelve false si ya estaba en esta cola. */
+    boolean add(Vehicle vehicle) {
+        lock.lock();
+        try {
+            Node queued = vehicle.getQueueNode(role);
+            if (queued != null && queued.owner == this)
+                return false;
+            if (nextTicket - removed.base >= removed.capacity())
+                rebuild();
+            Node node = new Node(this, vehicle, nextTicket++);
+            if (tail == null) {
+                head = node;
+            } else {
+                node.prev = tail;
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+            vehicle.setQueueNode(role, node);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Quita al vehículo si está en esta cola; devuelve false si no estaba. */
+    boolean remove(Vehicle vehicle) {
+        lock.lock();
+        try {
+            Node node = vehicle.getQueueNode(role);
+            if (node == null || node.owner != this)
+                return false;
+
+            if (node.prev == null)
+                head = node.next;
+            else
+                node.prev.next = node.next;
+            if (node.next == null)
+                tail = node.prev;
+            else
+                node.next.prev = node.prev;
+
+            removed.mark(node.ticket);
+            node.prev = null;
+            node.next = null;
+            size--;
+            gaps = head == null ? 0 : (int) (tail.ticket - head.ticket + 1 - size);
+            vehicle.setQueueNode(role, null);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Se acabó el espacio de turnos: el árbol nuevo empieza en la cabeza, con el doble del
+     * tramo vivo, y solo vuelve a marcar los huecos entre nodos. Como el tramo crece al menos
+     * otro tanto antes del siguiente, el costo se reparte en O(1) por inserción.
+     */
+    private void rebuild() {
+        long base = head == null ? nextTicket : head.ticket;
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2 * (nextTicket - base))
+            capacity <<= 1;
+        Removed fresh = new Removed(base, capacity);
+        for (Node node = head; node != null && node.next != null; node = node.next) {
+            for (long gap = node.ticket + 1; gap < node.next.ticket; gap++)
+                fresh.mark(gap);
+        }
+        removed = fresh;
+    }
+
+    Vehicle peek() {
+        Node first = head;
+        return first == null ? null : first.vehicle;
+    }
+
+    /** Vehículos delante del dado, o -1 si no está en esta cola. */
+    int positionOf(Vehicle vehicle) {
+        Node node = vehicle.getQueueNode(role);
+        Node first = head;
+        if (node == null || node.owner != this || first == null)
+            return -1;
+        long ahead = node.ticket - first.ticket;
+        if (gaps > 0) {
+            Removed marks = removed;
+            ahead -= marks.before(node.ticket) - marks.before(first.ticket + 1);
+        }
+        // Una lectura simultánea a una modificación puede quedar desfasada, nunca negativa.
+        return (int) Math.max(0, Math.min(ahead, size - 1));
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,277 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Almacén denso del estado mutable de los vehículos, organizado como estructura de
+ * arreglos: cada campo (posición, velocidad, carril, segmento de ruta, banderas...) vive
+ * en su propia columna primitiva y cada vehículo ocupa un slot entero reutilizable.
+ *
+ * Las columnas se reservan por páginas de tamaño fijo, así que crecer nunca mueve datos
+ * que otro hilo esté escribiendo. Con {@code offHeap} las páginas se reservan fuera del
+ * montículo ({@link ByteBuffer#allocateDirect}); se activa con -Dtraffic.store.offHeap=true.
+ *
+ * Un slot liberado no se reutiliza hasta que pasan dos ticks completos ({@link #advanceEpoch()}),
+ * de modo que los índices publicados en el tick anterior nunca leen el estado de otro vehículo.
+ */
+public class VehicleStateStore {
+    static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    static final byte FLAG_ACTIVE = 1;
+    static final byte FLAG_CROSSING_STARTED = 1 << 1;
+    static final byte FLAG_LEFT_INTERSECTION = 1 << 2;
+    static final byte FLAG_EMERGENCY = 1 << 3;
+
+    private static final byte NO_DIRECTION = -1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // Bytes por slot: x, y, speed (double) + segment, nextLight, lightEnd, lastIntersection (int)
+    // + origin, lane, flags (byte).
+    private static final int BYTES_PER_SLOT = 3 * Double.BYTES + 4 * Integer.BYTES + 3;
+
+    private final boolean offHeap;
+    // Altas y bajas llegan desde los hilos de los vehículos, que pueden ser virtuales.
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Page[] pages = new Page[0];
+    private int highWater;
+
+    private int[] free = new int[64];
+    private int freeCount;
+    // Slots liberados durante el tick actual y durante el anterior.
+    private int[] retired = new int[64];
+    private int retiredCount;
+    private int[] cooling = new int[64];
+    private int coolingCount;
+    private int liveCount;
+
+    public VehicleStateStore() {
+        this(Boolean.getBoolean("traffic.store.offHeap"));
+    }
+
+    public VehicleStateStore(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    /** Reserva un slot para el vehículo e inicializa sus columnas. */
+    public int allocate(Vehicle owner) {
+        lock.lock();
+        try {
+            int slot;
+            if (freeCount > 0) {
+                slot = free[--freeCount];
+            } else {
+                slot = highWater++;
+                if ((slot >>> PAGE_SHIFT) == pages.length) {
+                    Page[] grown = Arrays.copyOf(pages, pages.length + 1);
+                    grown[pages.length] = new Page(offHeap);
+                    pages = grown;
+                }
+            }
+            Page page = pages[slot >>> PAGE_SHIFT];
+            int i = slot & PAGE_MASK;
+            page.x.put(i, 0);
+            page.y.put(i, 0);
+            page.speed.put(i, 0);
+            page.segment.put(i, 0);
+            page.nextLight.put(i, 0);
+            page.lightEnd.put(i, 0);
+            page.lastIntersection.put(i, -1);
+            page.origin.put(i, code(owner.getOrigin()));
+            page.lane.put(i, NO_DIRECTION);
+            page.flags.put(i, owner.getType() == VehicleType.EMERGENCY ? (byte) (FLAG_ACTIVE | FLAG_EMERGENCY) : FLAG_ACTIVE);
+            page.owners[i] = owner;
+            liveCount++;
+            return slot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Marca el slot como libre; se podrá reutilizar tras dos avances de época. */
+    public void release(int slot) {
+        lock.lock();
+        try {
+            Page page = pages[slot >>> PAGE_SHIFT];
+            int i = slot & PAGE_MASK;
+            if ((page.flags.get(i) & FLAG_ACTIVE) == 0)
+                return;
+            page.flags.put(i, (byte) 0);
+            page.owners[i] = null;
+            if (retiredCount == retired.length)
+                retired = Arrays.copyOf(retired, retiredCount * 2);
+            retired[retiredCount++] = slot;
+            liveCount--;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Se invoca una vez por tick: los slots que ya cumplieron su periodo de gracia pasan a estar libres. */
+    public void advanceEpoch() {
+        lock.lock();
+        try {
+            if (freeCount + coolingCount > free.length)
+                free = Arrays.copyOf(free, Math.max(free.length * 2, freeCount + coolingCount));
+            System.arraycopy(cooling, 0, free, freeCount, coolingCount);
+            freeCount += coolingCount;
+
+            int[] swap = cooling;
+            cooling = retired;
+            coolingCount = retiredCount;
+            retired = swap;
+            retiredCount = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Límite superior (exclusivo) de los slots que se han usado alguna vez. */
+    public int getHighWater() {
+        Page[] current = pages;
+        return Math.min(highWater, current.length << PAGE_SHIFT);
+    }
+
+    public int getLiveCount() {
+        lock.lock();
+        try {
+            return liveCount;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    /** Bytes de columnas primitivas por slot; la columna de dueños siempre vive en el montículo. */
+    public int getBytesPerSlot() {
+        return BYTES_PER_SLOT;
+    }
+
+    /** Bytes reservados fuera del montículo por las páginas actuales. */
+    public long getOffHeapBytes() {
+        return offHeap ? (long) pages.length * PAGE_SIZE * BYTES_PER_SLOT : 0;
+    }
+
+    Page page(int slot) {
+        return pages[slot >>> PAGE_SHIFT];
+    }
+
+    public boolean isActive(int slot) {
+        return (flags(slot) & FLAG_ACTIVE) != 0;
+    }
+
+    public boolean isEmergency(int slot) {
+        return (flags(slot) & FLAG_EMERGENCY) != 0;
+    }
+
+    public Vehicle getOwner(int slot) {
+        return page(slot).owners[slot & PAGE_MASK];
+    }
+
+    public double getX(int slot) {
+        return page(slot).x.get(slot & PAGE_MASK);
+    }
+
+    public double getY(int slot) {
+        return page(slot).y.get(slot & PAGE_MASK);
+    }
+
+    public Direction getOrigin(int slot) {
+        return direction(page(slot).origin.get(slot & PAGE_MASK));
+    }
+
+    public Direction getLane(int slot) {
+        return direction(page(slot).lane.get(slot & PAGE_MASK));
+    }
+
+    public int getSegment(int slot) {
+        return page(slot).segment.get(slot & PAGE_MASK);
+    }
+
+    /** Semáforos de la ruta que el vehículo ya pasó. */
+    public int getLightsPassed(int slot) {
+        return page(slot).nextLight.get(slot & PAGE_MASK);
+    }
+
+    public boolean isCrossingStarted(int slot) {
+        return (flags(slot) & FLAG_CROSSING_STARTED) != 0;
+    }
+
+    public boolean hasLeftIntersection(int slot) {
+        return (flags(slot) & FLAG_LEFT_INTERSECTION) != 0;
+    }
+
+    private byte flags(int slot) {
+        return page(slot).flags.get(slot & PAGE_MASK);
+    }
+
+    static byte code(Direction direction) {
+        return direction == null ? NO_DIRECTION : (byte) direction.ordinal();
+    }
+
+    static Direction direction(byte code) {
+        return code == NO_DIRECTION ? null : DIRECTIONS[code];
+    }
+
+    /** Una página de columnas para {@link #PAGE_SIZE} slots consecutivos. */
+    static final class Page {
+        final DoubleBuffer x;
+        final DoubleBuffer y;
+        final DoubleBuffer speed;
+        final IntBuffer segment;
+        final IntBuffer nextLight;
+        final IntBuffer lightEnd;
+        final IntBuffer lastIntersection;
+        final ByteBuffer origin;
+        final ByteBuffer lane;
+        final ByteBuffer flags;
+        final Vehicle[] owners = new Vehicle[PAGE_SIZE];
+
+        Page(boolean offHeap) {
+            if (offHeap) {
+                ByteBuffer block = ByteBuffer.allocateDirect(PAGE_SIZE * BYTES_PER_SLOT).order(ByteOrder.nativeOrder());
+                x = slice(block, PAGE_SIZE * Double.BYTES).asDoubleBuffer();
+                y = slice(block, PAGE_SIZE * Double.BYTES).asDoubleBuffer();
+                speed = slice(block, PAGE_SIZE * Double.BYTES).asDoubleBuffer();
+                segment = slice(block, PAGE_SIZE * Integer.BYTES).asIntBuffer();
+                nextLight = slice(block, PAGE_SIZE * Integer.BYTES).asIntBuffer();
+                lightEnd = slice(block, PAGE_SIZE * Integer.BYTES).asIntBuffer();
+                lastIntersection = slice(block, PAGE_SIZE * Integer.BYTES).asIntBuffer();
+                origin = slice(block, PAGE_SIZE);
+                lane = slice(block, PAGE_SIZE);
+                flags = slice(block, PAGE_SIZE);
+            } else {
+                x = DoubleBuffer.allocate(PAGE_SIZE);
+                y = DoubleBuffer.allocate(PAGE_SIZE);
+                speed = DoubleBuffer.allocate(PAGE_SIZE);
+                segment = IntBuffer.allocate(PAGE_SIZE);
+                nextLight = IntBuffer.allocate(PAGE_SIZE);
+                lightEnd = IntBuffer.allocate(PAGE_SIZE);
+                lastIntersection = IntBuffer.allocate(PAGE_SIZE);
+                origin = ByteBuffer.allocate(PAGE_SIZE);
+                lane = ByteBuffer.allocate(PAGE_SIZE);
+                flags = ByteBuffer.allocate(PAGE_SIZE);
+            }
+        }
+
+        // Corta los siguientes {@code length} bytes del bloque como una columna independiente.
+        private static ByteBuffer slice(ByteBuffer block, int length) {
+            ByteBuffer column = block.slice().order(ByteOrder.nativeOrder());
+            column.limit(length);
+            block.position(block.position() + length);
+            return column;
+        }
+    }
+}
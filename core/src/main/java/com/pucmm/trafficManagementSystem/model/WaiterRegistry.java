@@ -0,0 +1,49 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro de vehículos estacionados a la espera de un cambio de estado (turno de cruce,
+ * cambio de semáforo, zona de cruce libre). Funciona como un contador de eventos: el
+ * vehículo lee la versión antes de evaluar su condición y solo se estaciona si no hubo
+ * ninguna señal entre esa lectura y su registro, de modo que no se pierden despertares.
+ */
+public class WaiterRegistry {
+    private final AtomicLong version = new AtomicLong();
+    private final ConcurrentLinkedQueue<Vehicle> waiters = new ConcurrentLinkedQueue<>();
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Registra al vehículo. Devuelve false si hubo una señal desde {@code seenVersion};
+     * en ese caso el vehículo debe volver a evaluar su condición en lugar de estacionarse.
+     */
+    boolean await(Vehicle vehicle, long seenVersion) {
+        waiters.add(vehicle);
+        if (version.get() == seenVersion)
+            return true;
+        waiters.remove(vehicle);
+        return false;
+    }
+
+    /** Quita al vehículo si sigue anotado (lo despertó otro registro o terminó). */
+    void cancel(Vehicle vehicle) {
+        waiters.remove(vehicle);
+    }
+
+    /** Despierta a todos los vehículos registrados. */
+    public void signalAll() {
+        version.incrementAndGet();
+        Vehicle vehicle;
+        while ((vehicle = waiters.poll()) != null) {
+            vehicle.wake();
+        }
+    }
+
+    public int getWaiterCount() {
+        return waiters.size();
+    }
+}
@@ -0,0 +1,63 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Lote de altas a intervalos fijos de tiempo simulado. Cada alta es un temporizador del
+ * {@link SimulationClock} que corre en el hilo del tick, así que el lote no tiene un hilo
+ * dormido y respeta el intervalo exacto a cualquier velocidad del reloj.
+ */
+public final class BatchSpawner implements Runnable {
+    private final SimulationClock clock;
+    private final int count;
+    private final long intervalMillis;
+    private final BooleanSupplier spawner;
+
+    // Solo los escribe el hilo del tick.
+    private volatile int attempted;
+    private volatile int spawned;
+    private volatile boolean cancelled;
+
+    private BatchSpawner(SimulationClock clock, int count, long intervalMillis, BooleanSupplier spawner) {
+        this.clock = clock;
+        this.count = count;
+        this.intervalMillis = intervalMillis;
+        this.spawner = spawner;
+    }
+
+    /**
+     * Programa {@code count} altas, la primera en el próximo tick. {@code spawner} devuelve
+     * false si el vehículo no se pudo crear.
+     */
+    public static BatchSpawner start(SimulationClock clock, int count, long intervalMillis, BooleanSupplier spawner) {
+        BatchSpawner batch = new BatchSpawner(clock, count, intervalMillis, spawner);
+        if (count > 0)
+            clock.schedule(0, batch);
+        return batch;
+    }
+
+    @Override
+    public void run() {
+        if (cancelled)
+            return;
+        if (spawner.getAsBoolean())
+            spawned++;
+        attempted++;
+        if (attempted < count)
+            clock.schedule(intervalMillis, this);
+    }
+
+    /** No programa más altas; las ya creadas siguen su curso. */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /** True cuando se intentaron todas las altas o se canceló el lote. */
+    public boolean isDone() {
+        return cancelled || attempted >= count;
+    }
+
+    public int getSpawned() {
+        return spawned;
+    }
+}
@@ -0,0 +1,38 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+/**
+ * Ritmo inicial del {@link SimulationClock}. Se puede elegir con la propiedad de sistema
+ * {@code traffic.clock} (por ejemplo {@code -Dtraffic.clock=AS_FAST_AS_POSSIBLE}); {@code SCALED}
+ * toma el factor de {@code traffic.clock.scale} (por ejemplo 8 o 0.25). La interfaz puede
+ * cambiarlo durante la corrida.
+ */
+public enum ClockMode {
+    REAL_TIME,
+    SCALED,
+    AS_FAST_AS_POSSIBLE,
+    PAUSED;
+
+    void apply(SimulationClock clock) {
+        switch (this) {
+            case SCALED:
+                clock.setSpeed(Double.parseDouble(System.getProperty("traffic.clock.scale", "1").trim()));
+                break;
+            case AS_FAST_AS_POSSIBLE:
+                clock.setSpeed(Double.POSITIVE_INFINITY);
+                break;
+            case PAUSED:
+                clock.pause();
+                break;
+            case REAL_TIME:
+            default:
+                clock.setSpeed(1);
+        }
+    }
+
+    public static ClockMode fromSystemProperty() {
+        String value = System.getProperty("traffic.clock");
+        if (value == null || value.isBlank())
+            return REAL_TIME;
+        return valueOf(value.trim().toUpperCase());
+    }
+}
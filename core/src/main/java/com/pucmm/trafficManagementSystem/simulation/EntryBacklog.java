@@ -0,0 +1,103 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.geometry.Point;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * Cola de entrada por carril para las llegadas de un perfil de demanda o de un lote
+ * ({@link HighwaySimulation#queueRandomVehicle}) en la autopista. Una llegada espera aquí
+ * hasta que el último vehículo de su carril se alejó de la entrada al menos la distancia de
+ * seguridad, y entonces se crea en el inicio de su ruta. Así la demanda puede superar la
+ * capacidad de la vía sin apilar vehículos en el mismo punto, y el largo de la cola mide
+ * cuánto la supera.
+ *
+ * Es un oyente de tick: se agrega y se libera en el hilo del tick, después de reconstruir el
+ * índice de carriles, así que se libera a lo sumo un vehículo por carril y por tick.
+ */
+public final class EntryBacklog implements Runnable {
+    private static final Direction[] ORIGINS = { Direction.WEST, Direction.EAST };
+    private static final Direction[] LANES = { Direction.LANE_1, Direction.LANE_2, Direction.LANE_3 };
+
+    private final HighwaySimulation simulation;
+    private final LaneIndex laneIndex;
+    // Indexadas por LaneIndex.laneSlot.
+    private final ArrayDeque<Arrival>[] lanes;
+
+    // Solo los escribe el hilo del tick.
+    private volatile int size;
+    private volatile int peak;
+    private volatile long released;
+
+    @SuppressWarnings("unchecked")
+    EntryBacklog(HighwaySimulation simulation, LaneIndex laneIndex) {
+        this.simulation = simulation;
+        this.laneIndex = laneIndex;
+        this.lanes = new ArrayDeque[ORIGINS.length * LANES.length];
+        for (int i = 0; i < lanes.length; i++)
+            lanes[i] = new ArrayDeque<>();
+    }
+
+    /** Encola una llegada; devuelve false si la combinación no tiene ruta. */
+    boolean add(VehicleType type, Direction origin, Direction action, int intersectionId) {
+        Direction lane = HighwaySimulation.laneFor(action);
+        int slot = LaneIndex.laneSlot(origin, lane);
+        if (slot < 0 || simulation.getGeometry().getPath(origin, action, lane, intersectionId).isEmpty())
+            return false;
+        lanes[slot].add(new Arrival(type, action, intersectionId));
+        size++;
+        peak = Math.max(peak, size);
+        return true;
+    }
+
+    @Override
+    public void run() {
+        double safeDistance = simulation.getSafeDistance();
+        for (Direction origin : ORIGINS) {
+            for (Direction lane : LANES) {
+                ArrayDeque<Arrival> queue = lanes[LaneIndex.laneSlot(origin, lane)];
+                Arrival next = queue.peek();
+                if (next == null)
+                    continue;
+                List<Point> path = simulation.getGeometry().getPath(origin, next.action, lane, next.intersectionId);
+                if (!path.isEmpty() && laneIndex.rearGap(origin, lane, path.get(0).getX()) < safeDistance)
+                    continue;
+                queue.poll();
+                size--;
+                released++;
+                simulation.spawnVehicle(next.type, origin, lane, next.action,
+                        next.intersectionId == 0 ? null : next.intersectionId);
+            }
+        }
+    }
+
+    /** Llegadas que todavía esperan para entrar. */
+    public int size() {
+        return size;
+    }
+
+    /** Cola de entrada más larga de la corrida, sumando todos los carriles. */
+    public int getPeak() {
+        return peak;
+    }
+
+    /** Llegadas que ya entraron a la vía. */
+    public long getReleased() {
+        return released;
+    }
+
+    private static final class Arrival {
+        final VehicleType type;
+        final Direction action;
+        final int intersectionId;
+
+        Arrival(VehicleType type, Direction action, int intersectionId) {
+            this.type = type;
+            this.action = action;
+            this.intersectionId = intersectionId;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+/**
+ * Modos de ejecución disponibles para los vehículos. Se puede elegir con la
+ * propiedad de sistema {@code traffic.execution} (por ejemplo {@code -Dtraffic.execution=TICK_SCHEDULER}).
+ *
+ * {@code DETERMINISTIC} usa un {@link TickScheduler#manual() planificador manual}: nada avanza
+ * hasta que alguien llama a {@link TickScheduler#advance()}, y los semáforos siguen el tiempo
+ * simulado en lugar del reloj de pared (ver {@link ReplayRunner}).
+ */
+public enum ExecutionMode {
+    THREAD_PER_VEHICLE,
+    VIRTUAL_THREADS,
+    TICK_SCHEDULER,
+    DETERMINISTIC;
+
+    public VehicleExecutor createExecutor() {
+        switch (this) {
+            case VIRTUAL_THREADS:
+                return new VirtualThreadExecutor();
+            case TICK_SCHEDULER:
+                return new TickScheduler();
+            case DETERMINISTIC:
+                return TickScheduler.manual();
+            case THREAD_PER_VEHICLE:
+            default:
+                return new ThreadPerVehicleExecutor();
+        }
+    }
+
+    public static ExecutionMode fromSystemProperty() {
+        String value = System.getProperty("traffic.execution");
+        if (value == null || value.isBlank())
+            return THREAD_PER_VEHICLE;
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,120 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara los modos de ejecución lanzando el mismo lote de vehículos en cada uno.
+ * Reporta el tiempo de creación, el pico de hilos de plataforma, la frecuencia de
+ * pasos lograda por vehículo (ideal: 1000 / {@link Vehicle#TICK_MILLIS} Hz), el
+ * retraso de un hilo sonda que duerme un tick a la vez y el pico de hilos de plataforma
+ * durante {@value #PAUSE_MILLIS} ms de pausa, con todos los vehículos esperando en el reloj.
+ *
+ * Uso: ExecutionModeComparison [vehículos] [segundos]
+ */
+public class ExecutionModeComparison {
+    private static final long PAUSE_MILLIS = 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int vehicles = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        System.out.printf("%-20s %10s %12s %12s %14s %12s %12s %12s%n", "modo", "vehículos", "creación ms",
+                "hilos pico", "pasos/s", "sonda p50", "sonda p99", "hilos pausa");
+        int baselineThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        for (ExecutionMode mode : ExecutionMode.values()) {
+            // El modo determinista no avanza solo; se mide con ReplayRunner.
+            if (mode == ExecutionMode.DETERMINISTIC)
+                continue;
+            if (mode == ExecutionMode.VIRTUAL_THREADS && !VirtualThreadExecutor.isSupported()) {
+                System.out.printf("%-20s omitido: requiere Java 21 (JVM actual %s)%n", mode,
+                        System.getProperty("java.version"));
+                continue;
+            }
+            run(mode, vehicles, seconds, baselineThreads);
+        }
+    }
+
+    private static void run(ExecutionMode mode, int vehicleCount, int seconds, int baselineThreads) throws InterruptedException {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        threads.resetPeakThreadCount();
+
+        // Una autopista muy larga mantiene a todos los vehículos vivos durante la medición.
+        HighwaySimulation simulation = new HighwaySimulation(200_000, 1000, mode);
+        Random random = new Random(42);
+        List<Vehicle> spawned = new ArrayList<>();
+
+        long spawnStart = System.nanoTime();
+        for (int i = 0; i < vehicleCount; i++) {
+            Vehicle vehicle = simulation.spawnRandomVehicle(random);
+            if (vehicle != null)
+                spawned.add(vehicle);
+        }
+        long spawnMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - spawnStart);
+
+        long[] lateness = probeSleepLateness(seconds);
+
+        double elapsedSeconds = (System.nanoTime() - spawnStart) / 1e9;
+        long steps = 0;
+        for (Vehicle vehicle : spawned) {
+            steps += vehicle.getStepCount();
+        }
+        double stepsPerSecond = spawned.isEmpty() ? 0 : steps / elapsedSeconds / spawned.size();
+        int peakThreads = threads.getPeakThreadCount();
+
+        // En pausa cada vehículo espera en el reloj; un hilo virtual fijado a su portador
+        // obligaría a sumar portadores.
+        threads.resetPeakThreadCount();
+        simulation.getClock().pause();
+        Thread.sleep(PAUSE_MILLIS);
+        int pausedThreads = threads.getPeakThreadCount();
+        simulation.getClock().resume();
+        simulation.shutdown();
+        awaitThreadsReleased(threads, baselineThreads);
+
+        System.out.printf("%-20s %10d %12d %12d %14.1f %9.2f ms %9.2f ms %12d%n", mode, spawned.size(), spawnMillis,
+                peakThreads, stepsPerSecond, percentile(lateness, 0.50) / 1e6, percentile(lateness, 0.99) / 1e6,
+                pausedThreads);
+        if (simulation.getExecutor() instanceof TickScheduler) {
+            TickScheduler scheduler = (TickScheduler) simulation.getExecutor();
+            System.out.printf("%-20s ticks %d, costo medio %.2f ms, máximo %.2f ms%n", "", scheduler.getTickCount(),
+                    scheduler.getAverageTickNanos() / 1e6, scheduler.getMaxTickNanos() / 1e6);
+        }
+    }
+
+    // Espera a que terminen los hilos del modo anterior para no contaminar la siguiente medición.
+    private static void awaitThreadsReleased(ThreadMXBean threads, int maxThreads) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (threads.getThreadCount() > maxThreads && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
+    private static long[] probeSleepLateness(int seconds) throws InterruptedException {
+        List<Long> samples = new ArrayList<>();
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(Vehicle.TICK_MILLIS);
+        while (System.nanoTime() < end) {
+            long before = System.nanoTime();
+            Thread.sleep(Vehicle.TICK_MILLIS);
+            samples.add(Math.max(0, System.nanoTime() - before - tickNanos));
+        }
+        long[] values = samples.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0)
+            return 0;
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))];
+    }
+}
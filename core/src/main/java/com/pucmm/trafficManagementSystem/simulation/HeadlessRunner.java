@@ -0,0 +1,172 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.demand.DemandGenerator;
+import com.pucmm.trafficManagementSystem.demand.DemandProfile;
+import com.pucmm.trafficManagementSystem.log.EventLog;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Ejecuta la simulación sin interfaz gráfica, pensado para servidores batch, pruebas y benchmarks.
+ *
+ * Uso: HeadlessRunner [highway|intersection] [vehículos] [intervalo-ms] [ancho] [alto]
+ * El modo de ejecución se elige con -Dtraffic.execution (ver {@link ExecutionMode}) y el plan
+ * de semáforos de la autopista con -Dtraffic.signals (ver {@link SignalMode}). Con -Dtraffic.seed
+ * las altas aleatorias siguen siempre la misma secuencia. Con -Dtraffic.demand las altas salen
+ * del perfil de demanda (ver {@link DemandProfile}) en lugar del lote, y se ignoran los
+ * argumentos de vehículos e intervalo; el perfil debe tener duración. En la autopista las
+ * altas del lote también esperan en la cola de entrada de su carril ({@link EntryBacklog}),
+ * así que un intervalo corto no crea vehículos encimados.
+ *
+ * El intervalo y las tasas son en tiempo simulado: con -Dtraffic.clock=AS_FAST_AS_POSSIBLE
+ * y -Dtraffic.execution=TICK_SCHEDULER la corrida no espera al reloj de pared (ver {@link ClockMode}).
+ */
+public class HeadlessRunner {
+    // Si la vía no se vacía en este tiempo simulado tras las altas, se da por trabada.
+    private static final long DRAIN_TIMEOUT_MILLIS = 5 * 60_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        String scenario = args.length > 0 ? args[0] : "highway";
+        int vehicles = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        long spawnIntervalMillis = args.length > 2 ? Long.parseLong(args[2]) : 1000;
+        double width = args.length > 3 ? Double.parseDouble(args[3]) : 1640;
+        double height = args.length > 4 ? Double.parseDouble(args[4]) : 1000;
+        if (ExecutionMode.fromSystemProperty() == ExecutionMode.DETERMINISTIC) {
+            System.err.println("El modo determinista no avanza solo; use ReplayRunner.");
+            return;
+        }
+        DemandProfile demand = DemandProfile.fromSystemProperty();
+        if (demand != null && demand.getDurationSeconds() == 0) {
+            System.err.println("El perfil de demanda necesita duration.seconds para terminar.");
+            return;
+        }
+        Random random = SpawnRandom.fromSystemProperty();
+
+        long start = System.nanoTime();
+        int spawned;
+        SimulationClock clock;
+        if (scenario.equals("intersection")) {
+            IntersectionSimulation simulation = new IntersectionSimulation(width, height);
+            clock = simulation.getClock();
+            spawned = demand != null ? runDemand(simulation.startDemand(demand, random), simulation.getVehicles(),
+                    simulation.getClock(), null)
+                    : spawnAll(vehicles, spawnIntervalMillis, simulation.getClock(),
+                            () -> simulation.spawnRandomVehicle(random) != null);
+            awaitEmpty(simulation.getVehicles()::isEmpty, simulation.getVehicles(), simulation.getClock());
+            printExecutorStats(simulation.getExecutor());
+            printClockStats(simulation.getClock(), start);
+            simulation.shutdown();
+            printTrajectoryStats(simulation.getTrajectoryRecorder());
+        } else {
+            HighwaySimulation simulation = new HighwaySimulation(width, height);
+            clock = simulation.getClock();
+            DemandGenerator generator = demand != null ? simulation.startDemand(demand, random) : null;
+            spawned = generator != null ? runDemand(generator, simulation.getVehicles(), simulation.getClock(),
+                    simulation.getEntryBacklog())
+                    : spawnAll(vehicles, spawnIntervalMillis, simulation.getClock(),
+                            () -> simulation.queueRandomVehicle(random));
+            if (generator == null && simulation.getEntryBacklog() != null)
+                System.out.printf("Cola de entrada: pico de %d altas del lote.%n", simulation.getEntryBacklog().getPeak());
+            awaitEmpty(simulation::isDrained, simulation.getVehicles(), simulation.getClock());
+            printExecutorStats(simulation.getExecutor());
+            printClockStats(simulation.getClock(), start);
+            double minutes = simulation.getClock().nanos() / 60e9;
+            System.out.printf("Semáforos %s: %.1f viajes por minuto, espera media %.2f s.%n",
+                    SignalMode.fromSystemProperty(), simulation.getCompletedTrips() / minutes,
+                    simulation.getMeanWaitMillis() / 1e3);
+            simulation.shutdown();
+            printTrajectoryStats(simulation.getTrajectoryRecorder());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("Escenario %s: %d vehículos completados en %.2f s.%n", scenario, spawned, seconds);
+        EventLog.flush();
+        System.out.printf("Registro de eventos: %d escritos en %s, %d descartados.%n", EventLog.getWrittenCount(),
+                EventLog.getFile(), EventLog.getDroppedCount());
+        // Las excepciones del hilo del tick no detienen el reloj, pero invalidan la corrida.
+        if (clock.getFailureCount() > 0) {
+            System.err.printf("La corrida tuvo %d excepciones en el hilo del tick; la primera: %s%n",
+                    clock.getFailureCount(), clock.getFirstFailure());
+            System.exit(1);
+        }
+    }
+
+    // Las altas corren en el hilo del tick, a intervalos exactos de tiempo simulado.
+    private static int spawnAll(int vehicles, long intervalMillis, SimulationClock clock, BooleanSupplier spawner)
+            throws InterruptedException {
+        BatchSpawner batch = BatchSpawner.start(clock, vehicles, intervalMillis, spawner);
+        while (!batch.isDone())
+            clock.sleep(100);
+        return batch.getSpawned();
+    }
+
+    // Espera a que termine la demanda; el pico de vehículos vivos y la cola de entrada muestran
+    // si el gestor se saturó.
+    private static int runDemand(DemandGenerator generator, Set<?> liveVehicles, SimulationClock clock,
+            EntryBacklog backlog) throws InterruptedException {
+        int peak = 0;
+        while (!generator.isFinished()) {
+            peak = Math.max(peak, liveVehicles.size());
+            clock.sleep(100);
+        }
+        double seconds = generator.getElapsedSeconds();
+        System.out.printf("Demanda: %d llegadas en %.0f s simulados (%.0f por minuto), %d rechazadas, %d emergencias; "
+                + "pico de %d vehículos en la vía.%n", generator.getGenerated(), seconds,
+                generator.getGenerated() * 60 / seconds, generator.getRejected(), generator.getEmergencies(), peak);
+        if (backlog != null)
+            System.out.printf("Cola de entrada: pico de %d llegadas, %d esperando al terminar la demanda.%n",
+                    backlog.getPeak(), backlog.size());
+        return (int) (generator.getGenerated() - generator.getRejected());
+    }
+
+    private static void printExecutorStats(VehicleExecutor executor) {
+        if (executor instanceof TickScheduler) {
+            TickScheduler scheduler = (TickScheduler) executor;
+            System.out.printf("Ticks: %d (%d hilos), costo medio %.1f µs, p99 %.1f µs, máximo %.1f µs, excedidos %d.%n",
+                    scheduler.getTickCount(), scheduler.getParallelism(), scheduler.getAverageTickNanos() / 1e3,
+                    scheduler.getTickPercentileNanos(0.99) / 1e3, scheduler.getMaxTickNanos() / 1e3,
+                    scheduler.getOverrunCount());
+        }
+    }
+
+    private static void printClockStats(SimulationClock clock, long startNanos) {
+        double simulated = clock.nanos() / 1e9;
+        double wall = (System.nanoTime() - startNanos) / 1e9;
+        System.out.printf("Reloj: %.1f s simulados en %.1f s de pared (×%.1f).%n", simulated, wall, simulated / wall);
+    }
+
+    private static void printTrajectoryStats(TrajectoryRecorder recorder) {
+        if (recorder != null) {
+            System.out.printf("Trayectorias: %d ticks en %d segmentos (%.1f MB) en %s; %d ticks perdidos, %d descartados, "
+                    + "%d esperas del tick.%n", recorder.getRecordedTicks(), recorder.getSegmentCount(),
+                    recorder.getWrittenBytes() / 1e6, recorder.getDirectory(), recorder.getMissedTicks(),
+                    recorder.getTornFrames(), recorder.getStalledTicks());
+        }
+    }
+
+    // Un temporizador revisa la vía en cada tick y congela el reloj apenas se vacía, para que
+    // el informe no cuente ticks vacíos aunque el reloj vaya a velocidad máxima. Si no se vacía
+    // en DRAIN_TIMEOUT_MILLIS simulados, la corrida quedó trabada y se informa lo que queda.
+    private static void awaitEmpty(BooleanSupplier drained, Set<?> liveVehicles, SimulationClock clock)
+            throws InterruptedException {
+        CountDownLatch empty = new CountDownLatch(1);
+        long deadline = clock.nanos() + DRAIN_TIMEOUT_MILLIS * 1_000_000;
+        clock.schedule(0, new Runnable() {
+            @Override
+            public void run() {
+                if (drained.getAsBoolean() || clock.nanos() >= deadline) {
+                    clock.pause();
+                    empty.countDown();
+                } else {
+                    clock.schedule(0, this);
+                }
+            }
+        });
+        empty.await();
+        if (!drained.getAsBoolean())
+            System.out.printf("La vía no se vació en %d min simulados: quedan %d vehículos (trabada).%n",
+                    DRAIN_TIMEOUT_MILLIS / 60_000, liveVehicles.size());
+    }
+}
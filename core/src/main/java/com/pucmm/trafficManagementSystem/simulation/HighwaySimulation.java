@@ -0,0 +1,343 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.demand.DemandGenerator;
+import com.pucmm.trafficManagementSystem.demand.DemandProfile;
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.geometry.HighwayGeometry;
+import com.pucmm.trafficManagementSystem.geometry.Point;
+import com.pucmm.trafficManagementSystem.jfr.TrafficEvents;
+import com.pucmm.trafficManagementSystem.metrics.IntersectionMetrics;
+import com.pucmm.trafficManagementSystem.metrics.MetricsRegistry;
+import com.pucmm.trafficManagementSystem.metrics.SimulationMetrics;
+import com.pucmm.trafficManagementSystem.model.HighwayIntersection;
+import com.pucmm.trafficManagementSystem.model.IntersectionStateManager;
+import com.pucmm.trafficManagementSystem.model.TrafficLightController;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.model.VehicleStateStore;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Motor de simulación de la autopista, independiente de JavaFX. La vista solo
+ * informa el tamaño del área de simulación y observa los vehículos vivos.
+ */
+public class HighwaySimulation {
+    private final List<HighwayIntersection> intersections = new ArrayList<>();
+    private final Set<Vehicle> vehicles = ConcurrentHashMap.newKeySet();
+    /** Distancia al vehículo de adelante por debajo de la cual un vehículo se detiene. */
+    public static final double DEFAULT_SAFE_DISTANCE = 50.0;
+
+    private final HighwayTopology topology;
+    private final TrafficLightController trafficLightController;
+    private final IntersectionStateManager intersectionStateManager;
+
+    private final VehicleExecutor executor;
+    private final VehicleStateStore stateStore = new VehicleStateStore();
+    private final PositionBuffer positions = new PositionBuffer();
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry("highway");
+    private final SimulationMetrics metrics;
+    private final LaneIndex laneIndex = new LaneIndex();
+    // Viajes completados (sin contar la continuación de un giro en U) y espera acumulada.
+    private final LongAdder completedTrips = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+
+    private volatile HighwayGeometry geometry;
+    private volatile double safeDistance = DEFAULT_SAFE_DISTANCE;
+    // Grabador de trayectorias de -Dtraffic.trajectory, o null.
+    private final TrajectoryRecorder trajectory;
+    // Registro de repetición del modo determinista, o null.
+    private volatile ReplayRecorder recorder;
+    private volatile EntryBacklog entryBacklog;
+
+    public HighwaySimulation(double width, double height) {
+        this(width, height, ExecutionMode.fromSystemProperty());
+    }
+
+    public HighwaySimulation(double width, double height, ExecutionMode executionMode) {
+        this(HighwayTopology.fromSystemProperty(), width, height, executionMode);
+    }
+
+    public HighwaySimulation(HighwayTopology topology, double width, double height, ExecutionMode executionMode) {
+        this(topology, width, height, executionMode, SignalMode.fromSystemProperty());
+    }
+
+    public HighwaySimulation(HighwayTopology topology, double width, double height, ExecutionMode executionMode,
+            SignalMode signalMode) {
+        this.topology = topology;
+        this.executor = executionMode.createExecutor();
+        for (int i = 1; i <= topology.getIntersectionCount(); i++) {
+            intersections.add(new HighwayIntersection(i));
+        }
+        // Los semáforos siguen el tiempo simulado del reloj, un tick a la vez.
+        this.trafficLightController = signalMode.createController(topology, Collections.unmodifiableList(intersections));
+        executor.addTickListener(() -> trafficLightController.advance(SimulationClock.TICK_NANOS));
+        this.intersectionStateManager = new IntersectionStateManager(topology.getIntersectionCount());
+        List<IntersectionMetrics> intersectionMetrics = new ArrayList<>();
+        for (HighwayIntersection intersection : intersections) {
+            intersectionMetrics.add(intersection.getMetrics());
+            metricsRegistry.register("HighwayIntersection", String.valueOf(intersection.getId()), intersection.getMetrics());
+        }
+        this.metrics = new SimulationMetrics(vehicles::size, intersectionMetrics);
+        metricsRegistry.register("Simulation", null, metrics);
+        executor.addTickListener(() -> laneIndex.rebuild(stateStore));
+        executor.addTickListener(() -> positions.publish(stateStore));
+        executor.addTickListener(stateStore::advanceEpoch);
+        resize(width, height);
+        this.trajectory = TrajectoryRecorder.fromSystemProperty(positions::latest, "highway", topology, executor);
+        executor.getClock().start();
+    }
+
+    /** Recalcula la geometría y la publica de una vez; los vehículos en marcha conservan su ruta. */
+    public void resize(double width, double height) {
+        this.geometry = new HighwayGeometry(topology, width, height);
+    }
+
+    public VehicleExecutor getExecutor() {
+        return executor;
+    }
+
+    /** Reloj simulado de la corrida; controla la velocidad, la pausa y el paso a paso. */
+    public SimulationClock getClock() {
+        return executor.getClock();
+    }
+
+    public HighwayTopology getTopology() {
+        return topology;
+    }
+
+    public HighwayGeometry getGeometry() {
+        return geometry;
+    }
+
+    public double getWidth() {
+        return geometry.getWidth();
+    }
+
+    public double getHeight() {
+        return geometry.getHeight();
+    }
+
+    public double getLaneHeight() {
+        return topology.getLaneHeight();
+    }
+
+    public double getIntersectionWidth() {
+        return topology.getIntersectionWidth();
+    }
+
+    public VehicleStateStore getStateStore() {
+        return stateStore;
+    }
+
+    /** Último cuadro completo de posiciones, publicado una vez por tick. */
+    public PositionBuffer.Frame getPositions() {
+        return positions.latest();
+    }
+
+    /** Grabador de trayectorias, o null si no se activó. */
+    public TrajectoryRecorder getTrajectoryRecorder() {
+        return trajectory;
+    }
+
+    public TrafficLightController getTrafficLightController() {
+        return trafficLightController;
+    }
+
+    public HighwayIntersection getIntersection(int id) {
+        return intersections.get(id - 1);
+    }
+
+    public long getCompletedTrips() {
+        return completedTrips.sum();
+    }
+
+    /** Espera media por viaje completado, en milisegundos. */
+    public double getMeanWaitMillis() {
+        long trips = completedTrips.sum();
+        return trips == 0 ? 0 : totalWaitNanos.sum() / 1e6 / trips;
+    }
+
+    public Set<Vehicle> getVehicles() {
+        return Collections.unmodifiableSet(vehicles);
+    }
+
+    public static Direction laneFor(Direction action) {
+        if (action == Direction.LEFT || action == Direction.U_TURN)
+            return Direction.LANE_1;
+        else if (action == Direction.RIGHT)
+            return Direction.LANE_3;
+        else
+            return Direction.LANE_2;
+    }
+
+    public Vehicle spawnVehicle(VehicleType type, Direction origin, Direction lane, Direction action, Integer intersectionId) {
+        HighwayIntersection targetIntersection = (intersectionId != null) ? intersections.get(intersectionId - 1) : null;
+        Vehicle vehicle = new Vehicle(type, origin, action, targetIntersection);
+        vehicle.setSimulation(this);
+        vehicle.setLane(lane);
+        vehicle.setTrafficLightController(trafficLightController);
+        vehicle.setIntersectionStateManager(intersectionStateManager);
+
+        List<Point> path = getPath(vehicle);
+        if (path.isEmpty()) {
+            stateStore.release(vehicle.getSlot());
+            return null;
+        }
+
+        Point startPos = path.get(0);
+        vehicle.setPosition(startPos.getX(), startPos.getY());
+        vehicles.add(vehicle);
+        TrafficEvents.vehicleSpawned(vehicle);
+        executor.submit(vehicle);
+        return vehicle;
+    }
+
+    public Vehicle spawnRandomVehicle(Random random) {
+        Vehicle[] spawned = new Vehicle[1];
+        randomArrival(random, (type, origin, action, intersectionId) -> {
+            spawned[0] = spawnVehicle(type, origin, laneFor(action), action,
+                    intersectionId == 0 ? null : intersectionId);
+            return spawned[0] != null;
+        });
+        return spawned[0];
+    }
+
+    /**
+     * Como {@link #spawnRandomVehicle}, pero la llegada pasa por la {@link #getEntryBacklog()
+     * cola de entrada} de su carril en vez de crearse encima del último vehículo que entró.
+     * Debe llamarse en el hilo del tick (por ejemplo desde un {@link BatchSpawner}).
+     */
+    public boolean queueRandomVehicle(Random random) {
+        return randomArrival(random, startEntryBacklog()::add);
+    }
+
+    // Sortea origen, acción, tipo e intersección de giro con la misma secuencia en los dos caminos.
+    private boolean randomArrival(Random random, DemandGenerator.Spawner spawner) {
+        Direction[] actions = { Direction.STRAIGHT, Direction.LEFT, Direction.RIGHT, Direction.U_TURN };
+        Direction origin = random.nextBoolean() ? Direction.WEST : Direction.EAST;
+        Direction action = actions[random.nextInt(actions.length)];
+        VehicleType type = (random.nextInt(1000) == 0) ? VehicleType.EMERGENCY : VehicleType.NORMAL;
+
+        int intersectionId = 0;
+        List<Integer> possibleIntersections = topology.getTurnIntersections(origin);
+        if (possibleIntersections.isEmpty())
+            action = Direction.STRAIGHT;
+        if (action != Direction.STRAIGHT) {
+            intersectionId = possibleIntersections.get(random.nextInt(possibleIntersections.size()));
+        }
+        return spawner.spawn(type, origin, action, intersectionId);
+    }
+
+    /**
+     * Empieza a generar llegadas según el perfil, desde el próximo tick y sin hilos propios.
+     * Las llegadas pasan por la {@link #getEntryBacklog() cola de entrada} de su carril.
+     */
+    public DemandGenerator startDemand(DemandProfile profile, Random random) {
+        DemandGenerator generator = new DemandGenerator(profile, random, List.of(Direction.WEST, Direction.EAST),
+                topology::getTurnIntersections, startEntryBacklog()::add);
+        executor.addTickListener(generator);
+        return generator;
+    }
+
+    // La cola de entrada se registra como oyente de tick la primera vez que alguien encola.
+    private synchronized EntryBacklog startEntryBacklog() {
+        EntryBacklog backlog = entryBacklog;
+        if (backlog == null) {
+            backlog = new EntryBacklog(this, laneIndex);
+            executor.addTickListener(backlog);
+            entryBacklog = backlog;
+        }
+        return backlog;
+    }
+
+    /** Cola de entrada de la demanda y de las altas encoladas, o null si nadie encoló. */
+    public EntryBacklog getEntryBacklog() {
+        return entryBacklog;
+    }
+
+    /** True si no quedan vehículos en la vía ni llegadas esperando para entrar. */
+    public boolean isDrained() {
+        EntryBacklog backlog = entryBacklog;
+        return vehicles.isEmpty() && (backlog == null || backlog.size() == 0);
+    }
+
+    /** Ruta precalculada del vehículo según su origen, acción, carril e intersección destino. */
+    public List<Point> getPath(Vehicle vehicle) {
+        HighwayIntersection intersection = vehicle.getTargetIntersection();
+        return geometry.getPath(vehicle.getOrigin(), vehicle.getDestination(), vehicle.getLane(),
+                intersection == null ? 0 : intersection.getId());
+    }
+
+    public double getSafeDistance() {
+        return safeDistance;
+    }
+
+    /** Cambia la distancia de seguridad de todos los vehículos de la simulación. */
+    public void setSafeDistance(double safeDistance) {
+        this.safeDistance = safeDistance;
+    }
+
+    public Vehicle findLeaderFor(Vehicle follower) {
+        return laneIndex.findLeader(follower);
+    }
+
+    public Vehicle findEmergencyFollower(Vehicle leader) {
+        return laneIndex.findEmergencyBehind(leader, safeDistance * 1.5);
+    }
+
+    public Vehicle spawnStraightVehicleFromUTurn(Vehicle uTurnVehicle) {
+        Direction newOrigin = (uTurnVehicle.getOrigin() == Direction.WEST) ? Direction.EAST : Direction.WEST;
+        VehicleType type = uTurnVehicle.getType();
+        Direction lane = Direction.LANE_2;
+
+        Vehicle straightVehicle = new Vehicle(type, newOrigin, Direction.U_TURN_CONTINUATION, (HighwayIntersection) null);
+
+        straightVehicle.setSimulation(this);
+        straightVehicle.setLane(lane);
+        straightVehicle.setTrafficLightController(trafficLightController);
+        straightVehicle.setIntersectionStateManager(intersectionStateManager);
+
+        straightVehicle.setPosition(uTurnVehicle.getX(), uTurnVehicle.getY());
+
+        vehicles.add(straightVehicle);
+        TrafficEvents.vehicleSpawned(straightVehicle);
+        executor.submit(straightVehicle);
+        return straightVehicle;
+    }
+
+    /** El vehículo pasó la línea de detención del semáforo {@code lightId}. */
+    public void onVehicleAdmitted(Vehicle vehicle, int lightId) {
+        ReplayRecorder current = recorder;
+        if (current != null)
+            current.admitted(vehicle.getSlot(), topology.getLightIntersection(lightId), lightId);
+    }
+
+    void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public void onVehicleFinished(Vehicle vehicle) {
+        metrics.vehicleCompleted();
+        totalWaitNanos.add(vehicle.getWaitNanos());
+        if (vehicle.getDestination() != Direction.U_TURN_CONTINUATION)
+            completedTrips.increment();
+        TrafficEvents.vehicleFinished(vehicle, getClock().nanos() - vehicle.getArrivalTime(), vehicle.getWaitNanos());
+        vehicles.remove(vehicle);
+        stateStore.release(vehicle.getSlot());
+    }
+
+    public void shutdown() {
+        trafficLightController.shutdown();
+        for (Vehicle vehicle : vehicles)
+            vehicle.stop();
+        vehicles.clear();
+        executor.shutdown();
+        if (trajectory != null)
+            trajectory.close();
+        metricsRegistry.unregisterAll();
+    }
+}
@@ -0,0 +1,168 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.demand.DemandGenerator;
+import com.pucmm.trafficManagementSystem.demand.DemandProfile;
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.geometry.IntersectionGeometry;
+import com.pucmm.trafficManagementSystem.geometry.Point;
+import com.pucmm.trafficManagementSystem.jfr.TrafficEvents;
+import com.pucmm.trafficManagementSystem.metrics.MetricsRegistry;
+import com.pucmm.trafficManagementSystem.metrics.SimulationMetrics;
+import com.pucmm.trafficManagementSystem.model.Intersection;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.model.VehicleStateStore;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Motor de simulación de la intersección simple con señales de PARE, independiente de JavaFX.
+ */
+public class IntersectionSimulation {
+    private final Intersection intersection = new Intersection();
+    private final Set<Vehicle> vehicles = ConcurrentHashMap.newKeySet();
+
+    private final VehicleExecutor executor;
+    private final VehicleStateStore stateStore = new VehicleStateStore();
+    private final PositionBuffer positions = new PositionBuffer();
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry("intersection");
+    private final SimulationMetrics metrics = new SimulationMetrics(vehicles::size, List.of(intersection.getMetrics()));
+
+    private volatile IntersectionGeometry geometry;
+    // Grabador de trayectorias de -Dtraffic.trajectory, o null.
+    private final TrajectoryRecorder trajectory;
+    // Registro de repetición del modo determinista, o null.
+    private volatile ReplayRecorder recorder;
+
+    public IntersectionSimulation(double width, double height) {
+        this(width, height, ExecutionMode.fromSystemProperty());
+    }
+
+    public IntersectionSimulation(double width, double height, ExecutionMode executionMode) {
+        this.executor = executionMode.createExecutor();
+        executor.addTickListener(() -> positions.publish(stateStore));
+        executor.addTickListener(stateStore::advanceEpoch);
+        metricsRegistry.register("Intersection", null, intersection.getMetrics());
+        metricsRegistry.register("Simulation", null, metrics);
+        resize(width, height);
+        this.trajectory = TrajectoryRecorder.fromSystemProperty(positions::latest, "intersection", null, executor);
+        executor.getClock().start();
+    }
+
+    /** Recalcula la geometría y la publica de una vez; los vehículos en marcha conservan su ruta. */
+    public void resize(double width, double height) {
+        this.geometry = new IntersectionGeometry(width, height);
+    }
+
+    public VehicleExecutor getExecutor() {
+        return executor;
+    }
+
+    /** Reloj simulado de la corrida; controla la velocidad, la pausa y el paso a paso. */
+    public SimulationClock getClock() {
+        return executor.getClock();
+    }
+
+    public IntersectionGeometry getGeometry() {
+        return geometry;
+    }
+
+    public double getWidth() {
+        return geometry.getWidth();
+    }
+
+    public double getHeight() {
+        return geometry.getHeight();
+    }
+
+    public VehicleStateStore getStateStore() {
+        return stateStore;
+    }
+
+    /** Grabador de trayectorias, o null si no se activó. */
+    public TrajectoryRecorder getTrajectoryRecorder() {
+        return trajectory;
+    }
+
+    /** Último cuadro completo de posiciones, publicado una vez por tick. */
+    public PositionBuffer.Frame getPositions() {
+        return positions.latest();
+    }
+
+    public Intersection getIntersection() {
+        return intersection;
+    }
+
+    public Set<Vehicle> getVehicles() {
+        return Collections.unmodifiableSet(vehicles);
+    }
+
+    public Vehicle spawnVehicle(VehicleType type, Direction origin, Direction destination) {
+        Vehicle vehicle = new Vehicle(type, origin, destination, intersection);
+        vehicle.setSimulation(this);
+
+        List<Point> path = geometry.getPath(origin, destination);
+        if (path.isEmpty()) {
+            stateStore.release(vehicle.getSlot());
+            return null; // No crea el vehículo si no hay una ruta válida
+        }
+
+        Point startPos = path.get(0);
+        vehicle.setPosition(startPos.getX(), startPos.getY());
+        vehicles.add(vehicle);
+        TrafficEvents.vehicleSpawned(vehicle);
+        executor.submit(vehicle);
+        return vehicle;
+    }
+
+    public Vehicle spawnRandomVehicle(Random random) {
+        Direction[] origins = { Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST };
+        Direction[] destinations = { Direction.STRAIGHT, Direction.LEFT, Direction.RIGHT, Direction.U_TURN };
+
+        Direction randomOrigin = origins[random.nextInt(origins.length)];
+        Direction randomDestination = destinations[random.nextInt(destinations.length)];
+        VehicleType randomType = (random.nextInt(200) == 0) ? VehicleType.EMERGENCY : VehicleType.NORMAL;
+        return spawnVehicle(randomType, randomOrigin, randomDestination);
+    }
+
+    /** Empieza a generar llegadas según el perfil, desde el próximo tick y sin hilos propios. */
+    public DemandGenerator startDemand(DemandProfile profile, Random random) {
+        DemandGenerator generator = new DemandGenerator(profile, random,
+                List.of(Direction.NORTH, Direction.SOUTH, Direction.EAST, Direction.WEST), null,
+                (type, origin, action, intersectionId) -> spawnVehicle(type, origin, action) != null);
+        executor.addTickListener(generator);
+        return generator;
+    }
+
+    /** La intersección le dio el turno al vehículo. */
+    public void onVehicleAdmitted(Vehicle vehicle) {
+        ReplayRecorder current = recorder;
+        if (current != null)
+            current.admitted(vehicle.getSlot(), 0, 0);
+    }
+
+    void setRecorder(ReplayRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public void onVehicleFinished(Vehicle vehicle) {
+        metrics.vehicleCompleted();
+        TrafficEvents.vehicleFinished(vehicle, getClock().nanos() - vehicle.getArrivalTime(), 0);
+        vehicles.remove(vehicle);
+        stateStore.release(vehicle.getSlot());
+    }
+
+    public void shutdown() {
+        for (Vehicle vehicle : vehicles)
+            vehicle.stop();
+        vehicles.clear();
+        executor.shutdown();
+        if (trajectory != null)
+            trajectory.close();
+        metricsRegistry.unregisterAll();
+    }
+}
@@ -0,0 +1,279 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.model.VehicleStateStore;
+
+import java.util.Arrays;
+
+/**
+ * Índice espacial de la autopista: por cada par (origen, carril) guarda los vehículos
+ * ordenados por su coordenada x. Se reconstruye una vez por tick y se publica de forma
+ * atómica, así que las búsquedas de líder y de emergencia detrás son O(log n) sin bloqueos.
+ */
+public class LaneIndex {
+    private static final int LANES_PER_ORIGIN = 3;
+    private static final int LANE_COUNT = 2 * LANES_PER_ORIGIN;
+
+    private volatile Lane[] lanes = emptyLanes();
+
+    // Búferes de construcción, propiedad del hilo que reconstruye.
+    private final double[][] buildX = new double[LANE_COUNT][16];
+    private final Vehicle[][] buildVehicles = new Vehicle[LANE_COUNT][16];
+    private final int[] buildCount = new int[LANE_COUNT];
+
+    /** Reconstruye el índice recorriendo las columnas del almacén de estado, slot por slot. */
+    public void rebuild(VehicleStateStore store) {
+        Arrays.fill(buildCount, 0);
+        int highWater = store.getHighWater();
+        for (int slot = 0; slot < highWater; slot++) {
+            if (!store.isActive(slot))
+                continue;
+            int lane = laneSlot(store.getOrigin(slot), store.getLane(slot));
+            Vehicle vehicle = store.getOwner(slot);
+            if (lane < 0 || vehicle == null || vehicle.isFinished())
+                continue;
+            int n = buildCount[lane];
+            if (n == buildX[lane].length) {
+                buildX[lane] = Arrays.copyOf(buildX[lane], n * 2);
+                buildVehicles[lane] = Arrays.copyOf(buildVehicles[lane], n * 2);
+            }
+            // La x se captura una sola vez para que el orden sea consistente aunque el vehículo siga moviéndose.
+            buildX[lane][n] = store.getX(slot);
+            buildVehicles[lane][n] = vehicle;
+            buildCount[lane] = n + 1;
+        }
+
+        Lane[] published = new Lane[LANE_COUNT];
+        for (int lane = 0; lane < LANE_COUNT; lane++) {
+            int n = buildCount[lane];
+            sort(buildX[lane], buildVehicles[lane], 0, n - 1);
+            published[lane] = new Lane(Arrays.copyOf(buildX[lane], n), Arrays.copyOf(buildVehicles[lane], n));
+            Arrays.fill(buildVehicles[lane], 0, n, null);
+        }
+        lanes = published;
+    }
+
+    /**
+     * Vehículo más cercano delante del seguidor en su mismo origen y carril, o null. Se mide
+     * la distancia real y no solo la x: un vehículo que ya gira en la calle transversal queda
+     * delante por x pero lejos de la vía y no debe tapar al que espera en el carril. Se
+     * recorre hacia adelante hasta que la diferencia de x supera la mejor distancia hallada.
+     */
+    public Vehicle findLeader(Vehicle follower) {
+        int slot = laneSlot(follower.getOrigin(), follower.getLane());
+        if (slot < 0)
+            return null;
+        Lane lane = lanes[slot];
+        double x = follower.getX();
+        double y = follower.getY();
+        Vehicle leader = null;
+        double best = Double.POSITIVE_INFINITY;
+
+        if (follower.getOrigin() == Direction.WEST) {
+            for (int i = upperBound(lane.xs, lane.xs.length, x); i < lane.xs.length && lane.xs[i] - x < best; i++) {
+                Vehicle candidate = lane.vehicles[i];
+                double distance = distance(candidate, x, y);
+                if (candidate != follower && distance < best) {
+                    leader = candidate;
+                    best = distance;
+                }
+            }
+        } else {
+            for (int i = lowerBound(lane.xs, lane.xs.length, x) - 1; i >= 0 && x - lane.xs[i] < best; i--) {
+                Vehicle candidate = lane.vehicles[i];
+                double distance = distance(candidate, x, y);
+                if (candidate != follower && distance < best) {
+                    leader = candidate;
+                    best = distance;
+                }
+            }
+        }
+        return leader;
+    }
+
+    private static double distance(Vehicle vehicle, double x, double y) {
+        double dx = vehicle.getX() - x;
+        double dy = vehicle.getY() - y;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /** Vehículo de emergencia detrás del líder (mismo origen y carril) a menos de {@code maxDistance}, o null. */
+    public Vehicle findEmergencyBehind(Vehicle leader, double maxDistance) {
+        int slot = laneSlot(leader.getOrigin(), leader.getLane());
+        if (slot < 0)
+            return null;
+        Lane lane = lanes[slot];
+        double x = leader.getX();
+
+        if (leader.getOrigin() == Direction.WEST) {
+            for (int i = lowerBound(lane.emergencyXs, lane.emergencyXs.length, x) - 1; i >= 0; i--) {
+                if (x - lane.emergencyXs[i] >= maxDistance)
+                    break;
+                Vehicle candidate = lane.emergencies[i];
+                if (candidate != leader && isWithin(leader, candidate, maxDistance))
+                    return candidate;
+            }
+        } else {
+            for (int i = upperBound(lane.emergencyXs, lane.emergencyXs.length, x); i < lane.emergencyXs.length; i++) {
+                if (lane.emergencyXs[i] - x >= maxDistance)
+                    break;
+                Vehicle candidate = lane.emergencies[i];
+                if (candidate != leader && isWithin(leader, candidate, maxDistance))
+                    return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Distancia entre el punto de entrada y el último vehículo del carril (el más cercano a
+     * la entrada), o infinito si el carril está vacío.
+     */
+    public double rearGap(Direction origin, Direction lane, double entryX) {
+        int slot = laneSlot(origin, lane);
+        if (slot < 0)
+            return Double.POSITIVE_INFINITY;
+        double[] xs = lanes[slot].xs;
+        if (xs.length == 0)
+            return Double.POSITIVE_INFINITY;
+        return origin == Direction.WEST ? xs[0] - entryX : entryX - xs[xs.length - 1];
+    }
+
+    private static boolean isWithin(Vehicle a, Vehicle b, double maxDistance) {
+        double dx = a.getX() - b.getX();
+        double dy = a.getY() - b.getY();
+        boolean isBehind = a.getOrigin() == Direction.WEST ? b.getX() < a.getX() : b.getX() > a.getX();
+        return isBehind && dx * dx + dy * dy < maxDistance * maxDistance;
+    }
+
+    static int laneSlot(Direction origin, Direction lane) {
+        int originSlot;
+        if (origin == Direction.WEST)
+            originSlot = 0;
+        else if (origin == Direction.EAST)
+            originSlot = 1;
+        else
+            return -1;
+
+        if (lane == Direction.LANE_1)
+            return originSlot * LANES_PER_ORIGIN;
+        if (lane == Direction.LANE_2)
+            return originSlot * LANES_PER_ORIGIN + 1;
+        if (lane == Direction.LANE_3)
+            return originSlot * LANES_PER_ORIGIN + 2;
+        return -1;
+    }
+
+    // Primer índice con xs[i] > x.
+    private static int upperBound(double[] xs, int n, double x) {
+        int low = 0, high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xs[mid] <= x)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    // Primer índice con xs[i] >= x.
+    private static int lowerBound(double[] xs, int n, double x) {
+        int low = 0, high = n;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (xs[mid] < x)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    // Ordenamiento de arreglos paralelos por x. Entre ticks el orden casi no cambia,
+    // así que los tramos pequeños se resuelven con inserción.
+    private static void sort(double[] xs, Vehicle[] vehicles, int low, int high) {
+        while (high - low > 16) {
+            double pivot = median(xs[low], xs[(low + high) >>> 1], xs[high]);
+            int i = low, j = high;
+            while (i <= j) {
+                while (xs[i] < pivot)
+                    i++;
+                while (xs[j] > pivot)
+                    j--;
+                if (i <= j) {
+                    swap(xs, vehicles, i++, j--);
+                }
+            }
+            if (j - low < high - i) {
+                sort(xs, vehicles, low, j);
+                low = i;
+            } else {
+                sort(xs, vehicles, i, high);
+                high = j;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            double x = xs[i];
+            Vehicle vehicle = vehicles[i];
+            int j = i - 1;
+            while (j >= low && xs[j] > x) {
+                xs[j + 1] = xs[j];
+                vehicles[j + 1] = vehicles[j];
+                j--;
+            }
+            xs[j + 1] = x;
+            vehicles[j + 1] = vehicle;
+        }
+    }
+
+    private static double median(double a, double b, double c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static void swap(double[] xs, Vehicle[] vehicles, int i, int j) {
+        double x = xs[i];
+        xs[i] = xs[j];
+        xs[j] = x;
+        Vehicle vehicle = vehicles[i];
+        vehicles[i] = vehicles[j];
+        vehicles[j] = vehicle;
+    }
+
+    private static Lane[] emptyLanes() {
+        Lane[] empty = new Lane[LANE_COUNT];
+        for (int i = 0; i < LANE_COUNT; i++) {
+            empty[i] = new Lane(new double[0], new Vehicle[0]);
+        }
+        return empty;
+    }
+
+    /** Instantánea inmutable de un carril, ordenada por x. */
+    private static final class Lane {
+        final double[] xs;
+        final Vehicle[] vehicles;
+        final double[] emergencyXs;
+        final Vehicle[] emergencies;
+
+        Lane(double[] xs, Vehicle[] vehicles) {
+            this.xs = xs;
+            this.vehicles = vehicles;
+            int count = 0;
+            for (Vehicle vehicle : vehicles) {
+                if (vehicle.getType() == VehicleType.EMERGENCY)
+                    count++;
+            }
+            this.emergencyXs = new double[count];
+            this.emergencies = new Vehicle[count];
+            int k = 0;
+            for (int i = 0; i < vehicles.length; i++) {
+                if (vehicles[i].getType() == VehicleType.EMERGENCY) {
+                    emergencyXs[k] = xs[i];
+                    emergencies[k++] = vehicles[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.demand.DemandGenerator;
+import com.pucmm.trafficManagementSystem.demand.DemandProfile;
+import com.pucmm.trafficManagementSystem.log.EventLevel;
+import com.pucmm.trafficManagementSystem.log.EventLog;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Réplicas independientes de la autopista en paralelo para ajustar parámetros y planificar
+ * capacidad. Cada corrida es una simulación aislada en modo determinista que avanza tick a
+ * tick en un hilo del pool fork/join, tan rápido como puede y sin dormir; las corridas no
+ * comparten estado, así que el tiempo total escala con los núcleos.
+ *
+ * Uso:
+ * <pre>
+ * MonteCarloRunner [réplicas] [--seed=1] [--parallelism=N] [--minutes=5] [--rate=30]
+ *                  [--cycle=8,10,12] [--safe-distance=40,50] [--emergency=0,0.01]
+ *                  [--signals=FIXED_CYCLE,ACTUATED] [--csv=corridas.csv]
+ * </pre>
+ * Se corre cada combinación de parámetros con las semillas {@code seed .. seed + réplicas - 1};
+ * todas las combinaciones usan las mismas semillas para que las diferencias no vengan del
+ * azar. La demanda sale de -Dtraffic.demand (con la duración de --minutes) o, sin perfil,
+ * de llegadas Poisson a {@code --rate} vehículos por minuto en cada sentido. La topología
+ * base es la de -Dtraffic.scenario.
+ *
+ * Por combinación se informa la media y el intervalo de confianza del 95 % del flujo
+ * (viajes por minuto mientras dura la demanda), la espera media y p99 por vehículo y la
+ * cola máxima, todo en tiempo simulado. En las corridas trabadas los vehículos que no
+ * terminaron entran en la espera con lo que llevaban esperado al cortar la corrida.
+ */
+public class MonteCarloRunner {
+    // Tras la demanda, la corrida se da por trabada si no se vacía en 5 minutos simulados.
+    private static final long DRAIN_TICKS = 5 * 60_000 / Vehicle.TICK_MILLIS;
+    private static final double WIDTH = 1640;
+    private static final double HEIGHT = 1000;
+    // t de Student de dos colas al 95 % para 1..30 grados de libertad; después, la normal.
+    private static final double[] STUDENT_T = { 12.706, 4.303, 3.182, 2.776, 2.571, 2.447, 2.365, 2.306, 2.262,
+            2.228, 2.201, 2.179, 2.160, 2.145, 2.131, 2.120, 2.110, 2.101, 2.093, 2.086, 2.080, 2.074, 2.069, 2.064,
+            2.060, 2.056, 2.052, 2.048, 2.045, 2.042 };
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        int replications = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : 30;
+        long seed = 1;
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        double minutes = 5;
+        double rate = 30;
+        double[] cycles = null;
+        double[] safeDistances = { HighwaySimulation.DEFAULT_SAFE_DISTANCE };
+        double[] emergencyShares = null;
+        SignalMode[] signals = { SignalMode.fromSystemProperty() };
+        String csv = null;
+        for (String arg : args) {
+            if (!arg.startsWith("--"))
+                continue;
+            String value = arg.substring(arg.indexOf('=') + 1);
+            if (arg.startsWith("--seed="))
+                seed = Long.parseLong(value);
+            else if (arg.startsWith("--parallelism="))
+                parallelism = Integer.parseInt(value);
+            else if (arg.startsWith("--minutes="))
+                minutes = Double.parseDouble(value);
+            else if (arg.startsWith("--rate="))
+                rate = Double.parseDouble(value);
+            else if (arg.startsWith("--cycle="))
+                cycles = values(value);
+            else if (arg.startsWith("--safe-distance="))
+                safeDistances = values(value);
+            else if (arg.startsWith("--emergency="))
+                emergencyShares = values(value);
+            else if (arg.startsWith("--signals="))
+                signals = Arrays.stream(value.split(",")).map(s -> SignalMode.valueOf(s.trim().toUpperCase()))
+                        .toArray(SignalMode[]::new);
+            else if (arg.startsWith("--csv="))
+                csv = value;
+            else
+                throw new IllegalArgumentException("Opción desconocida: " + arg);
+        }
+        // Cientos de simulaciones no necesitan MBeans; se pueden pedir con -Dtraffic.jmx=true.
+        if (System.getProperty("traffic.jmx") == null)
+            System.setProperty("traffic.jmx", "false");
+        // Ni el registro de eventos, que las réplicas llenarían en segundos; se pide con -Dtraffic.log.level.
+        if (System.getProperty("traffic.log.level") == null)
+            EventLog.setLevel(EventLevel.OFF);
+
+        HighwayTopology baseTopology = HighwayTopology.fromSystemProperty();
+        DemandProfile demand = DemandProfile.fromSystemProperty();
+        if (demand == null) {
+            Properties properties = new Properties();
+            properties.setProperty("rate", String.valueOf(rate));
+            demand = DemandProfile.fromProperties(properties);
+        }
+        demand = demand.withDuration(minutes * 60);
+        if (cycles == null)
+            cycles = new double[] { baseTopology.getCycleSeconds() };
+        if (emergencyShares == null)
+            emergencyShares = new double[] { demand.getEmergencyShare() };
+
+        List<Config> configs = new ArrayList<>();
+        for (SignalMode signal : signals)
+            for (double cycle : cycles)
+                for (double safeDistance : safeDistances)
+                    for (double emergency : emergencyShares)
+                        configs.add(new Config(configs.size(), signal, withCycle(baseTopology, cycle), safeDistance,
+                                demand.withEmergencyShare(emergency)));
+
+        List<Callable<RunSummary>> tasks = new ArrayList<>();
+        for (Config config : configs)
+            for (int i = 0; i < replications; i++) {
+                long runSeed = seed + i;
+                tasks.add(() -> run(config, runSeed));
+            }
+
+        System.out.printf("%d combinaciones × %d réplicas = %d corridas de %.1f min simulados en %d hilos.%n",
+                configs.size(), replications, tasks.size(), minutes, parallelism);
+        long start = System.nanoTime();
+        List<RunSummary> results = new ArrayList<>();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            // Una tarea por corrida: el pool reparte las largas y las cortas entre los hilos.
+            for (Future<RunSummary> future : pool.invokeAll(tasks))
+                results.add(future.get());
+        } finally {
+            pool.shutdown();
+        }
+        double wallSeconds = (System.nanoTime() - start) / 1e9;
+        double busySeconds = results.stream().mapToDouble(r -> r.wallMillis / 1e3).sum();
+        System.out.printf("Terminadas en %.1f s (%.2f corridas/s); %.1f s de cómputo, %.1f hilos ocupados en promedio.%n",
+                wallSeconds, results.size() / wallSeconds, busySeconds, busySeconds / wallSeconds);
+
+        report(configs, results);
+        if (csv != null)
+            writeCsv(csv, configs, results);
+    }
+
+    /** Una corrida completa: demanda, vaciado y resumen. Todo ocurre en el hilo que llama. */
+    static RunSummary run(Config config, long seed) {
+        long start = System.nanoTime();
+        HighwaySimulation simulation = new HighwaySimulation(config.topology, WIDTH, HEIGHT, ExecutionMode.DETERMINISTIC,
+                config.signals);
+        try {
+            simulation.setSafeDistance(config.safeDistance);
+            TickScheduler scheduler = (TickScheduler) simulation.getExecutor();
+            RunProbe probe = new RunProbe(simulation.getStateStore(), config.topology);
+            scheduler.addTickListener(probe);
+            DemandGenerator generator = simulation.startDemand(config.demand, new Random(seed));
+
+            while (!generator.isFinished())
+                scheduler.advance();
+            long tripsDuringDemand = simulation.getCompletedTrips();
+            for (long tick = 0; tick < DRAIN_TICKS && !simulation.isDrained(); tick++)
+                scheduler.advance();
+            // Un tick más para que la sonda vea salir a los últimos vehículos.
+            scheduler.advance();
+            probe.finish();
+            // Una réplica con excepciones en el tick no es comparable con las demás: se corta el lote.
+            if (simulation.getClock().getFailureCount() > 0)
+                throw new IllegalStateException("La corrida " + config + " con semilla " + seed + " tuvo "
+                        + simulation.getClock().getFailureCount() + " excepciones en el tick",
+                        simulation.getClock().getFirstFailure());
+
+            double minutes = config.demand.getDurationSeconds() / 60;
+            return new RunSummary(config.index, seed, generator.getGenerated(), simulation.getCompletedTrips(),
+                    tripsDuringDemand / minutes, probe.getWaits().getMean() / 1e9,
+                    probe.getWaits().getPercentile(0.99) / 1e9, probe.getMaxQueue(), generator.getEmergencies(),
+                    simulation.getVehicles().size() + simulation.getEntryBacklog().size(),
+                    (System.nanoTime() - start) / 1e6);
+        } finally {
+            simulation.shutdown();
+        }
+    }
+
+    private static void report(List<Config> configs, List<RunSummary> results) {
+        System.out.printf("%n%-36s %20s %20s %20s %16s %9s%n", "combinación", "flujo (viajes/min)", "espera media (s)",
+                "espera p99 (s)", "cola máxima", "trabadas");
+        for (Config config : configs) {
+            RunSummary[] runs = results.stream().filter(r -> r.config == config.index).toArray(RunSummary[]::new);
+            long stuck = Arrays.stream(runs).filter(r -> r.unfinished > 0).count();
+            System.out.printf("%-36s %20s %20s %20s %16s %9d%n", config,
+                    interval(Arrays.stream(runs).mapToDouble(r -> r.throughputPerMinute).toArray(), 1),
+                    interval(Arrays.stream(runs).mapToDouble(r -> r.meanWaitSeconds).toArray(), 2),
+                    interval(Arrays.stream(runs).mapToDouble(r -> r.p99WaitSeconds).toArray(), 2),
+                    interval(Arrays.stream(runs).mapToDouble(r -> r.maxQueue).toArray(), 1), stuck);
+        }
+    }
+
+    // Media ± semiancho del intervalo de confianza del 95 %.
+    static String interval(double[] samples, int decimals) {
+        int n = samples.length;
+        double mean = Arrays.stream(samples).average().orElse(0);
+        if (n < 2)
+            return String.format(Locale.ROOT, "%." + decimals + "f", mean);
+        double variance = Arrays.stream(samples).map(x -> (x - mean) * (x - mean)).sum() / (n - 1);
+        double t = n - 1 <= STUDENT_T.length ? STUDENT_T[n - 2] : 1.96;
+        double half = t * Math.sqrt(variance / n);
+        return String.format(Locale.ROOT, "%." + decimals + "f ± %." + decimals + "f", mean, half);
+    }
+
+    private static void writeCsv(String file, List<Config> configs, List<RunSummary> results) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(file), StandardCharsets.UTF_8))) {
+            out.println("signals,cycle_s,safe_distance,emergency_share,seed,arrivals,completed,throughput_per_min,"
+                    + "mean_wait_s,p99_wait_s,max_queue,emergencies,unfinished,wall_ms");
+            for (RunSummary r : results) {
+                Config c = configs.get(r.config);
+                out.printf(Locale.ROOT, "%s,%d,%.1f,%.4f,%d,%d,%d,%.3f,%.3f,%.3f,%d,%d,%d,%.1f%n", c.signals,
+                        c.topology.getCycleSeconds(), c.safeDistance, c.demand.getEmergencyShare(), r.seed, r.arrivals,
+                        r.completed, r.throughputPerMinute, r.meanWaitSeconds, r.p99WaitSeconds, r.maxQueue,
+                        r.emergencies, r.unfinished, r.wallMillis);
+            }
+        }
+        System.out.printf("%nCorridas escritas en %s.%n", file);
+    }
+
+    private static HighwayTopology withCycle(HighwayTopology topology, double cycleSeconds) {
+        Properties properties = topology.toProperties();
+        properties.setProperty("cycle.seconds", String.valueOf((long) cycleSeconds));
+        return HighwayTopology.fromProperties(properties);
+    }
+
+    private static double[] values(String list) {
+        return Arrays.stream(list.split(",")).mapToDouble(v -> Double.parseDouble(v.trim())).toArray();
+    }
+
+    /** Una combinación de parámetros. */
+    static final class Config {
+        final int index;
+        final SignalMode signals;
+        final HighwayTopology topology;
+        final double safeDistance;
+        final DemandProfile demand;
+
+        Config(int index, SignalMode signals, HighwayTopology topology, double safeDistance, DemandProfile demand) {
+            this.index = index;
+            this.signals = signals;
+            this.topology = topology;
+            this.safeDistance = safeDistance;
+            this.demand = demand;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s ciclo=%ds dist=%.0f emerg=%.3f", signals, topology.getCycleSeconds(),
+                    safeDistance, demand.getEmergencyShare());
+        }
+    }
+
+    /** Resumen de una corrida, en tiempo simulado salvo {@code wallMillis}. */
+    static final class RunSummary {
+        final int config;
+        final long seed;
+        final long arrivals;
+        final long completed;
+        final double throughputPerMinute;
+        final double meanWaitSeconds;
+        final double p99WaitSeconds;
+        final int maxQueue;
+        final long emergencies;
+        final int unfinished;
+        final double wallMillis;
+
+        RunSummary(int config, long seed, long arrivals, long completed, double throughputPerMinute,
+                double meanWaitSeconds, double p99WaitSeconds, int maxQueue, long emergencies, int unfinished,
+                double wallMillis) {
+            this.config = config;
+            this.seed = seed;
+            this.arrivals = arrivals;
+            this.completed = completed;
+            this.throughputPerMinute = throughputPerMinute;
+            this.meanWaitSeconds = meanWaitSeconds;
+            this.p99WaitSeconds = p99WaitSeconds;
+            this.maxQueue = maxQueue;
+            this.emergencies = emergencies;
+            this.unfinished = unfinished;
+            this.wallMillis = wallMillis;
+        }
+    }
+}
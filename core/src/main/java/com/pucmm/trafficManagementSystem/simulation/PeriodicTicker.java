@@ -0,0 +1,40 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Ejecuta los oyentes de tick al ritmo del {@link SimulationClock} en los modos donde los
+ * vehículos avanzan en sus propios hilos y no existe un tick global.
+ */
+class PeriodicTicker {
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private final SimulationClock clock = SimulationClock.fromSystemProperty(false);
+
+    PeriodicTicker() {
+        clock.setTickTask(this::fire, "tick-listeners");
+    }
+
+    void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    SimulationClock getClock() {
+        return clock;
+    }
+
+    private void fire() {
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (RuntimeException e) {
+                // Los demás oyentes corren igual; el fallo queda registrado en el reloj.
+                clock.reportFailure(e);
+            }
+        }
+    }
+
+    void shutdown() {
+        clock.shutdown();
+    }
+}
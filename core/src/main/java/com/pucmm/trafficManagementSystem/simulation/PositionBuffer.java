@@ -0,0 +1,247 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.model.HighwayIntersection;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.model.VehicleStateStore;
+
+import java.lang.invoke.VarHandle;
+/**
+ * Posiciones y estado de todos los vehículos publicados una vez por tick como un cuadro completo.
+ * Hay tres cuadros en anillo: el hilo de ticks escribe siempre el más viejo y publica el
+ * recién escrito, así que un lector que toma {@link #latest()} dispone de dos ticks enteros
+ * antes de que ese cuadro se vuelva a escribir.
+ *
+ * Los lectores (interfaz, grabadores) no toman candados ni sincronizan por vehículo. Cada
+ * cuadro lleva el número de tick con el que se publicó; si {@link Frame#isIntact(long)} falla
+ * al terminar de leer, el escritor alcanzó al lector y el cuadro debe descartarse.
+ */
+public final class PositionBuffer {
+    private static final int FRAMES = 3;
+
+    private final Frame[] frames = new Frame[FRAMES];
+    private volatile Frame latest;
+    // Solo lo usa el hilo que publica.
+    private long tick;
+
+    public PositionBuffer() {
+        for (int i = 0; i < FRAMES; i++)
+            frames[i] = new Frame(64);
+        latest = frames[0];
+    }
+
+    /** Copia las columnas de posición del almacén al cuadro libre y lo publica. Un solo escritor. */
+    public void publish(VehicleStateStore store) {
+        long next = tick + 1;
+        int highWater = store.getHighWater();
+        int index = (int) (next % FRAMES);
+        Frame frame = frames[index];
+        // Un cuadro nunca crece: si no alcanza se reemplaza, y quien lea el viejo lo sigue viendo entero.
+        if (frame.ids.length < highWater)
+            frames[index] = frame = new Frame(Math.max(highWater, frame.ids.length * 2));
+        frame.stamp = Frame.WRITING;
+        // Las escrituras del cuadro no pueden adelantarse a la marca de escritura.
+        VarHandle.storeStoreFence();
+
+        int count = 0;
+        for (int slot = 0; slot < highWater; slot++) {
+            if (!store.isActive(slot))
+                continue;
+            Vehicle owner = store.getOwner(slot);
+            if (owner == null || owner.isFinished())
+                continue;
+            frame.ids[count] = owner.getId();
+            frame.xs[count] = store.getX(slot);
+            frame.ys[count] = store.getY(slot);
+            frame.segments[count] = store.getSegment(slot);
+            frame.lightsPassed[count] = store.getLightsPassed(slot);
+            HighwayIntersection target = owner.getTargetIntersection();
+            frame.targets[count] = target == null ? 0 : target.getId();
+            frame.origins[count] = code(owner.getOrigin());
+            frame.lanes[count] = code(store.getLane(slot));
+            frame.actions[count] = code(owner.getDestination());
+            frame.states[count] = state(store, slot, owner);
+            count++;
+        }
+        frame.count = count;
+
+        frame.stamp = next;
+        tick = next;
+        latest = frame;
+    }
+
+    /** Último cuadro completo. */
+    public Frame latest() {
+        return latest;
+    }
+
+    private static byte state(VehicleStateStore store, int slot, Vehicle owner) {
+        int state = 0;
+        if (store.isEmergency(slot))
+            state |= Frame.STATE_EMERGENCY;
+        if (store.isCrossingStarted(slot))
+            state |= Frame.STATE_CROSSING_STARTED;
+        if (store.hasLeftIntersection(slot))
+            state |= Frame.STATE_LEFT_INTERSECTION;
+        if (owner.isParked())
+            state |= Frame.STATE_PARKED;
+        return (byte) state;
+    }
+
+    private static byte code(Direction direction) {
+        return direction == null ? Frame.NO_DIRECTION : (byte) direction.ordinal();
+    }
+
+    /**
+     * Un cuadro en columnas primitivas; índices de 0 a {@link #size()} - 1. Las direcciones
+     * (origen, carril, acción) se guardan como el ordinal de {@link Direction}, o
+     * {@link #NO_DIRECTION}.
+     */
+    public static final class Frame {
+        static final long WRITING = -1;
+
+        public static final byte NO_DIRECTION = -1;
+        // Bits de getState.
+        public static final int STATE_EMERGENCY = 1;
+        public static final int STATE_CROSSING_STARTED = 1 << 1;
+        public static final int STATE_LEFT_INTERSECTION = 1 << 2;
+        public static final int STATE_PARKED = 1 << 3;
+
+        private static final Direction[] DIRECTIONS = Direction.values();
+
+        private volatile long stamp;
+        private int count;
+        private final int[] ids;
+        private final double[] xs;
+        private final double[] ys;
+        private final int[] segments;
+        private final int[] lightsPassed;
+        private final int[] targets;
+        private final byte[] origins;
+        private final byte[] lanes;
+        private final byte[] actions;
+        private final byte[] states;
+
+        private Frame(int capacity) {
+            ids = new int[capacity];
+            xs = new double[capacity];
+            ys = new double[capacity];
+            segments = new int[capacity];
+            lightsPassed = new int[capacity];
+            targets = new int[capacity];
+            origins = new byte[capacity];
+            lanes = new byte[capacity];
+            actions = new byte[capacity];
+            states = new byte[capacity];
+        }
+
+        /** Tick con el que se publicó el cuadro; se lee antes de recorrerlo. */
+        public long getTick() {
+            return stamp;
+        }
+
+        /** True si el cuadro sigue siendo el del tick leído, es decir, si la lectura fue consistente. */
+        public boolean isIntact(long tick) {
+            // Las lecturas del cuadro no pueden atrasarse más allá de esta comprobación.
+            VarHandle.loadLoadFence();
+            return tick != WRITING && stamp == tick;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public int getId(int i) {
+            return ids[i];
+        }
+
+        public double getX(int i) {
+            return xs[i];
+        }
+
+        public double getY(int i) {
+            return ys[i];
+        }
+
+        public boolean isEmergency(int i) {
+            return (states[i] & STATE_EMERGENCY) != 0;
+        }
+
+        /** Segmento de la ruta hacia el que avanza el vehículo. */
+        public int getSegment(int i) {
+            return segments[i];
+        }
+
+        /** Semáforos de la ruta que ya pasó (siempre 0 en la intersección simple). */
+        public int getLightsPassed(int i) {
+            return lightsPassed[i];
+        }
+
+        /** Intersección donde gira el vehículo de la autopista, o 0. */
+        public int getTargetIntersection(int i) {
+            return targets[i];
+        }
+
+        public Direction getOrigin(int i) {
+            return direction(origins[i]);
+        }
+
+        public Direction getLane(int i) {
+            return direction(lanes[i]);
+        }
+
+        public Direction getAction(int i) {
+            return direction(actions[i]);
+        }
+
+        /** Combinación de los bits {@code STATE_*}. */
+        public int getState(int i) {
+            return states[i];
+        }
+
+        // Columnas completas para copiarlas en bloque (ver TrajectoryRecorder).
+        int[] ids() {
+            return ids;
+        }
+
+        double[] xs() {
+            return xs;
+        }
+
+        double[] ys() {
+            return ys;
+        }
+
+        int[] segments() {
+            return segments;
+        }
+
+        int[] lightsPassed() {
+            return lightsPassed;
+        }
+
+        int[] targets() {
+            return targets;
+        }
+
+        byte[] origins() {
+            return origins;
+        }
+
+        byte[] lanes() {
+            return lanes;
+        }
+
+        byte[] actions() {
+            return actions;
+        }
+
+        byte[] states() {
+            return states;
+        }
+
+        private static Direction direction(byte code) {
+            return code == NO_DIRECTION ? null : DIRECTIONS[code];
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Formato del registro de repetición de una corrida determinista.
+ * <pre>
+ * cabecera  int MAGIC, byte VERSION, escenario, semilla, ancho, alto, plan de semáforos,
+ *           topología (texto del archivo de escenario; vacío = corredor por defecto)
+ * bloques   uno por tick, en orden: varint longitud + entradas
+ * </pre>
+ * Cada entrada es un byte de tipo seguido de varints:
+ * <pre>
+ * SPAWN   tipo, origen, carril + 1 (0 sin carril), acción, intersección destino (0 sin destino)
+ * ADMIT   slot, intersección, semáforo (0 en la intersección simple)
+ * SIGNAL  semáforo, verde (0/1)
+ * DIGEST  8 bytes: huella de las posiciones y los semáforos al final del tick
+ * </pre>
+ * Las altas son la única entrada de la corrida; lo demás es salida y sirve para comparar.
+ * Dos corridas son idénticas si sus bloques lo son byte a byte.
+ */
+final class ReplayLog {
+    static final int MAGIC = 0x54524C47; // "TRLG"
+    static final byte VERSION = 1;
+
+    static final byte SPAWN = 1;
+    static final byte ADMIT = 2;
+    static final byte SIGNAL = 3;
+    static final byte DIGEST = 4;
+
+    private static final VehicleType[] TYPES = VehicleType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    private ReplayLog() {
+    }
+
+    /** Parámetros que reconstruyen la simulación grabada. */
+    static final class Header {
+        final String scenario;
+        final long seed;
+        final double width;
+        final double height;
+        final SignalMode signals;
+        final String topology;
+
+        Header(String scenario, long seed, double width, double height, SignalMode signals, String topology) {
+            this.scenario = scenario;
+            this.seed = seed;
+            this.width = width;
+            this.height = height;
+            this.signals = signals;
+            this.topology = topology;
+        }
+    }
+
+    /** Alta decodificada de un bloque. */
+    interface SpawnVisitor {
+        void spawn(VehicleType type, Direction origin, Direction lane, Direction action, int intersectionId);
+    }
+
+    /** Contenido de un tick en construcción. */
+    static final class Block {
+        private byte[] data = new byte[64];
+        private int size;
+
+        void spawn(VehicleType type, Direction origin, Direction lane, Direction action, int intersectionId) {
+            put(SPAWN);
+            putVarint(type.ordinal());
+            putVarint(origin.ordinal());
+            putVarint(lane == null ? 0 : lane.ordinal() + 1);
+            putVarint(action.ordinal());
+            putVarint(intersectionId);
+        }
+
+        void admitted(int slot, int intersectionId, int lightId) {
+            put(ADMIT);
+            putVarint(slot);
+            putVarint(intersectionId);
+            putVarint(lightId);
+        }
+
+        void signal(int lightId, boolean green) {
+            put(SIGNAL);
+            putVarint(lightId);
+            putVarint(green ? 1 : 0);
+        }
+
+        void digest(long value) {
+            put(DIGEST);
+            for (int shift = 56; shift >= 0; shift -= 8)
+                put((byte) (value >>> shift));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        void clear() {
+            size = 0;
+        }
+
+        private void putVarint(int value) {
+            while ((value & ~0x7F) != 0) {
+                put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            put((byte) value);
+        }
+
+        private void put(byte value) {
+            if (size == data.length)
+                data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+    }
+
+    /** Recorre las altas de un bloque en el orden en que se grabaron. */
+    static void forEachSpawn(byte[] block, SpawnVisitor visitor) {
+        Cursor in = new Cursor(block);
+        while (in.hasMore()) {
+            byte kind = in.next();
+            if (kind == SPAWN) {
+                VehicleType type = TYPES[in.varint()];
+                Direction origin = DIRECTIONS[in.varint()];
+                int lane = in.varint();
+                Direction action = DIRECTIONS[in.varint()];
+                visitor.spawn(type, origin, lane == 0 ? null : DIRECTIONS[lane - 1], action, in.varint());
+            } else {
+                in.skip(kind);
+            }
+        }
+    }
+
+    /** Texto legible de un bloque, para informar una divergencia. */
+    static String describe(byte[] block) {
+        if (block == null)
+            return "(sin tick)";
+        StringBuilder text = new StringBuilder();
+        Cursor in = new Cursor(block);
+        while (in.hasMore()) {
+            if (text.length() > 0)
+                text.append(", ");
+            byte kind = in.next();
+            switch (kind) {
+                case SPAWN:
+                    text.append("alta ").append(TYPES[in.varint()]).append(' ').append(DIRECTIONS[in.varint()]);
+                    int lane = in.varint();
+                    if (lane != 0)
+                        text.append('/').append(DIRECTIONS[lane - 1]);
+                    text.append(' ').append(DIRECTIONS[in.varint()]);
+                    int target = in.varint();
+                    if (target != 0)
+                        text.append(" en ").append(target);
+                    break;
+                case ADMIT:
+                    text.append("pasa slot ").append(in.varint()).append(" en ").append(in.varint());
+                    int light = in.varint();
+                    if (light != 0)
+                        text.append(" (semáforo ").append(light).append(')');
+                    break;
+                case SIGNAL:
+                    text.append("semáforo ").append(in.varint()).append(in.varint() == 1 ? " verde" : " rojo");
+                    break;
+                case DIGEST:
+                    text.append("huella ").append(Long.toHexString(in.long64()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Entrada desconocida: " + kind);
+            }
+        }
+        return text.toString();
+    }
+
+    static final class Writer implements Closeable {
+        private final DataOutputStream out;
+
+        Writer(Path file, Header header) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(header.scenario);
+            out.writeLong(header.seed);
+            out.writeDouble(header.width);
+            out.writeDouble(header.height);
+            out.writeUTF(header.signals.name());
+            byte[] topology = header.topology.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(topology.length);
+            out.write(topology);
+        }
+
+        void write(byte[] block) throws IOException {
+            int length = block.length;
+            while ((length & ~0x7F) != 0) {
+                out.writeByte((length & 0x7F) | 0x80);
+                length >>>= 7;
+            }
+            out.writeByte(length);
+            out.write(block);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    static final class Reader implements Closeable {
+        private final DataInputStream in;
+        private final Header header;
+
+        Reader(Path file) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+            if (in.readInt() != MAGIC)
+                throw new IOException("No es un registro de repetición: " + file);
+            byte version = in.readByte();
+            if (version != VERSION)
+                throw new IOException("Versión de registro no soportada: " + version);
+            String scenario = in.readUTF();
+            long seed = in.readLong();
+            double width = in.readDouble();
+            double height = in.readDouble();
+            SignalMode signals = SignalMode.valueOf(in.readUTF());
+            byte[] topology = new byte[in.readInt()];
+            in.readFully(topology);
+            header = new Header(scenario, seed, width, height, signals, new String(topology, StandardCharsets.UTF_8));
+        }
+
+        Header getHeader() {
+            return header;
+        }
+
+        /** Siguiente bloque, o null al final del registro. */
+        byte[] next() throws IOException {
+            int length = 0;
+            int shift = 0;
+            int b;
+            do {
+                b = in.read();
+                if (b < 0) {
+                    if (shift == 0)
+                        return null;
+                    throw new EOFException("Registro truncado");
+                }
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            byte[] block = new byte[length];
+            in.readFully(block);
+            return block;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+
+    private static final class Cursor {
+        private final byte[] data;
+        private int position;
+
+        Cursor(byte[] data) {
+            this.data = data;
+        }
+
+        boolean hasMore() {
+            return position < data.length;
+        }
+
+        byte next() {
+            return data[position++];
+        }
+
+        int varint() {
+            int value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                value |= (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return value;
+        }
+
+        long long64() {
+            long value = 0;
+            for (int i = 0; i < 8; i++)
+                value = (value << 8) | (data[position++] & 0xFF);
+            return value;
+        }
+
+        void skip(byte kind) {
+            int fields;
+            switch (kind) {
+                case ADMIT: fields = 3; break;
+                case SIGNAL: fields = 2; break;
+                case DIGEST: position += 8; return;
+                default: throw new IllegalArgumentException("Entrada desconocida: " + kind);
+            }
+            for (int i = 0; i < fields; i++)
+                varint();
+        }
+    }
+}
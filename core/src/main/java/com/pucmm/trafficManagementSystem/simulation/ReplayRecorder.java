@@ -0,0 +1,69 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.model.HighwayIntersection;
+import com.pucmm.trafficManagementSystem.model.TrafficLightController;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.model.VehicleStateStore;
+
+/**
+ * Arma el bloque de cada tick de una corrida determinista: altas, vehículos admitidos,
+ * cambios de semáforo y una huella del estado al final del tick. Todo ocurre en el hilo
+ * que avanza el planificador manual, así que no necesita sincronización.
+ */
+final class ReplayRecorder {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final VehicleStateStore store;
+    // Nulo en la intersección simple, que no tiene semáforos.
+    private final TrafficLightController lights;
+    private final boolean[] lastGreen;
+    private final ReplayLog.Block block = new ReplayLog.Block();
+
+    ReplayRecorder(VehicleStateStore store, TrafficLightController lights, int lightCount) {
+        this.store = store;
+        this.lights = lights;
+        this.lastGreen = new boolean[lightCount + 1];
+    }
+
+    void spawned(Vehicle vehicle) {
+        HighwayIntersection target = vehicle.getTargetIntersection();
+        block.spawn(vehicle.getType(), vehicle.getOrigin(), vehicle.getLane(), vehicle.getDestination(),
+                target == null ? 0 : target.getId());
+    }
+
+    void admitted(int slot, int intersectionId, int lightId) {
+        block.admitted(slot, intersectionId, lightId);
+    }
+
+    /** Cierra el tick: anota los semáforos que cambiaron, la huella y devuelve el bloque. */
+    byte[] endTick() {
+        long hash = FNV_OFFSET;
+        for (int id = 1; id < lastGreen.length; id++) {
+            boolean green = lights.isGreen(id);
+            if (green != lastGreen[id]) {
+                block.signal(id, green);
+                lastGreen[id] = green;
+            }
+            hash = mix(hash, green ? id : -id);
+        }
+        int highWater = store.getHighWater();
+        for (int slot = 0; slot < highWater; slot++) {
+            if (!store.isActive(slot))
+                continue;
+            hash = mix(hash, slot);
+            hash = mix(hash, Double.doubleToRawLongBits(store.getX(slot)));
+            hash = mix(hash, Double.doubleToRawLongBits(store.getY(slot)));
+        }
+        block.digest(hash);
+        byte[] result = block.toByteArray();
+        block.clear();
+        return result;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int shift = 0; shift < 64; shift += 8)
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * FNV_PRIME;
+        return hash;
+    }
+}
@@ -0,0 +1,212 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+
+/**
+ * Corridas deterministas con registro de repetición. Los vehículos avanzan en un solo hilo
+ * con el {@link TickScheduler#manual() planificador manual}, los semáforos siguen el tiempo
+ * simulado y las altas salen de un {@link Random} con semilla en ticks fijos, así que la misma
+ * grabación produce la misma corrida bit a bit.
+ *
+ * Uso:
+ * <pre>
+ * ReplayRunner record &lt;archivo&gt; [highway|intersection] [vehículos] [intervalo-ticks] [semilla]
+ * ReplayRunner replay &lt;archivo&gt;       vuelve a correr la grabación y compara cada tick
+ * ReplayRunner diff &lt;archivo&gt; &lt;archivo&gt; compara dos grabaciones
+ * </pre>
+ * El plan de semáforos y el escenario de la autopista se toman de -Dtraffic.signals y
+ * -Dtraffic.scenario al grabar y quedan guardados en el registro.
+ */
+public class ReplayRunner {
+    // Una corrida que no se vacía en este número de ticks (unos 4 minutos simulados) se da por trabada.
+    private static final long MAX_TICKS = 15_000;
+    private static final double WIDTH = 1640;
+    private static final double HEIGHT = 1000;
+
+    public static void main(String[] args) throws IOException {
+        String command = args.length > 0 ? args[0] : "";
+        int status;
+        switch (command) {
+            case "record":
+                status = record(Paths.get(args[1]), args.length > 2 ? args[2] : "highway",
+                        args.length > 3 ? Integer.parseInt(args[3]) : 60,
+                        args.length > 4 ? Integer.parseInt(args[4]) : 60,
+                        args.length > 5 ? Long.parseLong(args[5]) : 42);
+                break;
+            case "replay":
+                status = replay(Paths.get(args[1]));
+                break;
+            case "diff":
+                status = diff(Paths.get(args[1]), Paths.get(args[2]));
+                break;
+            default:
+                System.err.println("Uso: ReplayRunner record|replay|diff <archivo> [...]");
+                status = 2;
+        }
+        System.exit(status);
+    }
+
+    static int record(Path file, String scenario, int vehicles, int intervalTicks, long seed) throws IOException {
+        String scenarioFile = System.getProperty("traffic.scenario");
+        String topology = scenarioFile == null ? ""
+                : new String(Files.readAllBytes(Paths.get(scenarioFile)), StandardCharsets.UTF_8);
+        ReplayLog.Header header = new ReplayLog.Header(scenario, seed, WIDTH, HEIGHT, SignalMode.fromSystemProperty(),
+                topology);
+        Run run = Run.create(header);
+        Random random = new Random(seed);
+        long tick = 0;
+        int spawned = 0;
+        try (ReplayLog.Writer writer = new ReplayLog.Writer(file, header)) {
+            while (spawned < vehicles || !run.isEmpty()) {
+                if (tick == MAX_TICKS) {
+                    System.out.printf("La corrida no se vació en %d ticks; quedan %d vehículos.%n", tick,
+                            run.liveCount());
+                    break;
+                }
+                if (spawned < vehicles && tick % intervalTicks == 0) {
+                    Vehicle vehicle = run.spawnRandom(random);
+                    spawned++;
+                    if (vehicle != null)
+                        run.recorder.spawned(vehicle);
+                }
+                run.scheduler.advance();
+                writer.write(run.recorder.endTick());
+                tick++;
+            }
+        } finally {
+            run.shutdown();
+        }
+        System.out.printf("Grabados %d ticks (%d altas, semilla %d) en %s: %d bytes.%n", tick, spawned, seed, file,
+                Files.size(file));
+        return 0;
+    }
+
+    static int replay(Path file) throws IOException {
+        try (ReplayLog.Reader reader = new ReplayLog.Reader(file)) {
+            Run run = Run.create(reader.getHeader());
+            try {
+                long tick = 0;
+                byte[] expected;
+                while ((expected = reader.next()) != null) {
+                    ReplayLog.forEachSpawn(expected, (type, origin, lane, action, intersectionId) -> {
+                        Vehicle vehicle = run.spawn(type, origin, lane, action, intersectionId);
+                        if (vehicle != null)
+                            run.recorder.spawned(vehicle);
+                    });
+                    run.scheduler.advance();
+                    byte[] actual = run.recorder.endTick();
+                    if (!Arrays.equals(expected, actual)) {
+                        reportDivergence(tick, expected, actual);
+                        return 1;
+                    }
+                    tick++;
+                }
+                System.out.printf("Repetición idéntica: %d ticks.%n", tick);
+                return 0;
+            } finally {
+                run.shutdown();
+            }
+        }
+    }
+
+    static int diff(Path first, Path second) throws IOException {
+        try (ReplayLog.Reader a = new ReplayLog.Reader(first); ReplayLog.Reader b = new ReplayLog.Reader(second)) {
+            long tick = 0;
+            while (true) {
+                byte[] left = a.next();
+                byte[] right = b.next();
+                if (left == null && right == null)
+                    break;
+                if (left == null || right == null || !Arrays.equals(left, right)) {
+                    reportDivergence(tick, left, right);
+                    return 1;
+                }
+                tick++;
+            }
+            System.out.printf("Grabaciones idénticas: %d ticks.%n", tick);
+            return 0;
+        }
+    }
+
+    private static void reportDivergence(long tick, byte[] expected, byte[] actual) {
+        System.out.printf("Divergencia en el tick %d (%.3f s simulados).%n", tick, tick * Vehicle.TICK_MILLIS / 1e3);
+        System.out.println("  esperado: " + ReplayLog.describe(expected));
+        System.out.println("  obtenido: " + ReplayLog.describe(actual));
+    }
+
+    /** Simulación determinista de cualquiera de los dos escenarios, con su grabador. */
+    private static final class Run {
+        private final HighwaySimulation highway;
+        private final IntersectionSimulation intersection;
+        private final TickScheduler scheduler;
+        private final ReplayRecorder recorder;
+
+        private Run(HighwaySimulation highway, IntersectionSimulation intersection) {
+            this.highway = highway;
+            this.intersection = intersection;
+            if (highway != null) {
+                scheduler = (TickScheduler) highway.getExecutor();
+                recorder = new ReplayRecorder(highway.getStateStore(), highway.getTrafficLightController(),
+                        highway.getTopology().getLightCount());
+                highway.setRecorder(recorder);
+            } else {
+                scheduler = (TickScheduler) intersection.getExecutor();
+                recorder = new ReplayRecorder(intersection.getStateStore(), null, 0);
+                intersection.setRecorder(recorder);
+            }
+        }
+
+        static Run create(ReplayLog.Header header) throws IOException {
+            if (header.scenario.equals("intersection"))
+                return new Run(null, new IntersectionSimulation(header.width, header.height, ExecutionMode.DETERMINISTIC));
+            return new Run(new HighwaySimulation(topology(header), header.width, header.height,
+                    ExecutionMode.DETERMINISTIC, header.signals), null);
+        }
+
+        private static HighwayTopology topology(ReplayLog.Header header) throws IOException {
+            if (header.topology.isEmpty())
+                return HighwayTopology.defaultCorridor();
+            Properties properties = new Properties();
+            properties.load(new StringReader(header.topology));
+            return HighwayTopology.fromProperties(properties);
+        }
+
+        Vehicle spawnRandom(Random random) {
+            return highway != null ? highway.spawnRandomVehicle(random) : intersection.spawnRandomVehicle(random);
+        }
+
+        Vehicle spawn(VehicleType type, Direction origin, Direction lane, Direction action, int intersectionId) {
+            if (highway != null)
+                return highway.spawnVehicle(type, origin, lane, action, intersectionId == 0 ? null : intersectionId);
+            return intersection.spawnVehicle(type, origin, action);
+        }
+
+        boolean isEmpty() {
+            return liveCount() == 0;
+        }
+
+        int liveCount() {
+            return highway != null ? highway.getVehicles().size() : intersection.getVehicles().size();
+        }
+
+        void shutdown() {
+            if (highway != null)
+                highway.shutdown();
+            else
+                intersection.shutdown();
+        }
+    }
+}
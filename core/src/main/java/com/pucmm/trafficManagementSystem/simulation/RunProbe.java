@@ -0,0 +1,108 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.metrics.LatencyHistogram;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+import com.pucmm.trafficManagementSystem.model.VehicleStateStore;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Oyente de tick que mide una corrida en tiempo simulado: cuántos ticks pasó quieto cada
+ * vehículo (su espera) y la cola más larga de vehículos quietos ante una intersección.
+ * Recorre el almacén por slot, sin reservar memoria por tick, y lo usa un solo hilo.
+ */
+final class RunProbe implements Runnable {
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(Vehicle.TICK_MILLIS);
+
+    private final VehicleStateStore store;
+    private final HighwayTopology topology;
+    private final LatencyHistogram waits = new LatencyHistogram();
+    // Por slot: vehículo seguido, última posición y ticks quieto acumulados.
+    private Vehicle[] tracked = new Vehicle[256];
+    private double[] lastX = new double[256];
+    private double[] lastY = new double[256];
+    private int[] still = new int[256];
+    private int trackedSlots;
+    // Vehículos quietos ante cada intersección en el tick actual.
+    private final int[] queue;
+    private int maxQueue;
+
+    RunProbe(VehicleStateStore store, HighwayTopology topology) {
+        this.store = store;
+        this.topology = topology;
+        this.queue = new int[topology.getIntersectionCount() + 1];
+    }
+
+    @Override
+    public void run() {
+        int slots = Math.max(store.getHighWater(), trackedSlots);
+        if (slots > tracked.length)
+            grow(Math.max(slots, tracked.length * 2));
+        for (int slot = 0; slot < slots; slot++) {
+            Vehicle owner = store.isActive(slot) ? store.getOwner(slot) : null;
+            if (owner != tracked[slot]) {
+                // El slot se liberó o se reutilizó: el vehículo anterior terminó.
+                if (tracked[slot] != null)
+                    waits.record(still[slot] * TICK_NANOS);
+                tracked[slot] = owner;
+                lastX[slot] = Double.NaN;
+                still[slot] = 0;
+            }
+            if (owner == null)
+                continue;
+            double x = store.getX(slot);
+            double y = store.getY(slot);
+            if (x == lastX[slot] && y == lastY[slot]) {
+                still[slot]++;
+                queue[approachIntersection(store.getOrigin(slot), store.getLightsPassed(slot))]++;
+            }
+            lastX[slot] = x;
+            lastY[slot] = y;
+        }
+        trackedSlots = slots;
+        // La posición 0 junta a los que ya no tienen semáforos por delante.
+        for (int i = 1; i < queue.length; i++)
+            maxQueue = Math.max(maxQueue, queue[i]);
+        Arrays.fill(queue, 0);
+    }
+
+    private int approachIntersection(Direction origin, int lightsPassed) {
+        if (origin != Direction.EAST && origin != Direction.WEST)
+            return 0;
+        if (lightsPassed >= topology.getSequenceLength(origin))
+            return 0;
+        return topology.getLightIntersection(topology.getSequenceLight(origin, lightsPassed));
+    }
+
+    private void grow(int capacity) {
+        tracked = Arrays.copyOf(tracked, capacity);
+        lastX = Arrays.copyOf(lastX, capacity);
+        lastY = Arrays.copyOf(lastY, capacity);
+        still = Arrays.copyOf(still, capacity);
+    }
+
+    /**
+     * Cierra la corrida: los vehículos que siguen en la vía (una corrida trabada) registran
+     * los ticks quietos que llevan. Es una cota inferior de su espera, pero sin ellos las
+     * corridas trabadas mostrarían justo las esperas más largas como si no existieran.
+     */
+    void finish() {
+        for (int slot = 0; slot < trackedSlots; slot++) {
+            if (tracked[slot] != null)
+                waits.record(still[slot] * TICK_NANOS);
+            tracked[slot] = null;
+        }
+    }
+
+    /** Esperas por vehículo en nanosegundos simulados; tras {@link #finish()} incluye a los que no terminaron. */
+    LatencyHistogram getWaits() {
+        return waits;
+    }
+
+    int getMaxQueue() {
+        return maxQueue;
+    }
+}
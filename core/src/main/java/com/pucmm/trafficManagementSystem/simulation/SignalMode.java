@@ -0,0 +1,36 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.model.ActuatedController;
+import com.pucmm.trafficManagementSystem.model.FixedCycleController;
+import com.pucmm.trafficManagementSystem.model.HighwayIntersection;
+import com.pucmm.trafficManagementSystem.model.TrafficLightController;
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.util.List;
+
+/**
+ * Planes de control de semáforos de la autopista. Se puede elegir con la propiedad de
+ * sistema {@code traffic.signals} (por ejemplo {@code -Dtraffic.signals=ACTUATED}).
+ */
+public enum SignalMode {
+    FIXED_CYCLE,
+    ACTUATED;
+
+    /** El plan no tiene temporizador: avanza con {@link TrafficLightController#advance} en cada tick. */
+    public TrafficLightController createController(HighwayTopology topology, List<HighwayIntersection> intersections) {
+        switch (this) {
+            case ACTUATED:
+                return new ActuatedController(topology, intersections);
+            case FIXED_CYCLE:
+            default:
+                return new FixedCycleController(topology);
+        }
+    }
+
+    public static SignalMode fromSystemProperty() {
+        String value = System.getProperty("traffic.signals");
+        if (value == null || value.isBlank())
+            return FIXED_CYCLE;
+        return valueOf(value.trim().toUpperCase());
+    }
+}
@@ -0,0 +1,394 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+
+import java.util.PriorityQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reloj simulado de una simulación. El tiempo simulado solo avanza de a un tick de
+ * {@link Vehicle#TICK_MILLIS}; el reloj decide cuándo corre el próximo tick en tiempo de pared:
+ * <ul>
+ * <li>a velocidad 1, cada {@code TICK_MILLIS} (tiempo real);</li>
+ * <li>a velocidad N, N veces más rápido o más lento (N &lt; 1);</li>
+ * <li>a velocidad infinita, apenas termina el anterior (lotes);</li>
+ * <li>en pausa, solo cuando se pide un {@link #step() paso}.</li>
+ * </ul>
+ * Los semáforos, las esperas, las altas por lote y los temporizadores de la interfaz se miden
+ * con {@link #nanos()}, así que una hora simulada dura una hora a velocidad 1 y segundos a
+ * velocidad infinita, sin cambiar el resultado.
+ *
+ * Cada ejecutor crea su reloj: los que avanzan a todos los vehículos en el tick pueden ir a
+ * cualquier velocidad; en los de un hilo por vehículo cada hilo espera un tick a la velocidad
+ * actual entre pasos y no hay barrera, así que no admiten velocidad infinita. El reloj manual
+ * (modo determinista) no tiene hilo: avanza con {@link #advance()}.
+ *
+ * Las esperas usan un {@code ReentrantLock} y no un monitor: un hilo virtual que espera en
+ * un {@code synchronized} queda fijado a su hilo portador.
+ *
+ * Una excepción en el tick o en un temporizador no detiene el reloj: se cuenta, se conserva
+ * la primera ({@link #getFirstFailure()}) y se pasa al manejador de excepciones no
+ * capturadas del hilo, así que la corrida queda marcada en lugar de seguir como si nada.
+ */
+public final class SimulationClock {
+    public static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(Vehicle.TICK_MILLIS);
+    // Si el tick se atrasa más que esto, se descarta el atraso en lugar de recuperarlo en ráfaga.
+    private static final long MAX_LAG_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
+    private final boolean manual;
+    private final boolean lockstep;
+    private final ReentrantLock lock = new ReentrantLock();
+    // Se señala en cada tick que despierta a alguien, al reanudar, al pedir un paso y al cerrar.
+    private final Condition ticked = lock.newCondition();
+    private final ReentrantLock timersLock = new ReentrantLock();
+    private final PriorityQueue<Timer> timers = new PriorityQueue<>();
+    private Runnable tickTask;
+    private String threadName;
+    private volatile Thread driver;
+
+    private volatile long ticks;
+    private volatile double speed = 1;
+    private volatile boolean paused;
+    private volatile boolean running = true;
+    // Cambia con cada cambio de velocidad o pausa para que el hilo del reloj reprograme el próximo tick.
+    private volatile long changes;
+    // Hilos esperando en el reloj (sleep o vehículos en pausa); sin ellos el tick no señala.
+    private volatile int waiting;
+    // Primer tick en que vence algún sleep; los ticks anteriores no despiertan a nadie salvo en pausa.
+    private volatile long nextWakeTick = Long.MAX_VALUE;
+    private volatile long nextTimerTick = Long.MAX_VALUE;
+    private long pendingSteps;
+    private long timerSequence;
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+    private SimulationClock(boolean manual, boolean lockstep) {
+        this.manual = manual;
+        this.lockstep = lockstep;
+    }
+
+    /**
+     * Reloj con hilo propio a la velocidad de -Dtraffic.clock (ver {@link ClockMode}).
+     *
+     * @param lockstep true si cada tick avanza a todos los vehículos (se admite velocidad infinita).
+     */
+    static SimulationClock fromSystemProperty(boolean lockstep) {
+        SimulationClock clock = new SimulationClock(false, lockstep);
+        ClockMode.fromSystemProperty().apply(clock);
+        return clock;
+    }
+
+    /** Reloj sin hilo; cada tick lo ejecuta {@link #advance()} en el hilo que llama. */
+    static SimulationClock manual() {
+        return new SimulationClock(true, true);
+    }
+
+    /** Registra la tarea que el ejecutor corre una vez por tick. */
+    void setTickTask(Runnable tick, String threadName) {
+        lock.lock();
+        try {
+            if (tickTask != null)
+                throw new IllegalStateException("El reloj ya tiene tarea de tick");
+            this.tickTask = tick;
+            this.threadName = threadName;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Arranca el hilo del reloj. La simulación lo llama al terminar de armarse para que a
+     * velocidad máxima no corra tiempo simulado antes de que exista; el reloj manual no tiene hilo.
+     */
+    void start() {
+        lock.lock();
+        try {
+            if (manual || driver != null || !running)
+                return;
+            Thread thread = new Thread(this::drive, threadName);
+            thread.setDaemon(true);
+            driver = thread;
+            thread.start();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Ejecuta un tick en el hilo que llama. Solo para el reloj manual. */
+    void advance() {
+        if (!manual)
+            throw new IllegalStateException("El reloj tiene su propio hilo");
+        runTick();
+    }
+
+    private void drive() {
+        long next = System.nanoTime();
+        long seenChanges = changes;
+        try {
+            while (running) {
+                lock.lock();
+                try {
+                    while (running && paused && pendingSteps == 0)
+                        ticked.await();
+                    if (!running)
+                        return;
+                    if (paused)
+                        pendingSteps--;
+                } finally {
+                    lock.unlock();
+                }
+                runTick();
+                if (paused)
+                    continue;
+                long now = System.nanoTime();
+                if (changes != seenChanges) {
+                    seenChanges = changes;
+                    next = now;
+                }
+                double current = speed;
+                if (current == Double.POSITIVE_INFINITY) {
+                    next = now;
+                    continue;
+                }
+                next += (long) (TICK_NANOS / current);
+                if (now - next > MAX_LAG_NANOS)
+                    next = now;
+                long delay;
+                while (running && changes == seenChanges && (delay = next - System.nanoTime()) > 0)
+                    LockSupport.parkNanos(this, delay);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void runTick() {
+        ticks++;
+        try {
+            tickTask.run();
+        } catch (RuntimeException e) {
+            // Un fallo en un tick no debe detener el reloj.
+            reportFailure(e);
+        }
+        if (ticks >= nextTimerTick)
+            runDueTimers();
+        if (waiting > 0 && (paused || ticks >= nextWakeTick)) {
+            lock.lock();
+            try {
+                nextWakeTick = Long.MAX_VALUE;
+                ticked.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void runDueTimers() {
+        while (true) {
+            Timer timer;
+            timersLock.lock();
+            try {
+                timer = timers.peek();
+                if (timer == null || timer.dueTick > ticks) {
+                    nextTimerTick = timer == null ? Long.MAX_VALUE : timer.dueTick;
+                    return;
+                }
+                timers.poll();
+            } finally {
+                timersLock.unlock();
+            }
+            try {
+                timer.task.run();
+            } catch (RuntimeException e) {
+                reportFailure(e);
+            }
+        }
+    }
+
+    /**
+     * Registra una excepción atrapada mientras corría un tick y la entrega al manejador de
+     * excepciones no capturadas del hilo que la atrapó.
+     */
+    void reportFailure(Throwable failure) {
+        firstFailure.compareAndSet(null, failure);
+        failures.incrementAndGet();
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, failure);
+    }
+
+    /** Excepciones atrapadas en el hilo del tick desde que empezó la simulación. */
+    public long getFailureCount() {
+        return failures.get();
+    }
+
+    /** Primera excepción atrapada en el hilo del tick, o null si no hubo ninguna. */
+    public Throwable getFirstFailure() {
+        return firstFailure.get();
+    }
+
+    /** Tiempo simulado transcurrido, en nanosegundos. */
+    public long nanos() {
+        return ticks * TICK_NANOS;
+    }
+
+    /** Ticks ejecutados desde que empezó la simulación. */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /** Factor sobre el tiempo real; {@link Double#POSITIVE_INFINITY} = tan rápido como se pueda. */
+    public double getSpeed() {
+        return speed;
+    }
+
+    public void setSpeed(double speed) {
+        if (!(speed > 0))
+            throw new IllegalArgumentException("La velocidad debe ser positiva: " + speed);
+        if (speed == Double.POSITIVE_INFINITY && !lockstep)
+            throw new IllegalStateException(
+                    "Con un hilo por vehículo no hay barrera entre ticks; la velocidad máxima requiere TICK_SCHEDULER");
+        this.speed = speed;
+        changed();
+    }
+
+    public boolean isManual() {
+        return manual;
+    }
+
+    /** True si el ejecutor admite velocidad infinita. */
+    public boolean isLockstep() {
+        return lockstep;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    public void pause() {
+        paused = true;
+        changed();
+    }
+
+    public void resume() {
+        lock.lock();
+        try {
+            paused = false;
+            pendingSteps = 0;
+            ticked.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        changed();
+    }
+
+    /** En pausa, ejecuta un tick más; si el reloj corre, no hace nada. */
+    public void step() {
+        lock.lock();
+        try {
+            if (paused) {
+                pendingSteps++;
+                ticked.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void changed() {
+        changes++;
+        Thread thread = driver;
+        if (thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * Espera de un vehículo con hilo propio entre dos pasos: un tick a la velocidad actual o,
+     * en pausa, hasta el próximo tick.
+     */
+    public void awaitStep() throws InterruptedException {
+        long seen = ticks;
+        if (!paused) {
+            TimeUnit.NANOSECONDS.sleep((long) (TICK_NANOS / speed));
+            if (!paused)
+                return;
+        }
+        lock.lock();
+        waiting++;
+        try {
+            while (running && paused && ticks == seen)
+                ticked.await();
+        } finally {
+            waiting--;
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Bloquea el hilo que llama durante {@code millis} de tiempo simulado. Con el reloj manual,
+     * otro hilo tiene que avanzarlo.
+     */
+    public void sleep(long millis) throws InterruptedException {
+        long dueTick = ticks + (millis + Vehicle.TICK_MILLIS - 1) / Vehicle.TICK_MILLIS;
+        lock.lock();
+        waiting++;
+        try {
+            while (running && ticks < dueTick) {
+                nextWakeTick = Math.min(nextWakeTick, dueTick);
+                ticked.await();
+            }
+        } finally {
+            waiting--;
+            lock.unlock();
+        }
+    }
+
+    /** Ejecuta {@code task} en el hilo del tick cuando pasen {@code millis} de tiempo simulado. */
+    public void schedule(long millis, Runnable task) {
+        long dueTick = ticks + Math.max(1, (millis + Vehicle.TICK_MILLIS - 1) / Vehicle.TICK_MILLIS);
+        timersLock.lock();
+        try {
+            timers.add(new Timer(dueTick, timerSequence++, task));
+            nextTimerTick = Math.min(nextTimerTick, dueTick);
+        } finally {
+            timersLock.unlock();
+        }
+    }
+
+    /** Detiene el hilo del reloj y libera a los que esperan; no se puede reanudar. */
+    public void shutdown() {
+        running = false;
+        lock.lock();
+        try {
+            ticked.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        Thread thread = driver;
+        if (thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    private static final class Timer implements Comparable<Timer> {
+        final long dueTick;
+        // Desempata los que vencen en el mismo tick por orden de llegada.
+        final long sequence;
+        final Runnable task;
+
+        Timer(long dueTick, long sequence, Runnable task) {
+            this.dueTick = dueTick;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public int compareTo(Timer other) {
+            int byTick = Long.compare(dueTick, other.dueTick);
+            return byTick != 0 ? byTick : Long.compare(sequence, other.sequence);
+        }
+    }
+}
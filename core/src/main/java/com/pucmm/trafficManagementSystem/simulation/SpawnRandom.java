@@ -0,0 +1,19 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import java.util.Random;
+
+/**
+ * Generador de las altas aleatorias. Con la propiedad de sistema {@code traffic.seed}
+ * (por ejemplo {@code -Dtraffic.seed=42}) cada lote genera la misma secuencia de vehículos;
+ * sin ella cambia en cada ejecución.
+ */
+public final class SpawnRandom {
+
+    private SpawnRandom() {
+    }
+
+    public static Random fromSystemProperty() {
+        Long seed = Long.getLong("traffic.seed");
+        return seed == null ? new Random() : new Random(seed);
+    }
+}
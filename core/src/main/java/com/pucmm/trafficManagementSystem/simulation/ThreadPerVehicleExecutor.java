@@ -0,0 +1,31 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+
+/**
+ * Modo original: cada vehículo corre en su propio hilo de plataforma.
+ */
+public class ThreadPerVehicleExecutor implements VehicleExecutor {
+    private final PeriodicTicker ticker = new PeriodicTicker();
+
+    @Override
+    public void submit(Vehicle vehicle) {
+        new Thread(vehicle).start();
+    }
+
+    @Override
+    public void addTickListener(Runnable listener) {
+        ticker.addListener(listener);
+    }
+
+    @Override
+    public SimulationClock getClock() {
+        return ticker.getClock();
+    }
+
+    @Override
+    public void shutdown() {
+        // Los hilos terminan solos cuando sus vehículos se detienen.
+        ticker.shutdown();
+    }
+}
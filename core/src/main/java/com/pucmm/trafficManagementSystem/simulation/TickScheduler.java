@@ -0,0 +1,227 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.metrics.LatencyHistogram;
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Planificador de paso fijo: en cada tick avanza una vez a todos los vehículos vivos
+ * repartiéndolos en bloques contiguos sobre un pool pequeño (un hilo por núcleo),
+ * en lugar de mantener un hilo dormido por vehículo. Los ticks los marca su
+ * {@link SimulationClock}, que puede ir a cualquier velocidad.
+ *
+ * El planificador manual ({@link #manual()}) tiene un reloj manual y no tiene pool: cada tick
+ * lo ejecuta {@link #advance()} en el hilo que llama, avanzando a los vehículos en el orden en
+ * que llegaron. Es la base del modo determinista.
+ */
+public class TickScheduler implements VehicleExecutor {
+    // Por debajo de este número de vehículos no compensa repartir el trabajo entre hilos.
+    private static final int MIN_VEHICLES_PER_WORKER = 64;
+
+    private final int parallelism;
+    private final ConcurrentLinkedQueue<Vehicle> pending = new ConcurrentLinkedQueue<>();
+    private final SimulationClock clock;
+    // Nulo en el planificador manual.
+    private final ExecutorService workers;
+    private final List<Callable<Void>> chunks = new ArrayList<>();
+    private final List<Runnable> tickListeners = new CopyOnWriteArrayList<>();
+
+    // Estado propiedad del hilo del tick.
+    private Vehicle[] live = new Vehicle[256];
+    private boolean[] alive = new boolean[256];
+    private int liveCount = 0;
+    private int chunkSize;
+
+    private volatile long tickCount;
+    private volatile long lastTickNanos;
+    private volatile long maxTickNanos;
+    private volatile long totalTickNanos;
+    private volatile long overrunCount;
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+
+    public TickScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public TickScheduler(int parallelism) {
+        this(parallelism, true);
+    }
+
+    private TickScheduler(int parallelism, boolean timed) {
+        this.parallelism = timed ? Math.max(1, parallelism) : 1;
+        this.clock = timed ? SimulationClock.fromSystemProperty(true) : SimulationClock.manual();
+        this.workers = timed ? Executors.newFixedThreadPool(this.parallelism, daemonFactory("tick-worker")) : null;
+        for (int i = 0; i < this.parallelism; i++) {
+            final int chunk = i;
+            chunks.add(() -> {
+                int from = chunk * chunkSize;
+                stepRange(from, Math.min(liveCount, from + chunkSize));
+                return null;
+            });
+        }
+        clock.setTickTask(this::tick, "tick-scheduler");
+    }
+
+    /** Planificador con reloj manual y de un solo hilo; los ticks se ejecutan con {@link #advance()}. */
+    public static TickScheduler manual() {
+        return new TickScheduler(1, false);
+    }
+
+    /**
+     * Ejecuta un tick completo en el hilo que llama. Solo para el planificador manual: en uno
+     * con reloj propio competiría con el hilo del reloj.
+     */
+    public void advance() {
+        clock.advance();
+    }
+
+    public boolean isManual() {
+        return clock.isManual();
+    }
+
+    @Override
+    public SimulationClock getClock() {
+        return clock;
+    }
+
+    @Override
+    public void submit(Vehicle vehicle) {
+        pending.add(vehicle);
+    }
+
+    @Override
+    public void addTickListener(Runnable listener) {
+        tickListeners.add(listener);
+    }
+
+    private void tick() {
+        long start = System.nanoTime();
+        try {
+            drainPending();
+            if (liveCount < MIN_VEHICLES_PER_WORKER * 2 || parallelism == 1) {
+                stepRange(0, liveCount);
+            } else {
+                chunkSize = (liveCount + parallelism - 1) / parallelism;
+                workers.invokeAll(chunks);
+            }
+            compact();
+            for (Runnable listener : tickListeners) {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    // Como en PeriodicTicker: un oyente que falla no deja sin tick a los siguientes.
+                    clock.reportFailure(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Un fallo en un tick no debe detener el reloj, pero queda registrado en él.
+            clock.reportFailure(e);
+        }
+        recordTick(System.nanoTime() - start);
+    }
+
+    private void stepRange(int from, int to) {
+        for (int i = from; i < to; i++) {
+            try {
+                alive[i] = live[i].step();
+            } catch (RuntimeException e) {
+                // Se saca solo a ese vehículo; los demás siguen y la corrida queda marcada.
+                alive[i] = false;
+                live[i].stop();
+                clock.reportFailure(e);
+            }
+        }
+    }
+
+    private void drainPending() {
+        Vehicle vehicle;
+        while ((vehicle = pending.poll()) != null) {
+            if (liveCount == live.length) {
+                live = Arrays.copyOf(live, live.length * 2);
+                alive = Arrays.copyOf(alive, alive.length * 2);
+            }
+            live[liveCount++] = vehicle;
+        }
+    }
+
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < liveCount; i++) {
+            if (alive[i]) {
+                live[kept++] = live[i];
+            }
+        }
+        Arrays.fill(live, kept, liveCount, null);
+        liveCount = kept;
+    }
+
+    private void recordTick(long elapsed) {
+        tickCount++;
+        lastTickNanos = elapsed;
+        totalTickNanos += elapsed;
+        if (elapsed > maxTickNanos)
+            maxTickNanos = elapsed;
+        if (elapsed > SimulationClock.TICK_NANOS)
+            overrunCount++;
+        tickLatency.record(elapsed);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getMaxTickNanos() {
+        return maxTickNanos;
+    }
+
+    public double getAverageTickNanos() {
+        long ticks = tickCount;
+        return ticks == 0 ? 0 : (double) totalTickNanos / ticks;
+    }
+
+    /** Costo de tick bajo el cual queda la fracción {@code quantile} de los ticks. */
+    public long getTickPercentileNanos(double quantile) {
+        return tickLatency.getPercentile(quantile);
+    }
+
+    /** Número de ticks cuyo costo superó el periodo del tick en tiempo real. */
+    public long getOverrunCount() {
+        return overrunCount;
+    }
+
+    @Override
+    public void shutdown() {
+        clock.shutdown();
+        if (workers != null)
+            workers.shutdownNow();
+    }
+
+    private static ThreadFactory daemonFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
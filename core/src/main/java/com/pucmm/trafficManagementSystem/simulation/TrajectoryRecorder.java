@@ -0,0 +1,417 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.topology.HighwayTopology;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Graba la trayectoria completa de una corrida en archivos de segmento mapeados en memoria.
+ * Cada cuadro publicado por {@link PositionBuffer} se copia en bloque al segmento actual
+ * desde un hilo propio del grabador; el hilo del tick nunca toca el disco.
+ *
+ * Con un ejecutor que avanza a todos los vehículos en el tick (TICK_SCHEDULER y el modo
+ * determinista) el hilo del tick solo copia el cuadro recién publicado a un anillo de
+ * {@value #RING_FRAMES} cuadros del grabador, así que no se pierde ningún tick aunque la
+ * corrida vaya más rápido que el tiempo real. Solo si el grabador se atrasa el anillo
+ * entero el tick espera a que libere un cuadro; esas esperas se cuentan
+ * ({@link #getStalledTicks()}). En los modos de un hilo por vehículo, que van a la velocidad
+ * del reloj de pared, el hilo del grabador toma el último cuadro y el tick nunca espera; si
+ * se atrasa más de dos ticks, los ticks perdidos se cuentan en lugar de frenar la simulación.
+ *
+ * Cada segmento ({@code segment-00000.trj}, {@code segment-00001.trj}...) tiene un tamaño
+ * fijo y, en little-endian:
+ * <pre>
+ * cabecera  int MAGIC, short VERSION, short 0, int largo de la cabecera, int número de segmento,
+ *           long bytes usados (fin del último bloque completo), int + bytes escenario,
+ *           int + bytes topología (propiedades; vacía en la intersección simple)
+ * bloques   long tick, int n, y columnas de n valores:
+ *           int id, double x, double y, int segmento, int semáforos pasados,
+ *           int intersección destino, byte origen, byte carril, byte acción, byte estado
+ * </pre>
+ * Las direcciones son ordinales de {@code Direction} (-1 sin valor) y el estado son los bits
+ * {@code STATE_*} de {@link PositionBuffer.Frame}. Cuando un bloque no cabe, el segmento se
+ * cierra y se abre el siguiente.
+ *
+ * Se activa con {@code -Dtraffic.trajectory=<directorio>}; el tamaño de segmento se ajusta
+ * con {@code -Dtraffic.trajectory.segmentMB} (256 por defecto).
+ */
+public final class TrajectoryRecorder implements AutoCloseable {
+    public static final int MAGIC = 0x314A5254; // "TRJ1"
+    public static final short VERSION = 1;
+    /** Bytes por vehículo en un bloque. */
+    public static final int BYTES_PER_VEHICLE = 4 * Integer.BYTES + 2 * Double.BYTES + 4;
+    public static final int BLOCK_HEADER = Long.BYTES + Integer.BYTES;
+    static final int USED_OFFSET = 16;
+
+    private static final int RING_FRAMES = 1024;
+    private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final AtomicInteger runCounter = new AtomicInteger();
+
+    private final Supplier<PositionBuffer.Frame> source;
+    private final Path directory;
+    private final long segmentBytes;
+    private final byte[] scenario;
+    private final byte[] topology;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    // Anillo de cuadros copiados en el hilo del tick; null en los modos de un hilo por vehículo.
+    // Un solo productor (el tick) y un solo consumidor (el grabador).
+    private final Snapshot[] ring;
+    private volatile long queued;
+    private volatile long drained;
+    private volatile boolean recorderIdle;
+    private volatile Thread stalledProducer;
+    // Solo los usa el productor.
+    private long lastQueuedTick;
+
+    // Solo los usa el hilo del grabador.
+    private final Snapshot latest = new Snapshot();
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    // Vistas del segmento, una por cada resto del byte de inicio, para copiar columnas sin crear vistas.
+    private final IntBuffer[] intViews = new IntBuffer[Integer.BYTES];
+    private final DoubleBuffer[] doubleViews = new DoubleBuffer[Double.BYTES];
+    private int segmentIndex = -1;
+    private int headerBytes;
+    private long lastTick;
+
+    private volatile long recordedTicks;
+    private volatile long missedTicks;
+    private volatile long tornFrames;
+    private volatile long writtenBytes;
+    private volatile long stalledTicks;
+
+    /**
+     * @param executor si avanza a todos los vehículos en el tick, el grabador se registra como
+     *                 oyente de tick y copia cada cuadro a su anillo; si no, toma el último
+     *                 cuadro publicado cuando puede.
+     */
+    public TrajectoryRecorder(Supplier<PositionBuffer.Frame> source, Path directory, long segmentBytes, String scenario,
+            HighwayTopology topology, VehicleExecutor executor) {
+        this.source = source;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.scenario = scenario.getBytes(StandardCharsets.UTF_8);
+        this.topology = topology == null ? new byte[0] : text(topology.toProperties()).getBytes(StandardCharsets.UTF_8);
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear " + directory, e);
+        }
+        this.lastTick = source.get().getTick();
+        this.lastQueuedTick = lastTick;
+        if (executor.getClock().isLockstep()) {
+            ring = new Snapshot[RING_FRAMES];
+            for (int i = 0; i < RING_FRAMES; i++)
+                ring[i] = new Snapshot();
+            executor.addTickListener(this::queueTick);
+        } else {
+            ring = null;
+        }
+        this.thread = new Thread(this::run, "trajectory-recorder");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Grabador de {@code -Dtraffic.trajectory}, o null si no está activado. Cada simulación
+     * graba en su propio subdirectorio {@code <escenario>-<n>}.
+     */
+    public static TrajectoryRecorder fromSystemProperty(Supplier<PositionBuffer.Frame> source, String scenario,
+            HighwayTopology topology, VehicleExecutor executor) {
+        String directory = System.getProperty("traffic.trajectory");
+        if (directory == null || directory.isBlank())
+            return null;
+        long segmentBytes = Long.getLong("traffic.trajectory.segmentMB", 256) << 20;
+        Path runDirectory = Paths.get(directory, scenario + "-" + runCounter.incrementAndGet());
+        return new TrajectoryRecorder(source, runDirectory, segmentBytes, scenario, topology, executor);
+    }
+
+    // Oyente de tick en los ejecutores por ticks: copia el cuadro recién publicado al anillo
+    // antes de que el reloj avance. Solo espera si el grabador no liberó ningún cuadro.
+    private void queueTick() {
+        PositionBuffer.Frame frame = source.get();
+        long tick = frame.getTick();
+        if (!running || tick <= lastQueuedTick || tick == PositionBuffer.Frame.WRITING)
+            return;
+        long slot = queued;
+        if (slot - drained == ring.length) {
+            stalledTicks++;
+            stalledProducer = Thread.currentThread();
+            while (running && slot - drained == ring.length)
+                LockSupport.parkNanos(this, POLL_NANOS);
+            stalledProducer = null;
+            if (!running)
+                return;
+        }
+        lastQueuedTick = tick;
+        if (!ring[(int) (slot % ring.length)].copy(frame, tick)) {
+            tornFrames++;
+            return;
+        }
+        queued = slot + 1;
+        // El grabador despierta solo cada POLL_NANOS; se le avisa antes si el anillo va a la mitad.
+        if (recorderIdle && slot + 1 - drained >= ring.length / 2)
+            LockSupport.unpark(thread);
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                if (!recordNext()) {
+                    recorderIdle = true;
+                    LockSupport.parkNanos(this, POLL_NANOS);
+                    recorderIdle = false;
+                }
+            }
+            // Lo que quedó en el anillo o el último cuadro publicado antes de cerrar.
+            while (recordNext())
+                ;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            closeSegment();
+        }
+    }
+
+    // Graba el próximo cuadro; devuelve false si no había nada que grabar.
+    private boolean recordNext() throws IOException {
+        if (ring == null)
+            return recordLatest();
+        long slot = drained;
+        if (slot == queued)
+            return false;
+        write(ring[(int) (slot % ring.length)]);
+        drained = slot + 1;
+        Thread producer = stalledProducer;
+        if (producer != null)
+            LockSupport.unpark(producer);
+        return true;
+    }
+
+    // Sin anillo: copia el último cuadro si es nuevo y el escritor no lo reutilizó a medias.
+    private boolean recordLatest() throws IOException {
+        PositionBuffer.Frame frame = source.get();
+        long tick = frame.getTick();
+        if (tick <= lastTick || tick == PositionBuffer.Frame.WRITING)
+            return false;
+        if (!latest.copy(frame, tick)) {
+            tornFrames++;
+            lastTick = tick;
+            return true;
+        }
+        write(latest);
+        return true;
+    }
+
+    private void write(Snapshot frame) throws IOException {
+        long tick = frame.tick;
+        int count = frame.count;
+        long needed = BLOCK_HEADER + (long) count * BYTES_PER_VEHICLE;
+        if (segment == null || segment.remaining() < needed)
+            roll(needed);
+
+        int start = segment.position();
+        segment.putLong(tick);
+        segment.putInt(count);
+        ints(frame.ids, count);
+        doubles(frame.xs, count);
+        doubles(frame.ys, count);
+        ints(frame.segments, count);
+        ints(frame.lightsPassed, count);
+        ints(frame.targets, count);
+        segment.put(frame.origins, 0, count);
+        segment.put(frame.lanes, 0, count);
+        segment.put(frame.actions, 0, count);
+        segment.put(frame.states, 0, count);
+
+        segment.putLong(USED_OFFSET, segment.position());
+        if (tick > lastTick + 1 && recordedTicks > 0)
+            missedTicks += tick - lastTick - 1;
+        lastTick = tick;
+        recordedTicks++;
+        writtenBytes += segment.position() - start;
+    }
+
+    private void ints(int[] column, int count) {
+        int position = segment.position();
+        IntBuffer view = intViews[position % Integer.BYTES];
+        view.position(position / Integer.BYTES);
+        view.put(column, 0, count);
+        segment.position(position + count * Integer.BYTES);
+    }
+
+    private void doubles(double[] column, int count) {
+        int position = segment.position();
+        DoubleBuffer view = doubleViews[position % Double.BYTES];
+        view.position(position / Double.BYTES);
+        view.put(column, 0, count);
+        segment.position(position + count * Double.BYTES);
+    }
+
+    private void roll(long blockBytes) throws IOException {
+        closeSegment();
+        segmentIndex++;
+        headerBytes = 28 + scenario.length + Integer.BYTES + topology.length;
+        long size = Math.max(segmentBytes, headerBytes + blockBytes);
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalStateException("Un bloque de " + blockBytes + " bytes no cabe en un segmento");
+        Path file = directory.resolve(String.format("segment-%05d.trj", segmentIndex));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        segment.order(ByteOrder.LITTLE_ENDIAN);
+        // La vista k empieza en el byte k, así que su índice i cae en el byte k + i * ancho.
+        for (int k = 0; k < intViews.length; k++)
+            intViews[k] = segment.duplicate().position(k).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+        for (int k = 0; k < doubleViews.length; k++)
+            doubleViews[k] = segment.duplicate().position(k).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        segment.putInt(MAGIC);
+        segment.putShort(VERSION);
+        segment.putShort((short) 0);
+        segment.putInt(headerBytes);
+        segment.putInt(segmentIndex);
+        segment.putLong(headerBytes);
+        segment.putInt(scenario.length);
+        segment.put(scenario);
+        segment.putInt(topology.length);
+        segment.put(topology);
+    }
+
+    // Recorta el segmento a lo usado. No se fuerza a disco (las páginas ya están en la caché del
+    // sistema y sobreviven a la JVM); forzar cientos de MB detendría al grabador varios ticks.
+    // El mapeo sigue vivo hasta que lo libere el GC; recortar un archivo mapeado es válido
+    // mientras no se toquen las páginas cortadas.
+    private void closeSegment() {
+        if (channel == null)
+            return;
+        try {
+            int used = segment.position();
+            segment = null;
+            Arrays.fill(intViews, null);
+            Arrays.fill(doubleViews, null);
+            channel.truncate(used);
+            channel.close();
+        } catch (IOException e) {
+            // Sin recorte el archivo sigue siendo legible: los bytes usados están en la cabecera.
+        }
+        channel = null;
+    }
+
+    public long getRecordedTicks() {
+        return recordedTicks;
+    }
+
+    /** Ticks publicados que el grabador no alcanzó a copiar. */
+    public long getMissedTicks() {
+        return missedTicks;
+    }
+
+    /** Cuadros descartados porque el escritor los reutilizó durante la copia. */
+    public long getTornFrames() {
+        return tornFrames;
+    }
+
+    public long getWrittenBytes() {
+        return writtenBytes;
+    }
+
+    /** Ticks en que el hilo del tick esperó porque el anillo del grabador estaba lleno. */
+    public long getStalledTicks() {
+        return stalledTicks;
+    }
+
+    public int getSegmentCount() {
+        return segmentIndex + 1;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /** Graba el último cuadro publicado y cierra el segmento. */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Copia de un cuadro, propiedad del grabador. */
+    private static final class Snapshot {
+        long tick;
+        int count;
+        int[] ids = new int[0];
+        double[] xs = new double[0];
+        double[] ys = new double[0];
+        int[] segments = new int[0];
+        int[] lightsPassed = new int[0];
+        int[] targets = new int[0];
+        byte[] origins = new byte[0];
+        byte[] lanes = new byte[0];
+        byte[] actions = new byte[0];
+        byte[] states = new byte[0];
+
+        // Devuelve false si el escritor reutilizó el cuadro mientras se copiaba.
+        boolean copy(PositionBuffer.Frame frame, long tick) {
+            int n = frame.size();
+            if (ids.length < n) {
+                int capacity = Math.max(n, ids.length * 2);
+                ids = new int[capacity];
+                xs = new double[capacity];
+                ys = new double[capacity];
+                segments = new int[capacity];
+                lightsPassed = new int[capacity];
+                targets = new int[capacity];
+                origins = new byte[capacity];
+                lanes = new byte[capacity];
+                actions = new byte[capacity];
+                states = new byte[capacity];
+            }
+            System.arraycopy(frame.ids(), 0, ids, 0, n);
+            System.arraycopy(frame.xs(), 0, xs, 0, n);
+            System.arraycopy(frame.ys(), 0, ys, 0, n);
+            System.arraycopy(frame.segments(), 0, segments, 0, n);
+            System.arraycopy(frame.lightsPassed(), 0, lightsPassed, 0, n);
+            System.arraycopy(frame.targets(), 0, targets, 0, n);
+            System.arraycopy(frame.origins(), 0, origins, 0, n);
+            System.arraycopy(frame.lanes(), 0, lanes, 0, n);
+            System.arraycopy(frame.actions(), 0, actions, 0, n);
+            System.arraycopy(frame.states(), 0, states, 0, n);
+            this.tick = tick;
+            this.count = n;
+            return frame.isIntact(tick);
+        }
+    }
+
+    private static String text(Properties properties) {
+        StringBuilder text = new StringBuilder();
+        for (String key : new TreeSet<>(properties.stringPropertyNames()))
+            text.append(key).append('=').append(properties.getProperty(key)).append('\n');
+        return text.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+
+/**
+ * Estrategia que decide en qué hilo(s) avanzan los vehículos de una simulación.
+ */
+public interface VehicleExecutor {
+    void submit(Vehicle vehicle);
+
+    /** Registra una tarea que se ejecuta una vez por tick, después de avanzar a los vehículos. */
+    void addTickListener(Runnable listener);
+
+    /** Reloj que marca los ticks de esta simulación. */
+    SimulationClock getClock();
+
+    void shutdown();
+}
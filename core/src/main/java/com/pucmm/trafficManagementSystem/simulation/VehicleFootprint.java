@@ -0,0 +1,54 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.model.VehicleStateStore;
+
+import java.util.Random;
+
+/**
+ * Mide la memoria de montículo retenida por vehículo vivo en la autopista: lanza un
+ * lote grande sobre una vía muy larga, espera a que todos hayan dado sus primeros
+ * pasos y compara el montículo usado antes y después. Con -Dtraffic.store.offHeap=true
+ * las columnas del almacén de estado se reportan aparte.
+ *
+ * Uso: VehicleFootprint [vehículos]
+ */
+public class VehicleFootprint {
+
+    public static void main(String[] args) throws InterruptedException {
+        int vehicles = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+
+        HighwaySimulation simulation = new HighwaySimulation(2_000_000, 1000, ExecutionMode.TICK_SCHEDULER);
+        Random random = new Random(42);
+        // Calienta las estructuras compartidas para que no cuenten como costo por vehículo.
+        simulation.spawnRandomVehicle(random);
+        Thread.sleep(200);
+
+        long before = usedHeap();
+        int spawned = 0;
+        for (int i = 0; i < vehicles; i++) {
+            if (simulation.spawnRandomVehicle(random) != null)
+                spawned++;
+        }
+        Thread.sleep(1000);
+        long after = usedHeap();
+
+        VehicleStateStore store = simulation.getStateStore();
+        System.out.printf("%d vehículos vivos: %.1f bytes de montículo por vehículo%n", simulation.getVehicles().size(),
+                (double) (after - before) / spawned);
+        System.out.printf("Almacén de estado (%s): %d bytes de columnas por slot, %.1f MB fuera del montículo%n",
+                store.isOffHeap() ? "fuera del montículo" : "en el montículo", store.getBytesPerSlot(),
+                store.getOffHeapBytes() / 1e6);
+        simulation.shutdown();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            Thread.sleep(100);
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
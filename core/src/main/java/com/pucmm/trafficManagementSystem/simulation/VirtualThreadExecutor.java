@@ -0,0 +1,68 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import com.pucmm.trafficManagementSystem.model.Vehicle;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ejecuta cada vehículo en un hilo virtual, conservando el estilo bloqueante de
+ * {@link Vehicle#run()}: las esperas entre ticks y los {@code ReentrantLock} estacionan
+ * el hilo virtual en lugar de ocupar un hilo de plataforma.
+ *
+ * Requiere Java 21 en tiempo de ejecución; se resuelve por reflexión para que el
+ * proyecto siga compilando con el nivel de lenguaje actual.
+ */
+public class VirtualThreadExecutor implements VehicleExecutor {
+    private static final Method FACTORY = findFactory();
+
+    private final ExecutorService executor;
+    private final PeriodicTicker ticker = new PeriodicTicker();
+
+    public VirtualThreadExecutor() {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException(
+                    "Los hilos virtuales requieren Java 21 o superior (JVM actual: "
+                            + System.getProperty("java.version") + ").");
+        }
+        try {
+            this.executor = (ExecutorService) FACTORY.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo crear el ejecutor de hilos virtuales.", e);
+        }
+    }
+
+    public static boolean isSupported() {
+        return FACTORY != null;
+    }
+
+    @Override
+    public void submit(Vehicle vehicle) {
+        executor.execute(vehicle);
+    }
+
+    @Override
+    public void addTickListener(Runnable listener) {
+        ticker.addListener(listener);
+    }
+
+    @Override
+    public SimulationClock getClock() {
+        return ticker.getClock();
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+        ticker.shutdown();
+    }
+
+    private static Method findFactory() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
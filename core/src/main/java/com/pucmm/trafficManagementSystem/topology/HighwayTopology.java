@@ -0,0 +1,293 @@
+package com.pucmm.trafficManagementSystem.topology;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Red vial de la autopista cargada desde un archivo de escenario: intersecciones, semáforos,
+ * medidas de los carriles y duración del ciclo. Todo queda en tablas indexadas por id para
+ * que las consultas de un vehículo en cada paso sean O(1) aunque el corredor tenga cientos
+ * de semáforos.
+ *
+ * Formato (archivo de propiedades):
+ * <pre>
+ * lane.height=60              alto de cada carril
+ * intersection.width=120      ancho de las calles que cruzan
+ * cycle.seconds=10            cada cuánto cambian los semáforos
+ * intersections=4             numeradas de 1 a N de oeste a este
+ * intersection.2.position=0.375   centro = position * ancho + offset; sin posición se
+ * intersection.2.offset=0         reparten uniformemente entre los bordes
+ * light.3=2,WEST              semáforo 3 en la intersección 2, para el tráfico que viene del oeste
+ * lights=all                  en lugar de light.N: un semáforo por sentido en cada intersección
+ * </pre>
+ * El semáforo de menor id de cada intersección alterna solo; los demás de esa intersección
+ * toman siempre el estado opuesto.
+ */
+public final class HighwayTopology {
+    public static final String DEFAULT_SCENARIO = "highway-default.properties";
+
+    private static final Direction[] ORIGINS = { Direction.EAST, Direction.WEST };
+
+    private final double laneHeight;
+    private final double intersectionWidth;
+    private final long cycleSeconds;
+    private final int intersectionCount;
+    // Indexados por id de intersección (la posición 0 no se usa).
+    private final double[] positionFraction;
+    private final double[] positionOffset;
+    // Indexados por id de semáforo (la posición 0 no se usa).
+    private final int[] lightIntersection;
+    private final Direction[] lightOrigin;
+    // [origen][índice]: semáforos en el orden en que los encuentra cada sentido.
+    private final int[][] sequences;
+    // [origen][intersección]: semáforo del sentido en la intersección, o -1.
+    private final int[][] lightAt;
+    // [origen][intersección]: semáforos de la secuencia hasta esa intersección inclusive.
+    private final int[][] lightsThrough;
+    private final List<List<Integer>> turnIntersections;
+
+    private HighwayTopology(double laneHeight, double intersectionWidth, long cycleSeconds, double[] positionFraction,
+            double[] positionOffset, int[] lightIntersection, Direction[] lightOrigin) {
+        this.laneHeight = laneHeight;
+        this.intersectionWidth = intersectionWidth;
+        this.cycleSeconds = cycleSeconds;
+        this.intersectionCount = positionFraction.length - 1;
+        this.positionFraction = positionFraction;
+        this.positionOffset = positionOffset;
+        this.lightIntersection = lightIntersection;
+        this.lightOrigin = lightOrigin;
+
+        this.sequences = new int[ORIGINS.length][];
+        this.lightAt = new int[ORIGINS.length][intersectionCount + 1];
+        this.lightsThrough = new int[ORIGINS.length][intersectionCount + 1];
+        List<List<Integer>> turns = new ArrayList<>();
+        for (int o = 0; o < ORIGINS.length; o++) {
+            Arrays.fill(lightAt[o], -1);
+            for (int id = 1; id < lightIntersection.length; id++) {
+                if (lightOrigin[id] == ORIGINS[o]) {
+                    int intersection = lightIntersection[id];
+                    if (lightAt[o][intersection] != -1)
+                        throw new IllegalArgumentException("La intersección " + intersection
+                                + " tiene dos semáforos para el origen " + ORIGINS[o]);
+                    lightAt[o][intersection] = id;
+                }
+            }
+            // El oeste avanza hacia ids crecientes; el este, hacia ids decrecientes.
+            boolean westbound = ORIGINS[o] == Direction.EAST;
+            List<Integer> sequence = new ArrayList<>();
+            List<Integer> turnable = new ArrayList<>();
+            for (int step = 1; step <= intersectionCount; step++) {
+                int intersection = westbound ? intersectionCount + 1 - step : step;
+                if (lightAt[o][intersection] != -1) {
+                    sequence.add(lightAt[o][intersection]);
+                    turnable.add(intersection);
+                }
+                lightsThrough[o][intersection] = sequence.size();
+            }
+            sequences[o] = sequence.stream().mapToInt(Integer::intValue).toArray();
+            Collections.sort(turnable);
+            turns.add(Collections.unmodifiableList(turnable));
+        }
+        this.turnIntersections = Collections.unmodifiableList(turns);
+    }
+
+    /** Escenario de {@code -Dtraffic.scenario}, o el corredor por defecto si no se indica. */
+    public static HighwayTopology fromSystemProperty() {
+        String file = System.getProperty("traffic.scenario");
+        return file == null ? defaultCorridor() : load(Paths.get(file));
+    }
+
+    /** Corredor original: 4 intersecciones y 6 semáforos. */
+    public static HighwayTopology defaultCorridor() {
+        try (InputStream in = HighwayTopology.class.getResourceAsStream(DEFAULT_SCENARIO)) {
+            if (in == null)
+                throw new IllegalStateException("No se encontró el escenario " + DEFAULT_SCENARIO);
+            Properties properties = new Properties();
+            properties.load(in);
+            return fromProperties(properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static HighwayTopology load(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Properties properties = new Properties();
+            properties.load(reader);
+            return fromProperties(properties);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el escenario " + file, e);
+        }
+    }
+
+    public static HighwayTopology fromProperties(Properties properties) {
+        double laneHeight = doubleValue(properties, "lane.height", 60);
+        double intersectionWidth = doubleValue(properties, "intersection.width", 120);
+        long cycleSeconds = (long) doubleValue(properties, "cycle.seconds", 10);
+        int count = (int) doubleValue(properties, "intersections", 4);
+        if (count < 1)
+            throw new IllegalArgumentException("El escenario necesita al menos una intersección");
+        if (cycleSeconds < 1)
+            throw new IllegalArgumentException("cycle.seconds debe ser positivo");
+
+        double[] fraction = new double[count + 1];
+        double[] offset = new double[count + 1];
+        for (int id = 1; id <= count; id++) {
+            // Reparto uniforme: la primera toca el borde oeste y la última el este.
+            double even = count == 1 ? 0.5 : (id - 1) / (double) (count - 1);
+            fraction[id] = doubleValue(properties, "intersection." + id + ".position", even);
+            double evenOffset = intersectionWidth / 2 - even * intersectionWidth;
+            offset[id] = doubleValue(properties, "intersection." + id + ".offset",
+                    properties.containsKey("intersection." + id + ".position") ? 0 : evenOffset);
+            if (id > 1 && fraction[id] < fraction[id - 1])
+                throw new IllegalArgumentException("Las intersecciones deben numerarse de oeste a este: " + id);
+        }
+
+        List<int[]> lights = new ArrayList<>();
+        if ("all".equalsIgnoreCase(properties.getProperty("lights"))) {
+            for (int intersection = 1; intersection <= count; intersection++) {
+                lights.add(new int[] { lights.size() + 1, intersection, Direction.EAST.ordinal() });
+                lights.add(new int[] { lights.size() + 1, intersection, Direction.WEST.ordinal() });
+            }
+        } else {
+            for (String key : properties.stringPropertyNames()) {
+                if (!key.startsWith("light."))
+                    continue;
+                int id = Integer.parseInt(key.substring("light.".length()).trim());
+                String[] parts = properties.getProperty(key).split(",");
+                if (parts.length != 2)
+                    throw new IllegalArgumentException("Semáforo mal definido: " + key);
+                int intersection = Integer.parseInt(parts[0].trim());
+                Direction origin = Direction.valueOf(parts[1].trim().toUpperCase());
+                if (intersection < 1 || intersection > count)
+                    throw new IllegalArgumentException("Intersección inexistente en " + key + ": " + intersection);
+                if (origin != Direction.EAST && origin != Direction.WEST)
+                    throw new IllegalArgumentException("Origen inválido en " + key + ": " + origin);
+                lights.add(new int[] { id, intersection, origin.ordinal() });
+            }
+        }
+
+        int maxId = lights.stream().mapToInt(light -> light[0]).max().orElse(0);
+        int[] lightIntersection = new int[maxId + 1];
+        Direction[] lightOrigin = new Direction[maxId + 1];
+        Direction[] directions = Direction.values();
+        for (int[] light : lights) {
+            if (light[0] < 1 || lightOrigin[light[0]] != null)
+                throw new IllegalArgumentException("Id de semáforo inválido o repetido: " + light[0]);
+            lightIntersection[light[0]] = light[1];
+            lightOrigin[light[0]] = directions[light[2]];
+        }
+        for (int id = 1; id <= maxId; id++) {
+            if (lightOrigin[id] == null)
+                throw new IllegalArgumentException("Los semáforos deben numerarse sin huecos; falta " + id);
+        }
+        return new HighwayTopology(laneHeight, intersectionWidth, cycleSeconds, fraction, offset, lightIntersection,
+                lightOrigin);
+    }
+
+    /** Propiedades equivalentes a esta topología, en el formato que lee {@link #fromProperties}. */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty("lane.height", String.valueOf(laneHeight));
+        properties.setProperty("intersection.width", String.valueOf(intersectionWidth));
+        properties.setProperty("cycle.seconds", String.valueOf(cycleSeconds));
+        properties.setProperty("intersections", String.valueOf(intersectionCount));
+        for (int id = 1; id <= intersectionCount; id++) {
+            properties.setProperty("intersection." + id + ".position", String.valueOf(positionFraction[id]));
+            properties.setProperty("intersection." + id + ".offset", String.valueOf(positionOffset[id]));
+        }
+        for (int id = 1; id < lightIntersection.length; id++)
+            properties.setProperty("light." + id, lightIntersection[id] + "," + lightOrigin[id]);
+        return properties;
+    }
+
+    public double getLaneHeight() {
+        return laneHeight;
+    }
+
+    public double getIntersectionWidth() {
+        return intersectionWidth;
+    }
+
+    public long getCycleSeconds() {
+        return cycleSeconds;
+    }
+
+    public int getIntersectionCount() {
+        return intersectionCount;
+    }
+
+    /** Centro de la intersección para un área del ancho dado. */
+    public double getIntersectionCenterX(int intersectionId, double width) {
+        return positionFraction[intersectionId] * width + positionOffset[intersectionId];
+    }
+
+    public int getLightCount() {
+        return lightIntersection.length - 1;
+    }
+
+    public int getLightIntersection(int lightId) {
+        return lightIntersection[lightId];
+    }
+
+    public Direction getLightOrigin(int lightId) {
+        return lightOrigin[lightId];
+    }
+
+    /** Semáforo del origen en la intersección, o -1 si no tiene. */
+    public int getLightAt(int intersectionId, Direction origin) {
+        if (intersectionId < 1 || intersectionId > intersectionCount)
+            return -1;
+        return lightAt[originIndex(origin)][intersectionId];
+    }
+
+    /** Cantidad de semáforos en la ruta del origen. */
+    public int getSequenceLength(Direction origin) {
+        return sequences[originIndex(origin)].length;
+    }
+
+    /** Semáforo número {@code index} que encuentra el origen en su recorrido. */
+    public int getSequenceLight(Direction origin, int index) {
+        return sequences[originIndex(origin)][index];
+    }
+
+    /** Semáforos que encuentra el origen hasta la intersección dada, incluida la suya. */
+    public int getLightsThrough(int intersectionId, Direction origin) {
+        if (intersectionId < 1 || intersectionId > intersectionCount)
+            return 0;
+        return lightsThrough[originIndex(origin)][intersectionId];
+    }
+
+    /** Intersecciones donde el origen tiene semáforo y, por lo tanto, puede girar. */
+    public List<Integer> getTurnIntersections(Direction origin) {
+        return turnIntersections.get(originIndex(origin));
+    }
+
+    private static int originIndex(Direction origin) {
+        return origin == Direction.WEST ? 1 : 0;
+    }
+
+    private static double doubleValue(Properties properties, String key, double defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null)
+            return defaultValue;
+        try {
+            return Double.parseDouble(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor numérico inválido para " + key + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+module com.pucmm.trafficManagementSystem.core {
+    requires java.management;
+    requires jdk.jfr;
+
+    exports com.pucmm.trafficManagementSystem.demand;
+    exports com.pucmm.trafficManagementSystem.enums;
+    exports com.pucmm.trafficManagementSystem.geometry;
+    exports com.pucmm.trafficManagementSystem.log;
+    exports com.pucmm.trafficManagementSystem.metrics;
+    exports com.pucmm.trafficManagementSystem.model;
+    exports com.pucmm.trafficManagementSystem.simulation;
+    exports com.pucmm.trafficManagementSystem.topology;
+}
@@ -0,0 +1,114 @@
+package com.pucmm.trafficManagementSystem.analytics;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pucmm.trafficManagementSystem.simulation.ExecutionMode;
+import com.pucmm.trafficManagementSystem.simulation.HighwaySimulation;
+import com.pucmm.trafficManagementSystem.simulation.TickScheduler;
+import com.pucmm.trafficManagementSystem.simulation.TrajectoryRecorder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+class TripChunkTest {
+    private static final long BUCKET_TICKS = 500;
+
+    private static TrajectoryIndex index;
+    private static int buckets;
+
+    // Una corrida determinista corta: llegadas durante 2500 ticks y 1500 más para vaciar en
+    // parte, así que hay viajes completos, paradas ante los semáforos y vehículos en curso.
+    @BeforeAll
+    static void recordRun(@TempDir Path directory) throws IOException {
+        HighwaySimulation simulation = new HighwaySimulation(1640, 1000, ExecutionMode.DETERMINISTIC);
+        TickScheduler scheduler = (TickScheduler) simulation.getExecutor();
+        // Segmentos chicos para que la corrida se reparta en varios archivos.
+        TrajectoryRecorder recorder = new TrajectoryRecorder(simulation::getPositions, directory.resolve("highway"),
+                1 << 20, "highway", simulation.getTopology(), scheduler);
+        Random random = new Random(7);
+        for (int tick = 0; tick < 4000; tick++) {
+            if (tick < 2500 && tick % 20 == 0)
+                simulation.spawnRandomVehicle(random);
+            scheduler.advance();
+        }
+        recorder.close();
+        simulation.shutdown();
+
+        index = new TrajectoryIndex(recorder.getDirectory());
+        buckets = (int) ((index.getTick(index.getBlockCount() - 1) - index.getTick(0)) / BUCKET_TICKS) + 1;
+    }
+
+    @Test
+    void runHasTripsStopsAndVehiclesInProgress() {
+        TripChunk whole = chunk(0, index.getBlockCount()).finishAll();
+
+        assertTrue(index.getSegmentCount() > 1);
+        assertTrue(Arrays.stream(whole.byOrigin).mapToLong(TripStats::getTrips).sum() > 50);
+        assertTrue(LongStream.of(whole.intersectionStops).sum() > 0);
+        assertTrue(whole.inProgress > 0);
+    }
+
+    @Test
+    void mergeIsAssociative() {
+        int blocks = index.getBlockCount();
+        int[][] cuts = { { 1, 2 }, { blocks / 3, 2 * blocks / 3 }, { 37, blocks - 41 }, { blocks / 2, blocks / 2 + 1 } };
+        for (int[] cut : cuts) {
+            TripChunk left = chunk(0, cut[0]).merge(chunk(cut[0], cut[1])).merge(chunk(cut[1], blocks)).finishAll();
+            TripChunk right = chunk(0, cut[0]).merge(chunk(cut[0], cut[1]).merge(chunk(cut[1], blocks))).finishAll();
+            assertSameResult(left, right);
+        }
+    }
+
+    @Test
+    void splittingDoesNotChangeTheResult() throws Exception {
+        int blocks = index.getBlockCount();
+        TripChunk whole = chunk(0, blocks).finishAll();
+
+        int chunks = 13;
+        TripChunk merged = chunk(0, blocks / chunks);
+        for (int c = 1; c < chunks; c++)
+            merged = merged.merge(chunk(blocks * c / chunks, blocks * (c + 1) / chunks));
+        assertSameResult(whole, merged.finishAll());
+
+        assertSameResult(whole, TripAnalytics.analyze(index, BUCKET_TICKS, 3));
+    }
+
+    private static TripChunk chunk(int from, int to) {
+        return new TripChunk(index.getTopology(), index.getTick(0), BUCKET_TICKS, buckets).process(index, from, to);
+    }
+
+    private static void assertSameResult(TripChunk expected, TripChunk actual) {
+        assertSameStats(expected.byOrigin, actual.byOrigin);
+        assertSameStats(expected.byAction, actual.byAction);
+        assertSameStats(expected.byIntersection, actual.byIntersection);
+        assertArrayEquals(expected.intersectionStops, actual.intersectionStops);
+        assertArrayEquals(expected.intersectionStoppedTicks, actual.intersectionStoppedTicks);
+        assertArrayEquals(expected.throughput, actual.throughput);
+        assertEquals(expected.inProgress, actual.inProgress);
+    }
+
+    private static void assertSameStats(TripStats[] expected, TripStats[] actual) {
+        assertEquals(expected.length, actual.length);
+        for (int i = 0; i < expected.length; i++) {
+            String group = "grupo " + i;
+            assertEquals(expected[i].getTrips(), actual[i].getTrips(), group);
+            assertEquals(expected[i].getMeanTravelTicks(), actual[i].getMeanTravelTicks(), group);
+            assertEquals(expected[i].getMaxTravelTicks(), actual[i].getMaxTravelTicks(), group);
+            // La demora suma dobles en otro orden al combinar.
+            assertEquals(expected[i].getMeanDelayTicks(), actual[i].getMeanDelayTicks(), 1e-6, group);
+            assertEquals(expected[i].getMeanStops(), actual[i].getMeanStops(), group);
+            assertEquals(expected[i].getMaxStops(), actual[i].getMaxStops(), group);
+            assertEquals(expected[i].getMeanStoppedTicks(), actual[i].getMeanStoppedTicks(), group);
+            assertEquals(expected[i].getTravelSecondsPercentile(0.5), actual[i].getTravelSecondsPercentile(0.5), group);
+            assertEquals(expected[i].getTravelSecondsPercentile(0.95), actual[i].getTravelSecondsPercentile(0.95), group);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.pucmm.trafficManagementSystem.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class LatencyHistogramTest {
+    private static final int LAST_BUCKET = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+
+    @Test
+    void smallValuesHaveExactBuckets() {
+        for (long value = 0; value < 8; value++) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertEquals(value, LatencyHistogram.lowerBound(bucket));
+            assertEquals(value, LatencyHistogram.upperBound(bucket));
+        }
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int bucket = 0; bucket < LAST_BUCKET; bucket++)
+            assertEquals(LatencyHistogram.upperBound(bucket) + 1, LatencyHistogram.lowerBound(bucket + 1),
+                    "cubeta " + bucket);
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBound(LAST_BUCKET));
+    }
+
+    @Test
+    void everyValueFallsWithinItsBucketBounds() {
+        Random random = new Random(17);
+        for (int i = 0; i < 100_000; i++) {
+            long value = (random.nextLong() >>> 1) >>> random.nextInt(63);
+            assertWithinBucket(value);
+        }
+        for (int shift = 0; shift < 63; shift++) {
+            long power = 1L << shift;
+            assertWithinBucket(power - 1);
+            assertWithinBucket(power);
+            assertWithinBucket(power + 1);
+        }
+        assertWithinBucket(Long.MAX_VALUE);
+    }
+
+    @Test
+    void bucketWidthIsAtMostAnEighthOfItsLowerBound() {
+        for (int bucket = 8; bucket < LAST_BUCKET; bucket++) {
+            long lower = LatencyHistogram.lowerBound(bucket);
+            long width = LatencyHistogram.upperBound(bucket) - lower + 1;
+            assertTrue(width <= lower / 8, "cubeta " + bucket);
+        }
+    }
+
+    @Test
+    void percentileStaysWithinTheRelativeError() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long ms = 1; ms <= 1000; ms++)
+            histogram.record(ms * 1_000_000);
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500.5e6, histogram.getMean(), 1e-3);
+        long p50 = histogram.getPercentile(0.5);
+        assertTrue(p50 >= 500e6 && p50 <= 500e6 * 1.125, "p50 = " + p50);
+        long p99 = histogram.getPercentile(0.99);
+        assertTrue(p99 >= 990e6 && p99 <= 1000e6, "p99 = " + p99);
+        assertEquals(1000_000_000L, histogram.getPercentile(1.0));
+    }
+
+    @Test
+    void percentileNeverExceedsTheMaximum() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1_000_001);
+
+        assertEquals(1_000_001, histogram.getPercentile(0.5));
+        assertEquals(1_000_001, histogram.getMax());
+    }
+
+    @Test
+    void emptyAndNegativeSamples() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(0.99));
+        assertEquals(0, histogram.getMean());
+
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    private static void assertWithinBucket(long value) {
+        int bucket = LatencyHistogram.bucketOf(value);
+        assertTrue(bucket >= 0 && bucket <= LAST_BUCKET, "valor " + value);
+        assertTrue(LatencyHistogram.lowerBound(bucket) <= value && value <= LatencyHistogram.upperBound(bucket),
+                "valor " + value + " en cubeta " + bucket);
+    }
+}
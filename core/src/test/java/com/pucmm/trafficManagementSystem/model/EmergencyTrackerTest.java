@@ -0,0 +1,81 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class EmergencyTrackerTest {
+    private final EmergencyTracker tracker = new EmergencyTracker(6);
+
+    @Test
+    void startsInactive() {
+        assertFalse(tracker.isActive());
+        assertEquals(-1, tracker.activeLane());
+    }
+
+    @Test
+    void onlyTheFirstEmergencyStartsTheMode() {
+        assertTrue(tracker.add(4));
+        assertFalse(tracker.add(4));
+        assertFalse(tracker.add(1));
+        assertTrue(tracker.isActive());
+    }
+
+    @Test
+    void lowestLaneWithEmergenciesIsActive() {
+        tracker.add(4);
+        tracker.add(2);
+        assertEquals(2, tracker.activeLane());
+
+        tracker.remove(2);
+        assertEquals(4, tracker.activeLane());
+    }
+
+    @Test
+    void laneStaysOccupiedUntilItsLastEmergencyLeaves() {
+        tracker.add(3);
+        tracker.add(3);
+
+        assertFalse(tracker.remove(3));
+        assertEquals(3, tracker.activeLane());
+        assertTrue(tracker.remove(3));
+        assertFalse(tracker.isActive());
+    }
+
+    @Test
+    void modeEndsOnlyWhenEveryLaneIsClear() {
+        tracker.add(0);
+        tracker.add(5);
+
+        assertFalse(tracker.remove(0));
+        assertTrue(tracker.isActive());
+        assertTrue(tracker.remove(5));
+    }
+
+    @Test
+    void removingFromAnEmptyLaneDoesNotUnderflow() {
+        assertFalse(tracker.remove(2));
+
+        assertTrue(tracker.add(2));
+        assertTrue(tracker.remove(2));
+        assertFalse(tracker.isActive());
+    }
+
+    @Test
+    void anyInChecksOnlyTheMaskedLanes() {
+        long lanes0And3 = (1L << 0) | (1L << 3);
+        tracker.add(1);
+        assertFalse(tracker.anyIn(lanes0And3));
+
+        tracker.add(3);
+        assertTrue(tracker.anyIn(lanes0And3));
+    }
+
+    @Test
+    void rejectsMoreLanesThanTheMaskHolds() {
+        assertThrows(IllegalArgumentException.class, () -> new EmergencyTracker(Long.SIZE + 1));
+    }
+}
@@ -0,0 +1,262 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+class HighwayAdmissionTest {
+    private static final int EAST = 0;
+    private static final int WEST = 1;
+    // Carriles numerados dirección * 3 + carril.
+    private static final int EAST_LANE_1 = 0;
+    private static final int EAST_LANE_2 = 1;
+    private static final int WEST_LANE_1 = 3;
+
+    private final HighwayAdmission admission = new HighwayAdmission();
+
+    @Test
+    void firstDirectionQueuedIsActive() {
+        admission.enqueue(EAST, false);
+        admission.enqueue(WEST, false);
+
+        assertTrue(admission.mayCross(EAST, EAST_LANE_1));
+        assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+    }
+
+    @Test
+    void admitOccupiesOnlyItsLane() {
+        Vehicle first = vehicle();
+        admission.enqueue(EAST, false);
+        admission.enqueue(EAST, false);
+
+        assertTrue(admission.admit(first, EAST, EAST_LANE_1));
+        assertFalse(admission.mayCross(EAST, EAST_LANE_1));
+        assertTrue(admission.mayCross(EAST, EAST_LANE_2));
+    }
+
+    @Test
+    void laneHeldByAnotherVehicleIsNotAdmitted() {
+        Vehicle first = vehicle();
+        Vehicle second = vehicle();
+        admission.enqueue(EAST, false);
+        admission.enqueue(EAST, false);
+
+        assertTrue(admission.admit(first, EAST, EAST_LANE_1));
+        assertFalse(admission.admit(second, EAST, EAST_LANE_1));
+        // Volver a pedir el carril propio no es un error.
+        assertTrue(admission.admit(first, EAST, EAST_LANE_1));
+    }
+
+    @Test
+    void crossingBlocksOpposingDirectionEvenWhenItIsActive() {
+        Vehicle east = vehicle();
+        admission.enqueue(WEST, false);
+        admission.enqueue(EAST, true);
+        assertTrue(admission.admit(east, EAST, EAST_LANE_1));
+
+        // Una emergencia pone al oeste al frente, pero el este sigue cruzando.
+        admission.enqueue(WEST, true);
+        assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+        assertTrue(admission.leave(east, EAST, EAST_LANE_1, true));
+        assertTrue(admission.mayCross(WEST, WEST_LANE_1));
+    }
+
+    @Test
+    void leaveClearsDirectionOnlyWhenLastVehicleLeaves() {
+        Vehicle first = vehicle();
+        Vehicle second = vehicle();
+        admission.enqueue(EAST, false);
+        admission.enqueue(EAST, false);
+        admission.enqueue(WEST, false);
+
+        assertTrue(admission.admit(first, EAST, EAST_LANE_1));
+        assertFalse(admission.leave(first, EAST, EAST_LANE_1, true));
+        assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+
+        assertTrue(admission.admit(second, EAST, EAST_LANE_1));
+        assertTrue(admission.leave(second, EAST, EAST_LANE_1, true));
+        assertTrue(admission.mayCross(WEST, WEST_LANE_1));
+    }
+
+    @Test
+    void leaveOfVehicleThatNeverCrossedKeepsTheLane() {
+        Vehicle crossing = vehicle();
+        Vehicle stranger = vehicle();
+        admission.enqueue(EAST, false);
+        assertTrue(admission.admit(crossing, EAST, EAST_LANE_1));
+
+        assertFalse(admission.leave(stranger, EAST, EAST_LANE_1, false));
+        assertFalse(admission.mayCross(EAST, EAST_LANE_1));
+    }
+
+    @Test
+    void emergencyMovesItsDirectionToTheFront() {
+        admission.enqueue(EAST, false);
+        admission.enqueue(WEST, true);
+
+        assertTrue(admission.mayCross(WEST, WEST_LANE_1));
+        assertFalse(admission.mayCross(EAST, EAST_LANE_1));
+    }
+
+    @Test
+    void busyDirectionHandsTheTurnOverAfterItsLimit() {
+        admission.enqueue(EAST, false);
+        admission.enqueue(WEST, false);
+        Vehicle east = vehicle();
+        Vehicle west = vehicle();
+
+        // El este nunca se queda sin cola: cada uno que cruza ya tiene otro detrás.
+        for (int i = 0; i < HighwayAdmission.TURN_LIMIT; i++) {
+            assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+            admission.enqueue(EAST, false);
+            assertTrue(admission.admit(east, EAST, EAST_LANE_1));
+            assertFalse(admission.leave(east, EAST, EAST_LANE_1, true));
+        }
+
+        assertFalse(admission.mayCross(EAST, EAST_LANE_1));
+        assertTrue(admission.admit(west, WEST, WEST_LANE_1));
+        // Ahora el oeste es el activo y el este espera su turno.
+        assertFalse(admission.mayCross(EAST, EAST_LANE_1));
+        assertTrue(admission.leave(west, WEST, WEST_LANE_1, true));
+        assertTrue(admission.mayCross(EAST, EAST_LANE_1));
+    }
+
+    @Test
+    void turnIsNotCountedWhileNobodyElseWaits() {
+        admission.enqueue(EAST, false);
+        Vehicle east = vehicle();
+        for (int i = 0; i < 2 * HighwayAdmission.TURN_LIMIT; i++) {
+            admission.enqueue(EAST, false);
+            assertTrue(admission.admit(east, EAST, EAST_LANE_1));
+            assertFalse(admission.leave(east, EAST, EAST_LANE_1, true));
+        }
+
+        admission.enqueue(WEST, false);
+        assertTrue(admission.mayCross(EAST, EAST_LANE_1));
+        assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+    }
+
+    @Test
+    void waitingCountsDoNotSpillIntoEachOther() {
+        // Más de 16 bits de espera en el este: el campo de 24 bits no debe invadir el del oeste.
+        int arrivals = 70_000;
+        for (int i = 0; i < arrivals; i++)
+            admission.enqueue(EAST, false);
+        admission.enqueue(WEST, false);
+
+        Vehicle vehicle = vehicle();
+        for (int i = 0; i < arrivals - 1; i++)
+            assertFalse(admission.leave(vehicle, EAST, EAST_LANE_1, true));
+        assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+        assertTrue(admission.leave(vehicle, EAST, EAST_LANE_1, true));
+        assertTrue(admission.mayCross(WEST, WEST_LANE_1));
+    }
+
+    @Test
+    void concurrentArrivalsAndLeavesLoseNoCount() throws Exception {
+        int threads = 4;
+        int cycles = 20_000;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int direction = t % 2;
+            Vehicle vehicle = vehicle();
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < cycles; i++) {
+                    admission.enqueue(direction, i % 7 == 0);
+                    admission.leave(vehicle, direction, direction * 3, true);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+
+        // Si se perdiera una salida, el este quedaría al frente para siempre.
+        admission.enqueue(WEST, false);
+        assertTrue(admission.mayCross(WEST, WEST_LANE_1));
+        Vehicle last = vehicle();
+        assertTrue(admission.admit(last, WEST, WEST_LANE_1));
+        assertTrue(admission.leave(last, WEST, WEST_LANE_1, true));
+        assertFalse(admission.mayCross(EAST, EAST_LANE_1));
+        assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+    }
+
+    @Test
+    void opposingDirectionsNeverCrossTogether() throws Exception {
+        int threads = 4;
+        int cycles = 20_000;
+        CyclicBarrier start = new CyclicBarrier(threads);
+        AtomicIntegerArray crossingNow = new AtomicIntegerArray(2);
+        AtomicInteger overlaps = new AtomicInteger();
+        AtomicInteger admitted = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int direction = t % 2;
+            int lane = direction * 3 + t / 2;
+            Vehicle vehicle = vehicle();
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                for (int i = 0; i < cycles; i++) {
+                    // Las emergencias dan vuelta el orden mientras el otro sentido admite.
+                    admission.enqueue(direction, i % 3 == 0);
+                    if (admission.admit(vehicle, direction, lane)) {
+                        admitted.incrementAndGet();
+                        crossingNow.incrementAndGet(direction);
+                        if (crossingNow.get(1 - direction) > 0)
+                            overlaps.incrementAndGet();
+                        Thread.yield();
+                        crossingNow.decrementAndGet(direction);
+                    }
+                    admission.leave(vehicle, direction, lane, true);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers)
+            worker.join();
+
+        assertEquals(0, overlaps.get());
+        assertTrue(admitted.get() > 0);
+        assertFalse(admission.mayCross(EAST, EAST_LANE_1));
+        assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+    }
+
+    @Test
+    void repeatedArrivalKeepsDirectionInItsSlot() {
+        admission.enqueue(EAST, false);
+        admission.enqueue(WEST, false);
+        admission.enqueue(EAST, false);
+
+        Vehicle vehicle = vehicle();
+        assertFalse(admission.leave(vehicle, EAST, EAST_LANE_1, true));
+        assertFalse(admission.mayCross(WEST, WEST_LANE_1));
+        assertTrue(admission.leave(vehicle, EAST, EAST_LANE_1, true));
+        assertTrue(admission.mayCross(WEST, WEST_LANE_1));
+    }
+
+    private static Vehicle vehicle() {
+        return new Vehicle(VehicleType.NORMAL, Direction.EAST, Direction.STRAIGHT, (HighwayIntersection) null);
+    }
+}
@@ -0,0 +1,85 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import com.pucmm.trafficManagementSystem.simulation.ExecutionMode;
+import com.pucmm.trafficManagementSystem.simulation.HighwaySimulation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PreemptionTest {
+    // Solo presta los slots de estado a los vehículos de autopista; no avanza.
+    private final HighwaySimulation simulation = new HighwaySimulation(1640, 1000, ExecutionMode.DETERMINISTIC);
+
+    @AfterEach
+    void shutdown() {
+        simulation.shutdown();
+    }
+
+    @Test
+    void emergencyAheadOfAnEarlierArrivalCountsOnce() {
+        Intersection intersection = new Intersection();
+        Vehicle waiting = new Vehicle(VehicleType.NORMAL, Direction.EAST, Direction.WEST, intersection);
+        Vehicle emergency = new Vehicle(VehicleType.EMERGENCY, Direction.WEST, Direction.EAST, intersection);
+        intersection.addToQueue(waiting);
+        intersection.addToQueue(emergency);
+
+        assertTrue(intersection.isMyTurn(emergency));
+        intersection.startCrossing(emergency);
+
+        assertEquals(1, intersection.getMetrics().getEmergencyPreemptions());
+    }
+
+    @Test
+    void emergencyWithNobodyWaitingIsNotAPreemption() {
+        Intersection intersection = new Intersection();
+        Vehicle emergency = new Vehicle(VehicleType.EMERGENCY, Direction.WEST, Direction.EAST, intersection);
+        intersection.addToQueue(emergency);
+
+        intersection.startCrossing(emergency);
+
+        assertEquals(0, intersection.getMetrics().getEmergencyPreemptions());
+    }
+
+    @Test
+    void highwayEmergencyAheadOfEarlierOpposingTrafficCounts() {
+        HighwayIntersection intersection = new HighwayIntersection(0);
+        Vehicle waiting = highway(VehicleType.NORMAL, Direction.WEST, intersection);
+        Vehicle emergency = highway(VehicleType.EMERGENCY, Direction.EAST, intersection);
+        queueAt(intersection, waiting, 1);
+        queueAt(intersection, emergency, 2);
+
+        assertTrue(intersection.startCrossing(emergency));
+
+        assertEquals(1, intersection.getMetrics().getEmergencyPreemptions());
+    }
+
+    @Test
+    void highwayEmergencyBeforeLaterOpposingTrafficIsNotAPreemption() {
+        HighwayIntersection intersection = new HighwayIntersection(0);
+        Vehicle emergency = highway(VehicleType.EMERGENCY, Direction.EAST, intersection);
+        Vehicle later = highway(VehicleType.NORMAL, Direction.WEST, intersection);
+        queueAt(intersection, emergency, 1);
+        queueAt(intersection, later, 2);
+
+        assertTrue(intersection.startCrossing(emergency));
+
+        assertEquals(0, intersection.getMetrics().getEmergencyPreemptions());
+    }
+
+    private Vehicle highway(VehicleType type, Direction origin, HighwayIntersection intersection) {
+        Vehicle vehicle = new Vehicle(type, origin, Direction.STRAIGHT, intersection);
+        vehicle.setSimulation(simulation);
+        vehicle.setLane(Direction.LANE_1);
+        return vehicle;
+    }
+
+    // Fija la llegada para no depender de la resolución del reloj de pared.
+    private static void queueAt(HighwayIntersection intersection, Vehicle vehicle, long nanos) {
+        intersection.addToQueue(vehicle);
+        vehicle.queuedAtNanos = nanos;
+    }
+}
@@ -0,0 +1,153 @@
+package com.pucmm.trafficManagementSystem.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.pucmm.trafficManagementSystem.enums.Direction;
+import com.pucmm.trafficManagementSystem.enums.VehicleType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class VehicleQueueTest {
+    private final VehicleQueue queue = new VehicleQueue(VehicleQueue.Role.LANE);
+
+    @Test
+    void positionsFollowArrivalOrder() {
+        Vehicle[] vehicles = fill(5);
+
+        for (int i = 0; i < vehicles.length; i++)
+            assertEquals(i, queue.positionOf(vehicles[i]));
+        assertSame(vehicles[0], queue.peek());
+        assertEquals(5, queue.size());
+    }
+
+    @Test
+    void removingFromTheMiddleShiftsOnlyThoseBehind() {
+        Vehicle[] vehicles = fill(5);
+
+        assertTrue(queue.remove(vehicles[2]));
+
+        assertEquals(0, queue.positionOf(vehicles[0]));
+        assertEquals(1, queue.positionOf(vehicles[1]));
+        assertEquals(-1, queue.positionOf(vehicles[2]));
+        assertEquals(2, queue.positionOf(vehicles[3]));
+        assertEquals(3, queue.positionOf(vehicles[4]));
+    }
+
+    @Test
+    void removingTheHeadShiftsEveryPosition() {
+        Vehicle[] vehicles = fill(4);
+
+        assertTrue(queue.remove(vehicles[0]));
+
+        assertSame(vehicles[1], queue.peek());
+        for (int i = 1; i < vehicles.length; i++)
+            assertEquals(i - 1, queue.positionOf(vehicles[i]));
+    }
+
+    @Test
+    void arrivalAfterRemovalsTakesTheNextPosition() {
+        Vehicle[] vehicles = fill(4);
+        queue.remove(vehicles[1]);
+        queue.remove(vehicles[3]);
+
+        Vehicle late = vehicle();
+        assertTrue(queue.add(late));
+
+        assertEquals(2, queue.positionOf(late));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    void repeatedAddIsIgnored() {
+        Vehicle[] vehicles = fill(3);
+
+        assertFalse(queue.add(vehicles[1]));
+
+        assertEquals(3, queue.size());
+        assertEquals(1, queue.positionOf(vehicles[1]));
+    }
+
+    @Test
+    void removingAnAbsentVehicleChangesNothing() {
+        fill(2);
+        Vehicle stranger = vehicle();
+        VehicleQueue other = new VehicleQueue(VehicleQueue.Role.LANE);
+        other.add(stranger);
+
+        assertFalse(queue.remove(stranger));
+        assertEquals(-1, queue.positionOf(stranger));
+        assertEquals(0, other.positionOf(stranger));
+        assertEquals(2, queue.size());
+    }
+
+    @Test
+    void vehicleCanWaitInOneQueueOfEachRole() {
+        VehicleQueue arrivals = new VehicleQueue(VehicleQueue.Role.ARRIVAL);
+        Vehicle first = vehicle();
+        Vehicle second = vehicle();
+        queue.add(first);
+        queue.add(second);
+        arrivals.add(second);
+        arrivals.add(first);
+
+        assertTrue(queue.remove(first));
+
+        assertEquals(0, queue.positionOf(second));
+        assertEquals(0, arrivals.positionOf(second));
+        assertEquals(1, arrivals.positionOf(first));
+    }
+
+    @Test
+    void emptiedQueueStartsOver() {
+        Vehicle[] vehicles = fill(3);
+        for (Vehicle vehicle : vehicles)
+            queue.remove(vehicle);
+
+        assertTrue(queue.isEmpty());
+        assertNull(queue.peek());
+        Vehicle next = vehicle();
+        queue.add(next);
+        assertEquals(0, queue.positionOf(next));
+    }
+
+    @Test
+    void positionsMatchAListThroughManyMiddleRemovals() {
+        // Suficientes turnos para que el árbol de retirados se reconstruya varias veces.
+        Random random = new Random(3);
+        List<Vehicle> expected = new ArrayList<>();
+        for (int step = 0; step < 20_000; step++) {
+            if (expected.isEmpty() || random.nextInt(5) < 3) {
+                Vehicle vehicle = vehicle();
+                queue.add(vehicle);
+                expected.add(vehicle);
+            } else {
+                assertTrue(queue.remove(expected.remove(random.nextInt(expected.size()))));
+            }
+            if (step % 97 == 0) {
+                for (int i = 0; i < expected.size(); i++)
+                    assertEquals(i, queue.positionOf(expected.get(i)));
+            }
+        }
+        assertEquals(expected.size(), queue.size());
+    }
+
+    private Vehicle[] fill(int count) {
+        Vehicle[] vehicles = new Vehicle[count];
+        for (int i = 0; i < count; i++) {
+            vehicles[i] = vehicle();
+            queue.add(vehicles[i]);
+        }
+        return vehicles;
+    }
+
+    private static Vehicle vehicle() {
+        return new Vehicle(VehicleType.NORMAL, Direction.EAST, Direction.STRAIGHT, (HighwayIntersection) null);
+    }
+}
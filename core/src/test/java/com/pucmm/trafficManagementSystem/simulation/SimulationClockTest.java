@@ -0,0 +1,76 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class SimulationClockTest {
+    private final SimulationClock clock = SimulationClock.manual();
+    private final List<Throwable> handled = new ArrayList<>();
+    private Thread.UncaughtExceptionHandler previous;
+
+    @BeforeEach
+    void captureUncaught() {
+        previous = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((thread, failure) -> handled.add(failure));
+    }
+
+    @AfterEach
+    void restoreUncaught() {
+        Thread.currentThread().setUncaughtExceptionHandler(previous);
+    }
+
+    @Test
+    void failingTimerIsReportedAndLaterTimersStillRun() {
+        clock.setTickTask(() -> { }, "test");
+        RuntimeException failure = new IllegalStateException("temporizador");
+        int[] ran = new int[1];
+        clock.schedule(0, () -> {
+            throw failure;
+        });
+        clock.schedule(0, () -> ran[0]++);
+
+        clock.advance();
+
+        assertEquals(1, ran[0]);
+        assertEquals(1, clock.getFailureCount());
+        assertSame(failure, clock.getFirstFailure());
+        assertEquals(List.of(failure), handled);
+    }
+
+    @Test
+    void failingTickKeepsTheFirstFailureAndCountsEveryOne() {
+        RuntimeException first = new IllegalStateException("primero");
+        RuntimeException second = new IllegalStateException("segundo");
+        RuntimeException[] next = { first };
+        clock.setTickTask(() -> {
+            throw next[0];
+        }, "test");
+
+        clock.advance();
+        next[0] = second;
+        clock.advance();
+
+        assertEquals(2, clock.getTicks());
+        assertEquals(2, clock.getFailureCount());
+        assertSame(first, clock.getFirstFailure());
+        assertEquals(List.of(first, second), handled);
+    }
+
+    @Test
+    void cleanRunHasNoFailures() {
+        clock.setTickTask(() -> { }, "test");
+
+        clock.advance();
+
+        assertEquals(0, clock.getFailureCount());
+        assertNull(clock.getFirstFailure());
+    }
+}
@@ -0,0 +1,47 @@
+package com.pucmm.trafficManagementSystem.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TickSchedulerTest {
+    private final TickScheduler scheduler = TickScheduler.manual();
+    private final List<Throwable> handled = new ArrayList<>();
+    private Thread.UncaughtExceptionHandler previous;
+
+    @BeforeEach
+    void captureUncaught() {
+        previous = Thread.currentThread().getUncaughtExceptionHandler();
+        Thread.currentThread().setUncaughtExceptionHandler((thread, failure) -> handled.add(failure));
+    }
+
+    @AfterEach
+    void restoreUncaught() {
+        Thread.currentThread().setUncaughtExceptionHandler(previous);
+    }
+
+    @Test
+    void failingListenerIsReportedAndTheNextOnesStillRun() {
+        RuntimeException failure = new IllegalStateException("oyente");
+        int[] ran = new int[1];
+        scheduler.addTickListener(() -> {
+            throw failure;
+        });
+        scheduler.addTickListener(() -> ran[0]++);
+
+        scheduler.advance();
+        scheduler.advance();
+
+        assertEquals(2, ran[0]);
+        assertEquals(2, scheduler.getClock().getFailureCount());
+        assertSame(failure, scheduler.getClock().getFirstFailure());
+        assertEquals(List.of(failure, failure), handled);
+        assertEquals(2, scheduler.getTickCount());
+    }
+}